@@ -0,0 +1,225 @@
+package com.example.statecapitolquiz;
+
+import android.content.Context;
+import android.os.Debug;
+import android.view.View;
+import android.widget.CheckBox;
+import android.widget.LinearLayout;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures what binding a question's answers costs with the pooled AnswerRows, against
+ * removing every row and creating new ones the way the pages used to: the views
+ * created, the objects allocated and the layout passes, per question.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AnswerRowsTest {
+    private static final int QUESTIONS = 500;
+
+    private static final int MAX_ANSWERS = 6;
+
+    /**
+     * A LinearLayout that counts how often it's measured and laid out.
+     */
+    static final class CountingLayout extends LinearLayout {
+        int measures = 0;
+
+        int layouts = 0;
+
+        CountingLayout(Context context) {
+            super(context);
+            setOrientation(VERTICAL);
+        }
+
+        @Override
+        protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+            measures++;
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int l, int t, int r, int b) {
+            layouts++;
+            super.onLayout(changed, l, t, r, b);
+        }
+    }
+
+    /**
+     * What one run of binding questions cost.
+     */
+    static final class Cost {
+        int viewsCreated = 0;
+
+        int allocations = 0;
+
+        long nanos = 0;
+
+        int measures = 0;
+
+        int layouts = 0;
+    }
+
+    @Test
+    public void pooledRows_createNoViewsAfterTheLargestQuestion() {
+        final Cost[] costs = new Cost[2];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+                costs[0] = BindPooled(context);
+                costs[1] = BindRebuilt(context);
+            }
+        });
+
+        Cost pooled = costs[0];
+        Cost rebuilt = costs[1];
+
+        System.out.println("AnswerRows per question: pooled " + Describe(pooled) + "; rebuilt " + Describe(rebuilt));
+
+        assertEquals(MAX_ANSWERS, pooled.viewsCreated);
+        assertTrue(pooled.viewsCreated < rebuilt.viewsCreated);
+        assertTrue(pooled.layouts <= rebuilt.layouts);
+
+        // Allocation counting isn't available on every runtime; compare only if it is.
+        if (rebuilt.allocations > 0) {
+            assertTrue(pooled.allocations < rebuilt.allocations);
+        }
+    }
+
+    @Test
+    public void pooledRows_resetCheckedStateAndColors() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+                QuestionBank bank = QuizCatalog.getDefault();
+                LinearLayout container = new LinearLayout(context);
+                QuestionPage.AnswerRows<CheckBox> rows = NewRows(container, null);
+
+                rows.Bind(NewQuestion(0, 5), bank);
+                int defaultColor = rows.get(0).getCurrentTextColor();
+                rows.get(0).setChecked(true);
+                rows.get(0).setTextColor(0xff00ff00);
+
+                rows.Bind(NewQuestion(10, 3), bank);
+
+                assertEquals(3, rows.size());
+                assertFalse(rows.get(0).isChecked());
+                assertEquals(defaultColor, rows.get(0).getCurrentTextColor());
+                assertEquals(bank.getCapitolName(10), rows.get(0).getText().toString());
+                assertEquals(12, rows.getAnswerId(2));
+                assertEquals(View.GONE, rows.get(3).getVisibility());
+                assertEquals(View.GONE, rows.get(4).getVisibility());
+                assertEquals(5, container.getChildCount());
+            }
+        });
+    }
+
+    private static Cost BindPooled(Context context) {
+        QuestionBank bank = QuizCatalog.getDefault();
+        CountingLayout container = new CountingLayout(context);
+        QuestionPage.AnswerRows<CheckBox> rows = NewRows(container, null);
+        Cost cost = new Cost();
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        long start = System.nanoTime();
+
+        for(int q = 0; q < QUESTIONS; q++) {
+            rows.Bind(NewQuestion(q % bank.size(), AnswerCount(q)), bank);
+            MeasureAndLayout(container);
+        }
+
+        cost.nanos = System.nanoTime() - start;
+        Debug.stopAllocCounting();
+        cost.allocations = Debug.getThreadAllocCount();
+        cost.viewsCreated = rows.getCreatedCount();
+        cost.measures = container.measures;
+        cost.layouts = container.layouts;
+        return cost;
+    }
+
+    private static Cost BindRebuilt(Context context) {
+        QuestionBank bank = QuizCatalog.getDefault();
+        CountingLayout container = new CountingLayout(context);
+        Cost cost = new Cost();
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        long start = System.nanoTime();
+
+        for(int q = 0; q < QUESTIONS; q++) {
+            Question question = NewQuestion(q % bank.size(), AnswerCount(q));
+            container.removeAllViews();
+
+            for(int i = 0; i < question.getAnswerCount(); i++) {
+                int id = question.getAnswerId(i);
+                CheckBox cb = new CheckBox(context);
+                cost.viewsCreated++;
+                cb.setText(bank.getCapitolName(id));
+                cb.setTag(id);
+                container.addView(cb);
+            }
+
+            MeasureAndLayout(container);
+        }
+
+        cost.nanos = System.nanoTime() - start;
+        Debug.stopAllocCounting();
+        cost.allocations = Debug.getThreadAllocCount();
+        cost.measures = container.measures;
+        cost.layouts = container.layouts;
+        return cost;
+    }
+
+    private static QuestionPage.AnswerRows<CheckBox> NewRows(LinearLayout container, View.OnClickListener listener) {
+        return new QuestionPage.AnswerRows<CheckBox>(container, listener) {
+            @Override
+            CheckBox NewRow(Context context) {
+                return new CheckBox(context);
+            }
+        };
+    }
+
+    /**
+     * The largest question comes first, so both runs create their views up front.
+     */
+    private static int AnswerCount(int question) {
+        return question == 0 ? MAX_ANSWERS : 3 + question % (MAX_ANSWERS - 2);
+    }
+
+    private static Question NewQuestion(int firstId, int answerCount) {
+        int size = QuizCatalog.getDefault().size();
+        int[] answers = new int[answerCount];
+
+        for(int i = 0; i < answerCount; i++) {
+            answers[i] = (firstId + i) % size;
+        }
+
+        return new Question(QuestionType.CHECK_BOX, new int[] { answers[0] }, answers);
+    }
+
+    private static void MeasureAndLayout(View container) {
+        int width = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        int height = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+        container.measure(width, height);
+        container.layout(0, 0, container.getMeasuredWidth(), container.getMeasuredHeight());
+    }
+
+    private static String Describe(Cost cost) {
+        return cost.viewsCreated + " views created in all, "
+                + cost.allocations / QUESTIONS + " allocations, "
+                + cost.nanos / QUESTIONS / 1000 + " us, "
+                + cost.measures / (double) QUESTIONS + " measures and "
+                + cost.layouts / (double) QUESTIONS + " layouts";
+    }
+}
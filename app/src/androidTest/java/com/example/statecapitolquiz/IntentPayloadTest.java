@@ -0,0 +1,127 @@
+package com.example.statecapitolquiz;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks what the screens hand each other in Intents.  Questions used to be handed to
+ * their activities as QuizState Parcelables; now only int IDs cross, resolved against
+ * the in-process QuestionBank, so the marshalled size no longer depends on the names.
+ */
+@RunWith(AndroidJUnit4.class)
+public class IntentPayloadTest {
+    @Test
+    public void idHandOff_isSmallerThanQuizStateParcelables() {
+        QuestionBank bank = QuestionBanks.getActive();
+        long parcelableBytes = 0;
+        long idBytes = 0;
+
+        for(int id = 0; id + 1 < bank.size(); id += 2) {
+            // The check box question took two states, the most of any question.
+            Bundle parcelables = new Bundle();
+            parcelables.putSerializable("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
+            parcelables.putParcelable("quizState1", new LegacyQuizState(id, bank));
+            parcelables.putParcelable("quizState2", new LegacyQuizState(id + 1, bank));
+
+            Bundle ids = new Bundle();
+            ids.putSerializable("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
+            ids.putInt("stateId1", id);
+            ids.putInt("stateId2", id + 1);
+
+            parcelableBytes += Marshall(parcelables).length;
+            idBytes += Marshall(ids).length;
+        }
+
+        assertTrue(idBytes < parcelableBytes);
+    }
+
+    @Test
+    public void idHandOff_resolvesToTheSameStates() {
+        QuestionBank bank = QuestionBanks.getActive();
+
+        for(int id = 0; id < bank.size(); id++) {
+            Bundle ids = new Bundle();
+            ids.putInt("stateId", id);
+
+            int unpacked = Unmarshall(Marshall(ids)).getInt("stateId", -1);
+
+            assertEquals(id, unpacked);
+            assertEquals(id, bank.FindByStateName(bank.getStateName(unpacked)));
+        }
+    }
+
+    private static byte[] Marshall(Bundle bundle) {
+        Parcel parcel = Parcel.obtain();
+
+        try {
+            parcel.writeBundle(bundle);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static Bundle Unmarshall(byte[] payload) {
+        Parcel parcel = Parcel.obtain();
+
+        try {
+            parcel.unmarshall(payload, 0, payload.length);
+            parcel.setDataPosition(0);
+            Bundle bundle = parcel.readBundle(IntentPayloadTest.class.getClassLoader());
+            // Bundles unpack lazily; reading a key forces it.
+            bundle.size();
+            return bundle;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * The Parcelable QuizState as it used to be written: its ID and both names.
+     */
+    static final class LegacyQuizState implements Parcelable {
+        private final int id;
+        private final String stateName;
+        private final String capitolName;
+
+        LegacyQuizState(int id, QuestionBank bank) {
+            this(id, bank.getStateName(id), bank.getCapitolName(id));
+        }
+
+        private LegacyQuizState(int id, String stateName, String capitolName) {
+            this.id = id;
+            this.stateName = stateName;
+            this.capitolName = capitolName;
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            out.writeInt(id);
+            out.writeString(stateName);
+            out.writeString(capitolName);
+        }
+
+        public static final Parcelable.Creator<LegacyQuizState> CREATOR = new Parcelable.Creator<LegacyQuizState>() {
+            public LegacyQuizState createFromParcel(Parcel in) {
+                return new LegacyQuizState(in.readInt(), in.readString(), in.readString());
+            }
+
+            public LegacyQuizState[] newArray(int size) {
+                return new LegacyQuizState[size];
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.statecapitolquiz;
+
+/**
+ * AnswerCounts is the shape of a session's multiple choice questions: N, the number
+ * of answers offered, and M, the number of states a check box question asks about and
+ * so the number of its answers that are correct.  Radio group questions always ask
+ * about one state and typed answers offer nothing to pick from, so these two numbers
+ * decide the shape of every question.  Immutable.
+ */
+final class AnswerCounts {
+    /**
+     * The shape the quiz has always used: five answers, two of them correct for a
+     * check box question.
+     */
+    static final AnswerCounts DEFAULT = new AnswerCounts(5, 2);
+
+    /**
+     * The number of answers offered by a multiple choice question, N.
+     */
+    private final int choiceCount;
+
+    /**
+     * The number of states a check box question asks about, M.
+     */
+    private final int checkBoxTargetCount;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param choiceCount The number of answers a multiple choice question offers, N.
+     * @param checkBoxTargetCount The number of correct answers to a check box
+     *                            question, M.
+     * @throws IllegalArgumentException If N is less than 2, or M isn't between 1 and
+     *         N - 1, so that every question offers at least one wrong answer.
+     */
+    AnswerCounts(int choiceCount, int checkBoxTargetCount) {
+        if (choiceCount < 2) {
+            throw new IllegalArgumentException("Cannot offer " + choiceCount + " answers.");
+        }
+
+        if (checkBoxTargetCount < 1 || checkBoxTargetCount >= choiceCount) {
+            throw new IllegalArgumentException("Cannot ask about " + checkBoxTargetCount + " states with "
+                    + choiceCount + " answers.");
+        }
+
+        this.choiceCount = choiceCount;
+        this.checkBoxTargetCount = checkBoxTargetCount;
+    }
+
+    /**
+     * Accessor for the number of answers a multiple choice question offers.
+     *
+     * @return N.
+     */
+    int getChoiceCount() {
+        return choiceCount;
+    }
+
+    /**
+     * Accessor for the number of states a check box question asks about.
+     *
+     * @return M.
+     */
+    int getCheckBoxTargetCount() {
+        return checkBoxTargetCount;
+    }
+
+    /**
+     * The number of states a question of the given type asks about.
+     *
+     * @param type The kind of question.
+     * @return M for a check box question, otherwise 1.
+     */
+    int getTargetCount(QuestionType type) {
+        return type == QuestionType.CHECK_BOX ? checkBoxTargetCount : 1;
+    }
+
+    /**
+     * The number of answers a question of the given type offers, counting the correct
+     * ones.
+     *
+     * @param type The kind of question.
+     * @return N for a multiple choice question, or 0 if the answer is typed.
+     */
+    int getAnswerCount(QuestionType type) {
+        return type == QuestionType.TEXT_ENTRY ? 0 : choiceCount;
+    }
+}
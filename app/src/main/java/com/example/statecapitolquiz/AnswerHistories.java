@@ -0,0 +1,216 @@
+package com.example.statecapitolquiz;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.EnumMap;
+
+/**
+ * Keeps one AnswerHistoryStore per Deck, each in its own directory named after the
+ * deck, since every deck numbers its items from 0 and an ID means nothing without
+ * its deck.  Stores are opened the first time their deck is played and kept open.
+ *
+ * History recorded before there were decks sits directly in the root directory and
+ * is all from the fifty states, so it's moved into the US_CAPITALS directory the
+ * first time that store is opened.
+ *
+ * Each deck also has a RecallScheduler, so spaced repetition carries on from where
+ * the last quiz on the deck left off.  It's read from the deck's directory the first
+ * time it's asked for and written back there, by the deck's store, on FlushAsync().
+ */
+final class AnswerHistories {
+    /**
+     * The directory for answers about a bank that didn't come from a Deck.
+     */
+    static final String OTHER_DIRECTORY = "OTHER";
+
+    /**
+     * The file in a deck's directory holding its RecallScheduler.
+     */
+    static final String RECALL_FILE = "recall.bin";
+
+    /**
+     * The directory holding one directory per deck.
+     */
+    private final File root;
+
+    /**
+     * The stores opened so far, by deck.  Guarded by this.
+     */
+    private final EnumMap<Deck, AnswerHistoryStore> stores = new EnumMap<>(Deck.class);
+
+    /**
+     * The store for banks that didn't come from a deck, or null until it's needed.
+     * Guarded by this.
+     */
+    private AnswerHistoryStore other = null;
+
+    /**
+     * The schedulers asked for so far, by deck.  Guarded by this.
+     */
+    private final EnumMap<Deck, RecallScheduler> schedulers = new EnumMap<>(Deck.class);
+
+    /**
+     * The clock of each scheduler when it was last read or saved, so FlushAsync()
+     * only saves those that have moved on.  Guarded by this.
+     */
+    private final EnumMap<Deck, Integer> savedClocks = new EnumMap<>(Deck.class);
+
+    /**
+     * Parameterized constructor.  Opens nothing until a deck's store is asked for.
+     *
+     * @param root The directory holding one directory per deck.
+     */
+    AnswerHistories(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the store for a deck, opening it the first time.  Opening returns at
+     * once; see AnswerHistoryStore.Open().
+     *
+     * @param deck The deck being played, or null for a bank that isn't one of the
+     *             decks.
+     * @return The deck's AnswerHistoryStore.
+     */
+    synchronized AnswerHistoryStore ForDeck(Deck deck) {
+        if (deck == null) {
+            if (other == null) {
+                other = AnswerHistoryStore.Open(new File(root, OTHER_DIRECTORY));
+            }
+
+            return other;
+        }
+
+        AnswerHistoryStore store = stores.get(deck);
+
+        if (store == null) {
+            File directory = new File(root, deck.name());
+
+            if (deck == Deck.US_CAPITALS && !directory.exists()) {
+                MoveUndeckedHistory(directory);
+            }
+
+            store = AnswerHistoryStore.Open(directory);
+            stores.put(deck, store);
+        }
+
+        return store;
+    }
+
+    /**
+     * Returns the RecallScheduler for a deck, reading it the first time.  A deck
+     * without a saved scheduler, or whose saved one can't be read or was for a
+     * different number of items, starts with every item new.  The first call for a
+     * deck reads a file, so it's best made off the main thread.
+     *
+     * @param deck The deck being played, or null for a bank that isn't one of the
+     *             decks, which gets a new scheduler each time.
+     * @param bank The deck's bank.
+     * @return The deck's scheduler.
+     */
+    RecallScheduler SchedulerForDeck(Deck deck, QuestionBank bank) {
+        if (deck == null) {
+            return new RecallScheduler(bank.size(), new QuizRandom(QuizRandom.NewSeed()));
+        }
+
+        synchronized(this) {
+            RecallScheduler scheduler = schedulers.get(deck);
+
+            if (scheduler != null && scheduler.size() == bank.size()) {
+                return scheduler;
+            }
+        }
+
+        // Read without holding the lock, so recording answers doesn't wait on it.
+        RecallScheduler loaded;
+        try {
+            loaded = RecallScheduler.Restore(ReadFile(new File(new File(root, deck.name()), RECALL_FILE)),
+                    bank.size());
+        } catch (IOException | IllegalArgumentException e) {
+            // Missing, damaged or out of date; start again.
+            loaded = new RecallScheduler(bank.size(), new QuizRandom(QuizRandom.NewSeed()));
+        }
+
+        synchronized(this) {
+            RecallScheduler scheduler = schedulers.get(deck);
+
+            if (scheduler != null && scheduler.size() == bank.size()) {
+                // Another thread read it first.
+                return scheduler;
+            }
+
+            schedulers.put(deck, loaded);
+            savedClocks.put(deck, loaded.getNow());
+            return loaded;
+        }
+    }
+
+    /**
+     * Asks every open store to write out what's been recorded, and every scheduler
+     * that has moved on since it was last saved to be saved, without waiting.
+     */
+    synchronized void FlushAsync() {
+        for(AnswerHistoryStore store : stores.values()) {
+            store.FlushAsync();
+        }
+
+        for(Deck deck : schedulers.keySet()) {
+            RecallScheduler scheduler = schedulers.get(deck);
+            int now = scheduler.getNow();
+
+            if (now != savedClocks.get(deck)) {
+                ForDeck(deck).SaveAsync(RECALL_FILE, scheduler.Snapshot());
+                savedClocks.put(deck, now);
+            }
+        }
+
+        if (other != null) {
+            other.FlushAsync();
+        }
+    }
+
+    /**
+     * Reads the whole of a file.
+     *
+     * @param file The file.
+     * @return Its contents.
+     * @throws IOException If it doesn't exist or can't be read.
+     */
+    private static byte[] ReadFile(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+
+        try {
+            byte[] contents = new byte[(int) in.length()];
+            in.readFully(contents);
+            return contents;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Moves the files of a store written before there were decks from the root into
+     * a deck's directory.  Does nothing if there are none.
+     *
+     * @param directory The directory to move them into.
+     */
+    private void MoveUndeckedHistory(File directory) {
+        File[] files = root.listFiles();
+
+        if (files == null) {
+            return;
+        }
+
+        for(File file : files) {
+            if (file.isFile() && file.getName().startsWith("answers")) {
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    return;
+                }
+
+                // If a file can't be moved, the store starts without it.
+                file.renameTo(new File(directory, file.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,910 @@
+package com.example.statecapitolquiz;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * AnswerHistoryStore keeps a permanent record of every answer: which item, the type
+ * of question, whether it was right, whether a suggestion was used, how long it took
+ * and when.  Recording an answer only copies it into a memory buffer; a single
+ * background thread writes the buffer out in batches, at most once a second or every
+ * MAX_BATCH_RECORDS answers, and forces it to disk, so answering never waits on the
+ * file system.
+ *
+ * Answers are appended to log segments named answers-NNNNNNNN.log, one fixed size
+ * record each, laid out big-endian as follows:
+ *
+ *   int   item ID
+ *   byte  QuestionType ordinal
+ *   byte  flags: 1 if correct, 2 if a suggestion was used
+ *   short reserved, always 0
+ *   int   latency in milliseconds
+ *   long  timestamp in milliseconds since the epoch
+ *   int   CRC32 of the previous 20 bytes
+ *
+ * Every time the store is opened it starts a new segment, so a record torn by a crash
+ * can only ever be at the end of an old segment, where it's detected by its length or
+ * checksum and ignored.
+ *
+ * Once enough records have been written, the background thread compacts the log: it
+ * starts a new segment, writes the per-item totals of everything before it to
+ * answers.agg (through a temporary file and a rename, so the old totals survive a
+ * crash), and deletes the folded segments.  The totals file records the last segment
+ * folded into it, so opening the store reads the totals and then replays only the
+ * segments written since.
+ *
+ * A totals file that can't be read is renamed to answers.agg.damaged and the store
+ * carries on from the segments that are left, so one bad file doesn't stop answers
+ * being recorded.  If the store couldn't be opened at all, the next flush tries
+ * again before writing.
+ *
+ * Other files can be kept next to the log with SaveAsync(), which writes them on the
+ * same thread.
+ */
+final class AnswerHistoryStore implements Closeable {
+    /**
+     * The size of one log record in bytes.
+     */
+    static final int RECORD_SIZE = 24;
+
+    /**
+     * The first four bytes of the totals file ("SCQH").
+     */
+    static final int AGGREGATE_MAGIC = 0x53435148;
+
+    /**
+     * The version of the totals file format.
+     */
+    static final int AGGREGATE_VERSION = 1;
+
+    /**
+     * Write the buffer out once it holds this many records, without waiting.
+     */
+    static final int MAX_BATCH_RECORDS = 256;
+
+    /**
+     * The longest a recorded answer waits in memory before being written.
+     */
+    static final long FLUSH_DELAY_MILLIS = 1000;
+
+    /**
+     * Compact once this many records have been written since the last compaction.
+     */
+    static final int COMPACTION_THRESHOLD = 4096;
+
+    private static final int FLAG_CORRECT = 1;
+    private static final int FLAG_HINT_USED = 2;
+
+    private static final String AGGREGATE_FILE = "answers.agg";
+    private static final String DAMAGED_SUFFIX = ".damaged";
+    private static final String SEGMENT_PREFIX = "answers-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * The size of the totals file header: magic, version, last folded segment, and
+     * item count.
+     */
+    private static final int AGGREGATE_HEADER_SIZE = 16;
+
+    /**
+     * The size of each item's totals: attempts, correct and hints as ints, then total
+     * latency and last answered time as longs.
+     */
+    private static final int AGGREGATE_ITEM_SIZE = 28;
+
+    /**
+     * Segments are replayed this many records at a time.
+     */
+    private static final int REPLAY_CHUNK_RECORDS = 4096;
+
+    private final File directory;
+
+    /**
+     * Compact once this many records have been written since the last compaction.
+     */
+    private final int compactionThreshold;
+
+    /**
+     * The thread every file operation happens on.
+     */
+    private final ScheduledExecutorService writer;
+
+    /**
+     * Answers recorded but not yet handed to the writer thread.  Guarded by this.
+     */
+    private ByteBuffer pending = ByteBuffer.allocate(MAX_BATCH_RECORDS * RECORD_SIZE);
+
+    /**
+     * Whether a flush has been scheduled for the pending answers.  Guarded by this.
+     */
+    private boolean flushScheduled = false;
+
+    /**
+     * The per-item totals of every answer that has been written.  Guarded by itself.
+     */
+    private final Aggregates aggregates = new Aggregates();
+
+    /**
+     * The following are only touched on the writer thread.
+     */
+    private ByteBuffer writing = ByteBuffer.allocate(MAX_BATCH_RECORDS * RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private RandomAccessFile segmentFile = null;
+    private FileChannel segment = null;
+    private int segmentNumber = 0;
+    private int recordsSinceCompaction = 0;
+
+    /**
+     * The number of log records read when the store was opened.  Only written on the
+     * writer thread, and read by getReplayedRecords() on any thread.
+     */
+    private volatile long replayedRecords = 0;
+
+    /**
+     * The first error the writer thread ran into since the last one was reported.
+     * Thrown, once, by the next Flush() or other call that waits on the writer.
+     */
+    private volatile IOException failure = null;
+
+    private AnswerHistoryStore(File directory, int compactionThreshold) {
+        this.directory = directory;
+        this.compactionThreshold = compactionThreshold;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AnswerHistoryStore");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        // close() flushes for itself, so a delayed flush still waiting is dropped
+        // rather than holding up the shutdown.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.writer = executor;
+    }
+
+    /**
+     * Opens the store in a directory, creating it if necessary.  Returns at once; the
+     * totals and recent log are read on the background thread, and anything recorded
+     * in the meantime is written once that's done.
+     *
+     * @param directory The directory holding the store's files.
+     * @return The store.
+     */
+    static AnswerHistoryStore Open(File directory) {
+        return Open(directory, COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Opens the store with a non-default compaction threshold.
+     *
+     * @param directory The directory holding the store's files.
+     * @param compactionThreshold Compact after this many records; Integer.MAX_VALUE
+     *                            leaves compaction to explicit Compact() calls.
+     * @return The store.
+     */
+    static AnswerHistoryStore Open(File directory, int compactionThreshold) {
+        final AnswerHistoryStore store = new AnswerHistoryStore(directory, compactionThreshold);
+
+        store.writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    store.Load();
+                } catch (IOException e) {
+                    store.Fail(e);
+                }
+            }
+        });
+
+        return store;
+    }
+
+    /**
+     * Records an answer.  Only copies it into memory, so it's safe to call on the UI
+     * thread.
+     *
+     * @param id The QuestionBank ID of the item answered.
+     * @param type The kind of question it was asked in.
+     * @param correct Whether the answer was right.
+     * @param hintUsed Whether a suggested answer was picked.
+     * @param latencyMillis How long the user took to answer.
+     * @param timestamp When the answer was given, in milliseconds since the epoch.
+     */
+    synchronized void Record(int id, QuestionType type, boolean correct, boolean hintUsed, int latencyMillis,
+                             long timestamp) {
+        if (pending.remaining() < RECORD_SIZE) {
+            pending = ByteBuffer.allocate(pending.capacity() * 2).put((ByteBuffer) pending.flip());
+        }
+
+        pending.putInt(id);
+        pending.put((byte) type.ordinal());
+        pending.put((byte) ((correct ? FLAG_CORRECT : 0) | (hintUsed ? FLAG_HINT_USED : 0)));
+        pending.putShort((short) 0);
+        pending.putInt(Math.max(latencyMillis, 0));
+        pending.putLong(timestamp);
+        pending.putInt(0);    // The checksum is filled in on the writer thread.
+
+        if (pending.position() >= MAX_BATCH_RECORDS * RECORD_SIZE) {
+            flushScheduled = true;
+            writer.execute(flushTask);
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            writer.schedule(flushTask, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes out everything recorded so far and waits until it's on disk.
+     *
+     * @throws IOException If the writer thread failed since the last failure was
+     *                     reported.
+     */
+    void Flush() throws IOException {
+        Await(writer.submit(flushTask));
+    }
+
+    /**
+     * Asks for everything recorded so far to be written out, without waiting.  Meant
+     * for when the app goes into the background.
+     */
+    void FlushAsync() {
+        writer.execute(flushTask);
+    }
+
+    /**
+     * Replaces a file kept in the store's directory alongside the log, on the writer
+     * thread and without waiting.  Used for state that belongs with a deck's answers
+     * but isn't made of them, such as its RecallScheduler.  The file is written through
+     * a temporary file and a rename, like the totals, and a failure is reported by the
+     * next call that waits on the writer.
+     *
+     * @param name The file's name, which mustn't start with "answers".
+     * @param contents The file's new contents.
+     */
+    void SaveAsync(final String name, byte[] contents) {
+        final ByteBuffer buffer = ByteBuffer.wrap(contents);
+
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ReplaceFile(name, buffer);
+                } catch (IOException e) {
+                    Fail(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes out everything recorded so far, then folds the log into the totals file,
+     * and waits for both.  Normally compaction happens on its own.
+     *
+     * @throws IOException If writing fails.
+     */
+    void Compact() throws IOException {
+        Await(writer.submit(new Runnable() {
+            @Override
+            public void run() {
+                flushTask.run();
+
+                try {
+                    CompactOnWriter();
+                } catch (IOException e) {
+                    Fail(e);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Writes out everything recorded, closes the log and stops the writer thread.
+     * Doesn't wait for a delayed flush that's still scheduled; everything it would
+     * have written has been written by then.
+     *
+     * @throws IOException If writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            Flush();
+        } finally {
+            writer.execute(new Runnable() {
+                @Override
+                public void run() {
+                    CloseSegment();
+                }
+            });
+            writer.shutdown();
+
+            try {
+                writer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The number of answers ever recorded for an item.  Answers still waiting to be
+     * written aren't counted.
+     *
+     * @param id The item's QuestionBank ID.
+     * @return The number of answers.
+     */
+    int getAttempts(int id) {
+        synchronized(aggregates) {
+            return id < aggregates.count ? aggregates.attempts[id] : 0;
+        }
+    }
+
+    /**
+     * The number of correct answers ever recorded for an item.
+     *
+     * @param id The item's QuestionBank ID.
+     * @return The number of correct answers.
+     */
+    int getCorrectCount(int id) {
+        synchronized(aggregates) {
+            return id < aggregates.count ? aggregates.correct[id] : 0;
+        }
+    }
+
+    /**
+     * The number of answers for an item that used a suggestion.
+     *
+     * @param id The item's QuestionBank ID.
+     * @return The number of hinted answers.
+     */
+    int getHintCount(int id) {
+        synchronized(aggregates) {
+            return id < aggregates.count ? aggregates.hints[id] : 0;
+        }
+    }
+
+    /**
+     * The total time spent answering an item.
+     *
+     * @param id The item's QuestionBank ID.
+     * @return The sum of the latencies, in milliseconds.
+     */
+    long getTotalLatencyMillis(int id) {
+        synchronized(aggregates) {
+            return id < aggregates.count ? aggregates.totalLatency[id] : 0;
+        }
+    }
+
+    /**
+     * When an item was last answered.
+     *
+     * @param id The item's QuestionBank ID.
+     * @return The timestamp of the latest answer, or 0 if it's never been answered.
+     */
+    long getLastAnswered(int id) {
+        synchronized(aggregates) {
+            return id < aggregates.count ? aggregates.lastAnswered[id] : 0;
+        }
+    }
+
+    /**
+     * The number of log records read when the store was opened, which is what was
+     * written since the last compaction.
+     *
+     * @return The number of records replayed.
+     */
+    long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * Waits for the store to finish opening.
+     *
+     * @throws IOException If reading the existing files failed.
+     */
+    void AwaitLoaded() throws IOException {
+        Await(writer.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }));
+    }
+
+    /**
+     * Moves the pending answers to the log and the totals, and compacts if it's time.
+     * Runs on the writer thread.
+     */
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized(AnswerHistoryStore.this) {
+                ByteBuffer swap = writing;
+                writing = pending;
+                pending = swap;
+                pending.clear();
+                flushScheduled = false;
+            }
+
+            writing.flip();
+            if (!writing.hasRemaining()) {
+                writing.clear();
+                return;
+            }
+
+            try {
+                if (segment == null) {
+                    // Opening failed, or a compaction couldn't start its new segment.
+                    Load();
+                }
+
+                int records = writing.remaining() / RECORD_SIZE;
+
+                for(int i = 0; i < records; i++) {
+                    int offset = i * RECORD_SIZE;
+                    crc.reset();
+                    crc.update(writing.array(), offset, RECORD_SIZE - 4);
+                    writing.putInt(offset + RECORD_SIZE - 4, (int) crc.getValue());
+                }
+
+                while(writing.hasRemaining()) {
+                    segment.write(writing);
+                }
+                segment.force(false);
+
+                writing.flip();
+                synchronized(aggregates) {
+                    for(int i = 0; i < records; i++) {
+                        aggregates.Apply(writing, i * RECORD_SIZE);
+                    }
+                }
+
+                recordsSinceCompaction += records;
+                if (recordsSinceCompaction >= compactionThreshold) {
+                    CompactOnWriter();
+                }
+            } catch (IOException e) {
+                Fail(e);
+            } finally {
+                writing.clear();
+            }
+        }
+    };
+
+    /**
+     * Reads the totals file and replays the segments written since, then opens a new
+     * segment.  Starts from nothing each time, so it can be tried again after failing
+     * part way.  Runs on the writer thread.
+     *
+     * @throws IOException If the directory or the new segment can't be created.
+     */
+    private void Load() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory + ".");
+        }
+
+        CloseSegment();
+        synchronized(aggregates) {
+            aggregates.Clear();
+        }
+        replayedRecords = 0;
+        recordsSinceCompaction = 0;
+
+        int folded;
+        try {
+            folded = ReadAggregates();
+        } catch (IOException e) {
+            folded = SetAggregatesAside();
+        }
+
+        int[] segments = ListSegments();
+        int last = folded;
+
+        for(int number : segments) {
+            if (number <= folded) {
+                // Already in the totals; a crash must have stopped it being deleted.
+                SegmentFile(number).delete();
+                continue;
+            }
+
+            long records = Replay(SegmentFile(number));
+            replayedRecords += records;
+            recordsSinceCompaction += records;
+            last = number;
+        }
+
+        OpenSegment(last + 1);
+    }
+
+    /**
+     * Reads the totals file into the aggregates, if there is one.
+     *
+     * @return The last segment folded into it, or 0.
+     * @throws IOException If the file can't be read, or isn't a valid totals file.
+     */
+    private int ReadAggregates() throws IOException {
+        File file = new File(directory, AGGREGATE_FILE);
+
+        if (!file.exists()) {
+            return 0;
+        }
+
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while(buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full.
+            }
+            buffer.flip();
+
+            if (buffer.remaining() < AGGREGATE_HEADER_SIZE + 4
+                    || buffer.getInt(0) != AGGREGATE_MAGIC
+                    || buffer.getInt(4) != AGGREGATE_VERSION) {
+                throw new IOException("Not an answer history totals file.");
+            }
+
+            crc.reset();
+            crc.update(buffer.array(), 0, buffer.limit() - 4);
+            if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+                throw new IOException("The answer history totals file is damaged.");
+            }
+
+            int folded = buffer.getInt(8);
+            int count = buffer.getInt(12);
+            buffer.position(AGGREGATE_HEADER_SIZE);
+
+            synchronized(aggregates) {
+                aggregates.EnsureCapacity(count);
+                for(int id = 0; id < count; id++) {
+                    aggregates.attempts[id] += buffer.getInt();
+                    aggregates.correct[id] += buffer.getInt();
+                    aggregates.hints[id] += buffer.getInt();
+                    aggregates.totalLatency[id] += buffer.getLong();
+                    aggregates.lastAnswered[id] = Math.max(aggregates.lastAnswered[id], buffer.getLong());
+                }
+            }
+
+            return folded;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Moves a totals file that couldn't be read out of the way, keeping it for
+     * inspection, and forgets anything read from it.  The segments folded into it
+     * were deleted when it was written, so their answers are lost; every segment
+     * still there is replayed.
+     *
+     * @return The last segment folded into the totals, which is now 0.
+     * @throws IOException If the file can't be moved.
+     */
+    private int SetAggregatesAside() throws IOException {
+        File file = new File(directory, AGGREGATE_FILE);
+        File damaged = new File(directory, AGGREGATE_FILE + DAMAGED_SUFFIX);
+
+        damaged.delete();
+        if (!file.renameTo(damaged)) {
+            throw new IOException("Cannot move the damaged " + AGGREGATE_FILE + " aside.");
+        }
+
+        synchronized(aggregates) {
+            aggregates.Clear();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Adds the records of a segment to the aggregates.  Stops at the first incomplete
+     * or damaged record.
+     *
+     * @param file The segment to replay.
+     * @return The number of records replayed.
+     * @throws IOException If the segment can't be read.
+     */
+    private long Replay(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        ByteBuffer buffer = ByteBuffer.allocate(REPLAY_CHUNK_RECORDS * RECORD_SIZE);
+        long replayed = 0;
+
+        try {
+            FileChannel channel = in.getChannel();
+
+            while(true) {
+                buffer.clear();
+                while(buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Keep reading until the chunk is full or the file ends.
+                }
+
+                int records = buffer.position() / RECORD_SIZE;
+
+                synchronized(aggregates) {
+                    for(int i = 0; i < records; i++) {
+                        int offset = i * RECORD_SIZE;
+                        crc.reset();
+                        crc.update(buffer.array(), offset, RECORD_SIZE - 4);
+
+                        if ((int) crc.getValue() != buffer.getInt(offset + RECORD_SIZE - 4)) {
+                            return replayed;
+                        }
+
+                        aggregates.Apply(buffer, offset);
+                        replayed++;
+                    }
+                }
+
+                if (buffer.hasRemaining()) {
+                    return replayed;
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Starts a new segment and writes the totals of everything before it, then
+     * deletes the folded segments.  Runs on the writer thread.
+     *
+     * @throws IOException If the new segment or the totals file can't be written.
+     */
+    private void CompactOnWriter() throws IOException {
+        if (segment == null) {
+            return;
+        }
+
+        int folded = segmentNumber;
+        CloseSegment();
+        OpenSegment(folded + 1);
+
+        ByteBuffer buffer;
+        synchronized(aggregates) {
+            int count = aggregates.count;
+            buffer = ByteBuffer.allocate(AGGREGATE_HEADER_SIZE + count * AGGREGATE_ITEM_SIZE + 4);
+            buffer.putInt(AGGREGATE_MAGIC);
+            buffer.putInt(AGGREGATE_VERSION);
+            buffer.putInt(folded);
+            buffer.putInt(count);
+
+            for(int id = 0; id < count; id++) {
+                buffer.putInt(aggregates.attempts[id]);
+                buffer.putInt(aggregates.correct[id]);
+                buffer.putInt(aggregates.hints[id]);
+                buffer.putLong(aggregates.totalLatency[id]);
+                buffer.putLong(aggregates.lastAnswered[id]);
+            }
+        }
+
+        crc.reset();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        ReplaceFile(AGGREGATE_FILE, buffer);
+
+        for(int number : ListSegments()) {
+            if (number <= folded) {
+                SegmentFile(number).delete();
+            }
+        }
+
+        recordsSinceCompaction = 0;
+    }
+
+    /**
+     * Replaces a file in the store's directory, writing a temporary file and renaming
+     * it over the old one, so a crash leaves either the old contents or the new.  Runs
+     * on the writer thread.
+     *
+     * @param name The file's name.
+     * @param contents What to write, from its position to its limit.
+     * @throws IOException If the file can't be written or renamed.
+     */
+    private void ReplaceFile(String name, ByteBuffer contents) throws IOException {
+        File temporary = new File(directory, name + ".tmp");
+        FileOutputStream out = new FileOutputStream(temporary);
+        try {
+            FileChannel channel = out.getChannel();
+            while(contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        } finally {
+            out.close();
+        }
+
+        if (!temporary.renameTo(new File(directory, name))) {
+            throw new IOException("Cannot replace " + name + ".");
+        }
+    }
+
+    /**
+     * Opens a segment for appending, creating it if necessary, and makes it the one
+     * new records are written to.  Runs on the writer thread.
+     *
+     * @param number The segment's number.
+     * @throws IOException If the segment can't be opened.
+     */
+    private void OpenSegment(int number) throws IOException {
+        segmentNumber = number;
+        segmentFile = new RandomAccessFile(SegmentFile(number), "rw");
+        segment = segmentFile.getChannel();
+        segment.position(segment.size());
+    }
+
+    /**
+     * Closes the segment being written, if there is one, so that nothing is written
+     * until the next OpenSegment().  A failure to close is recorded rather than
+     * thrown.  Runs on the writer thread.
+     */
+    private void CloseSegment() {
+        if (segmentFile != null) {
+            try {
+                segmentFile.close();
+            } catch (IOException e) {
+                Fail(e);
+            }
+
+            segmentFile = null;
+            segment = null;
+        }
+    }
+
+    /**
+     * Names a segment's file.
+     *
+     * @param number The segment's number.
+     * @return The file, answers-NNNNNNNN.log in the store's directory.
+     */
+    private File SegmentFile(int number) {
+        return new File(directory, String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Finds the segments in the store's directory.  Files that only look like
+     * segments are skipped.
+     *
+     * @return The numbers of every segment, in ascending order.
+     */
+    private int[] ListSegments() {
+        String[] names = directory.list();
+        int[] numbers = new int[names == null ? 0 : names.length];
+        int count = 0;
+
+        if (names != null) {
+            for(String name : names) {
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        numbers[count++] = Integer.parseInt(
+                                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    } catch (NumberFormatException e) {
+                        // Not one of ours.
+                    }
+                }
+            }
+        }
+
+        numbers = Arrays.copyOf(numbers, count);
+        Arrays.sort(numbers);
+        return numbers;
+    }
+
+    /**
+     * Records an error on the writer thread, to be thrown by the next call that waits
+     * on the writer.  Only the first error before that is kept.
+     *
+     * @param e The error.
+     */
+    private void Fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Waits for a task on the writer thread and reports any failure so far.
+     *
+     * @param future The task, as submitted to the writer.
+     * @throws IOException If the task threw, the wait was interrupted, or the writer
+     *                     thread has failed since the last failure was reported.
+     */
+    private void Await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for the answer history.");
+        } catch (ExecutionException e) {
+            throw new IOException("Writing the answer history failed.", e.getCause());
+        }
+
+        IOException reported = failure;
+        if (reported != null) {
+            failure = null;
+            throw reported;
+        }
+    }
+
+    /**
+     * Per-item totals, in growable parallel arrays indexed by ID.
+     */
+    private static final class Aggregates {
+        int count = 0;
+        int[] attempts = new int[0];
+        int[] correct = new int[0];
+        int[] hints = new int[0];
+        long[] totalLatency = new long[0];
+        long[] lastAnswered = new long[0];
+
+        /**
+         * Adds one log record to the totals.  Records with a negative ID are skipped.
+         *
+         * @param buffer The buffer holding the record.
+         * @param offset Where the record starts in the buffer.
+         */
+        void Apply(ByteBuffer buffer, int offset) {
+            int id = buffer.getInt(offset);
+            int flags = buffer.get(offset + 5);
+
+            if (id < 0) {
+                return;
+            }
+
+            EnsureCapacity(id + 1);
+            attempts[id]++;
+            if ((flags & FLAG_CORRECT) != 0) {
+                correct[id]++;
+            }
+            if ((flags & FLAG_HINT_USED) != 0) {
+                hints[id]++;
+            }
+            totalLatency[id] += buffer.getInt(offset + 8);
+            lastAnswered[id] = Math.max(lastAnswered[id], buffer.getLong(offset + 12));
+        }
+
+        /**
+         * Forgets every total.
+         */
+        void Clear() {
+            count = 0;
+            Arrays.fill(attempts, 0);
+            Arrays.fill(correct, 0);
+            Arrays.fill(hints, 0);
+            Arrays.fill(totalLatency, 0);
+            Arrays.fill(lastAnswered, 0);
+        }
+
+        /**
+         * Grows the arrays to hold at least the given number of items, and counts
+         * that many.
+         *
+         * @param size The number of items, one more than the highest ID.
+         */
+        void EnsureCapacity(int size) {
+            if (size > attempts.length) {
+                int capacity = Math.max(size, attempts.length * 2);
+                attempts = Arrays.copyOf(attempts, capacity);
+                correct = Arrays.copyOf(correct, capacity);
+                hints = Arrays.copyOf(hints, capacity);
+                totalLatency = Arrays.copyOf(totalLatency, capacity);
+                lastAnswered = Arrays.copyOf(lastAnswered, capacity);
+            }
+
+            count = Math.max(count, size);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.statecapitolquiz;
+
+/**
+ * AnswerMatcher decides whether a typed answer names the expected capitol.  Answers
+ * are normalized first (see NameNormalizer), so case, accents, punctuation, extra
+ * spaces and abbreviations like "St" don't matter.  After that a small number of typos
+ * is forgiven, scaled to the length of the name: none for short names, one for names
+ * up to seven characters and two beyond that.  An answer that is exactly some other
+ * capitol is never accepted, however close it is.
+ *
+ * The normalized capitols are precomputed in a NormalizedNameIndex, and the typo check
+ * is a banded Damerau-Levenshtein distance over reused rows, so checking an answer
+ * doesn't allocate.  A matcher must only be used from one thread at a time.
+ */
+final class AnswerMatcher {
+    /**
+     * The matchers for the two most recently used banks, handed out by ForBank().
+     */
+    private static final BankCache<AnswerMatcher> cache = new BankCache<AnswerMatcher>() {
+        @Override
+        protected AnswerMatcher Build(QuestionBank bank) {
+            return new AnswerMatcher(bank);
+        }
+    };
+
+    /**
+     * Normalizes typed answers.
+     */
+    private final NameNormalizer normalizer = new NameNormalizer();
+
+    /**
+     * The normalized capitol of every entry in the bank.
+     */
+    private final NormalizedNameIndex capitols;
+
+    /**
+     * Distance matrix rows, reused between calls: two rows back, the previous row and
+     * the current row.
+     */
+    private int[] rowBeforeLast = new int[32];
+    private int[] lastRow = new int[32];
+    private int[] currentRow = new int[32];
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param bank The bank whose capitols answers are matched against.
+     */
+    AnswerMatcher(QuestionBank bank) {
+        capitols = NormalizedNameIndex.ForCapitols(bank, new NameNormalizer());
+    }
+
+    /**
+     * Returns the matcher for the given bank, building it the first time the bank is
+     * seen.  The matchers for the two most recently used banks are kept.
+     *
+     * @param bank The bank to get the matcher for.
+     * @return The bank's AnswerMatcher.
+     */
+    static AnswerMatcher ForBank(QuestionBank bank) {
+        return cache.Get(bank);
+    }
+
+    /**
+     * Determines whether a typed answer should be accepted as the given capitol.
+     *
+     * @param answer What the user typed.
+     * @param expectedId The ID of the entry whose capitol is being asked for.
+     * @return True if the answer is the capitol, allowing for small mistakes.
+     */
+    boolean Matches(CharSequence answer, int expectedId) {
+        int length = normalizer.Normalize(answer);
+
+        if (length == 0) {
+            return false;
+        }
+
+        char[] typed = normalizer.getBuffer();
+        char[] heap = capitols.getHeap();
+        int expectedStart = capitols.getStart(expectedId);
+        int expectedLength = capitols.getLength(expectedId);
+
+        if (RegionEquals(typed, length, heap, expectedStart, expectedLength)) {
+            return true;
+        }
+
+        // A correctly spelled different capitol is a wrong answer, not a typo.
+        if (capitols.Find(typed, length) >= 0) {
+            return false;
+        }
+
+        int allowed = AllowedEdits(expectedLength);
+        return allowed > 0
+                && Distance(typed, 0, length, heap, expectedStart, expectedLength, allowed) <= allowed;
+    }
+
+    /**
+     * Looks a typed answer up among every capitol in the bank, ignoring case, accents,
+     * punctuation and abbreviations but not typos.
+     *
+     * @param answer What the user typed.
+     * @return The ID of the entry with that capitol, or -1 if it isn't any capitol.
+     */
+    int FindCapitol(CharSequence answer) {
+        int length = normalizer.Normalize(answer);
+        return length == 0 ? -1 : capitols.Find(normalizer.getBuffer(), length);
+    }
+
+    /**
+     * The number of typos forgiven in a name of the given normalized length.
+     *
+     * @param length The length of the expected name.
+     * @return The largest accepted edit distance.
+     */
+    static int AllowedEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+
+        return length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Damerau-Levenshtein distance (optimal string alignment) between two ranges of
+     * characters, computed only within a band of max cells either side of the
+     * diagonal.  Gives up as soon as the distance is known to exceed max.
+     *
+     * @return The distance, or max + 1 if it's larger than max.
+     */
+    int Distance(char[] a, int aStart, int aLength, char[] b, int bStart, int bLength, int max) {
+        int tooFar = max + 1;
+
+        if (Math.abs(aLength - bLength) > max) {
+            return tooFar;
+        }
+
+        if (lastRow.length < bLength + 2) {
+            rowBeforeLast = new int[bLength + 2];
+            lastRow = new int[bLength + 2];
+            currentRow = new int[bLength + 2];
+        }
+
+        for(int j = 0; j <= bLength; j++) {
+            lastRow[j] = j <= max ? j : tooFar;
+        }
+        lastRow[bLength + 1] = tooFar;
+
+        for(int i = 1; i <= aLength; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(bLength, i + max);
+            int rowMin = tooFar;
+
+            currentRow[0] = i <= max ? i : tooFar;
+            currentRow[from - 1] = from == 1 ? currentRow[0] : tooFar;
+            rowMin = Math.min(rowMin, currentRow[from - 1]);
+
+            char ac = a[aStart + i - 1];
+            for(int j = from; j <= to; j++) {
+                char bc = b[bStart + j - 1];
+                int value = lastRow[j - 1] + (ac == bc ? 0 : 1);
+                value = Math.min(value, lastRow[j] + 1);
+                value = Math.min(value, currentRow[j - 1] + 1);
+
+                if (i > 1 && j > 1 && ac == b[bStart + j - 2] && a[aStart + i - 2] == bc) {
+                    value = Math.min(value, rowBeforeLast[j - 2] + 1);
+                }
+
+                currentRow[j] = Math.min(value, tooFar);
+                rowMin = Math.min(rowMin, currentRow[j]);
+            }
+
+            if (to < bLength) {
+                currentRow[to + 1] = tooFar;
+            }
+
+            if (rowMin > max) {
+                return tooFar;
+            }
+
+            int[] recycled = rowBeforeLast;
+            rowBeforeLast = lastRow;
+            lastRow = currentRow;
+            currentRow = recycled;
+        }
+
+        return Math.min(lastRow[bLength], tooFar);
+    }
+
+    /**
+     * Compares a range of one array with a range of another.
+     */
+    private static boolean RegionEquals(char[] a, int aLength, char[] b, int bStart, int bLength) {
+        if (aLength != bLength) {
+            return false;
+        }
+
+        for(int i = 0; i < aLength; i++) {
+            if (a[i] != b[bStart + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
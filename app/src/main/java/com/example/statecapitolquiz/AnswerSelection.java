@@ -0,0 +1,102 @@
+package com.example.statecapitolquiz;
+
+import java.util.BitSet;
+
+/**
+ * Tracks which answers are selected in a question that takes several, such as the
+ * check box question.  Each toggle updates the selected IDs and a running count in
+ * constant time, so enabling the Check Answer button and scoring the question never
+ * need to look at the answer views, however many answers there are.
+ */
+final class AnswerSelection {
+    /**
+     * The QuestionBank IDs of the correct answers.
+     */
+    private final BitSet expectedIds = new BitSet();
+
+    /**
+     * The number of bits set in expectedIds.
+     */
+    private int expectedCount = 0;
+
+    /**
+     * The QuestionBank IDs of the answers currently selected.
+     */
+    private final BitSet selectedIds = new BitSet();
+
+    /**
+     * The number of bits set in selectedIds.
+     */
+    private int selectedCount = 0;
+
+    /**
+     * Starts tracking a new question, with nothing selected.
+     *
+     * @param question The question being shown.  Its targets are the correct answers.
+     */
+    void Reset(Question question) {
+        expectedIds.clear();
+        selectedIds.clear();
+        selectedCount = 0;
+
+        for(int i = 0; i < question.getTargetCount(); i++) {
+            expectedIds.set(question.getTargetId(i));
+        }
+
+        expectedCount = expectedIds.cardinality();
+    }
+
+    /**
+     * Records an answer being selected or deselected.  Repeating the current state is
+     * harmless.
+     *
+     * @param id The QuestionBank ID of the answer.
+     * @param selected Whether the answer is now selected.
+     */
+    void Toggle(int id, boolean selected) {
+        if (selectedIds.get(id) == selected) {
+            return;
+        }
+
+        selectedIds.set(id, selected);
+        selectedCount += selected ? 1 : -1;
+    }
+
+    /**
+     * The number of answers selected.
+     *
+     * @return The count.
+     */
+    int getSelectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * Determines whether an answer is selected.
+     *
+     * @param id The QuestionBank ID of the answer.
+     * @return True if it's selected.
+     */
+    boolean isSelected(int id) {
+        return selectedIds.get(id);
+    }
+
+    /**
+     * Determines whether an answer is one of the correct ones.
+     *
+     * @param id The QuestionBank ID of the answer.
+     * @return True if it should be selected.
+     */
+    boolean isExpected(int id) {
+        return expectedIds.get(id);
+    }
+
+    /**
+     * Determines whether exactly the correct answers are selected.
+     *
+     * @return True if the question has been answered correctly.
+     */
+    boolean isCorrect() {
+        return selectedCount == expectedCount && selectedIds.equals(expectedIds);
+    }
+}
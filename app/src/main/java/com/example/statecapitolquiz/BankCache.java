@@ -0,0 +1,53 @@
+package com.example.statecapitolquiz;
+
+/**
+ * Keeps the structures built for the two most recently used banks, so that something
+ * expensive to build from a bank, like an AnswerMatcher or a PrefixIndex, is built
+ * once per bank rather than once per question.  Two are kept so that a session mixing
+ * forward and reverse questions (see ReversedQuestionBank) can go back and forth
+ * between a bank and its reversed view without rebuilding either.
+ *
+ * Banks are compared by identity, as they are everywhere else.
+ *
+ * @param <T> The type of structure built for each bank.
+ */
+abstract class BankCache<T> {
+    /**
+     * The structure for the bank most recently asked for, and that bank.
+     */
+    private T latest = null;
+    private QuestionBank latestBank = null;
+
+    /**
+     * The structure for the bank used before the latest one, and that bank.
+     */
+    private T previous = null;
+    private QuestionBank previousBank = null;
+
+    /**
+     * Builds the structure for a bank that isn't cached.
+     *
+     * @param bank The bank to build for.
+     * @return The new structure.
+     */
+    protected abstract T Build(QuestionBank bank);
+
+    /**
+     * Returns the structure for the given bank, building it if neither of the two
+     * cached banks is this one.  The bank becomes the most recently used.
+     *
+     * @param bank The bank to get the structure for.
+     * @return The bank's structure.
+     */
+    synchronized T Get(QuestionBank bank) {
+        if (latest == null || latestBank != bank) {
+            T found = previous != null && previousBank == bank ? previous : Build(bank);
+            previous = latest;
+            previousBank = latestBank;
+            latest = found;
+            latestBank = bank;
+        }
+
+        return latest;
+    }
+}
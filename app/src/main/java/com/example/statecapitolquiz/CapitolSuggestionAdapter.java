@@ -0,0 +1,126 @@
+package com.example.statecapitolquiz;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.Filter;
+import android.widget.Filterable;
+import android.widget.TextView;
+
+/**
+ * Supplies the capitol name suggestions shown under the EditTextQuestionPage's
+ * answer box.  Completions come from the PrefixIndex of the bank the question is
+ * shown against, so a reverse question is offered state names.  The lookup runs in
+ * the Filter, which AutoCompleteTextView calls on a background thread, so the index
+ * is built and searched without blocking typing.
+ */
+class CapitolSuggestionAdapter extends BaseAdapter implements Filterable {
+    /**
+     * The most suggestions shown at once.
+     */
+    static final int MAX_SUGGESTIONS = 8;
+
+    private final LayoutInflater inflater;
+
+    /**
+     * The suggestions currently shown.  Only replaced on the UI thread.
+     */
+    private String[] suggestions = new String[0];
+
+    /**
+     * The bank whose capitols are suggested.  Read on the filter thread.
+     */
+    private volatile QuestionBank bank = QuestionBanks.getActive();
+
+    private final Filter filter = new Filter() {
+        /**
+         * Used only on the filter thread, which handles one request at a time.
+         */
+        private final NameNormalizer normalizer = new NameNormalizer();
+        private final int[] ids = new int[MAX_SUGGESTIONS];
+
+        @Override
+        protected FilterResults performFiltering(CharSequence constraint) {
+            FilterResults results = new FilterResults();
+            String[] found = new String[0];
+
+            if (constraint != null) {
+                int length = normalizer.Normalize(constraint);
+
+                if (length > 0) {
+                    QuestionBank bank = CapitolSuggestionAdapter.this.bank;
+                    int count = PrefixIndex.ForBank(bank).Complete(normalizer.getBuffer(), length, ids, MAX_SUGGESTIONS);
+                    found = new String[count];
+
+                    for(int i = 0; i < count; i++) {
+                        found[i] = bank.getCapitolName(ids[i]);
+                    }
+                }
+            }
+
+            results.values = found;
+            results.count = found.length;
+            return results;
+        }
+
+        @Override
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            suggestions = (String[]) results.values;
+
+            if (results.count > 0) {
+                notifyDataSetChanged();
+            } else {
+                notifyDataSetInvalidated();
+            }
+        }
+    };
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param context The context used to inflate the suggestion rows.
+     */
+    CapitolSuggestionAdapter(Context context) {
+        inflater = LayoutInflater.from(context);
+    }
+
+    /**
+     * Sets the bank to suggest answers from.
+     *
+     * @param bank The bank the current question is shown against.
+     */
+    void setBank(QuestionBank bank) {
+        this.bank = bank;
+    }
+
+    @Override
+    public int getCount() {
+        return suggestions.length;
+    }
+
+    @Override
+    public String getItem(int position) {
+        return suggestions[position];
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        TextView tv = (TextView) (convertView != null
+                ? convertView
+                : inflater.inflate(android.R.layout.simple_dropdown_item_1line, parent, false));
+        tv.setText(suggestions[position]);
+        return tv;
+    }
+
+    @Override
+    public Filter getFilter() {
+        return filter;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.statecapitolquiz;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.CheckBox;
+import android.widget.LinearLayout;
+
+/**
+ * Page which takes care of presenting a question about one or more states, answered
+ * by checking each of their capitols in a list of check boxes.
+ */
+class CheckBoxQuestionPage extends QuestionPage {
+    /**
+     * The correct answers and the ones the user has checked, updated as each check box
+     * is toggled.  The button state and the score come from here rather than from the
+     * check boxes.
+     */
+    private final AnswerSelection selection = new AnswerSelection();
+
+    /**
+     * Shared by every check box: records the toggle and keeps the button enabled only
+     * while something is checked.
+     */
+    private final View.OnClickListener checkBoxListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            OnCheckBoxToggled((CheckBox) v);
+        }
+    };
+
+    /**
+     * The check boxes, reused from one question to the next.
+     */
+    private final AnswerRows<CheckBox> answerRows;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param root The inflated view_check_box_question layout.
+     * @param listener Receives the result of each question.
+     */
+    CheckBoxQuestionPage(View root, Listener listener) {
+        super(root, listener);
+
+        LinearLayout ll = root.findViewById(R.id.answers);
+        answerRows = new AnswerRows<CheckBox>(ll, checkBoxListener) {
+            @Override
+            CheckBox NewRow(Context context) {
+                return new CheckBox(context);
+            }
+        };
+    }
+
+    /**
+     * Shows a question, rebinding the check boxes to the question's answers.
+     *
+     * @param question The question to show.
+     * @param bank The bank the question's IDs refer to.
+     */
+    @Override
+    void Bind(Question question, QuestionBank bank) {
+        Resources res = getResources();
+
+        // Reset the variable tracking whether we've told the user that they're correct.
+        isSecondPhase = false;
+        isAnswerCorrect = false;
+
+        selection.Reset(question);
+
+        // Set the query TextView up to display the question.
+        SetTextViewText(R.id.query, Query(bank, question));
+
+        answerRows.Bind(question, bank);
+
+        SetButton(false, res.getString(R.string.caption_check_answer));
+        SetTextViewText(R.id.answer_state, "");
+    }
+
+    /**
+     * Records a check box being toggled, and enables the button once one or more
+     * check boxes are checked so the user can choose to proceed, or disables it when
+     * none are.  The button is only touched when the count goes to or from zero.
+     *
+     * @param cb The check box that was clicked.
+     */
+    protected void OnCheckBoxToggled(CheckBox cb) {
+        if (isSecondPhase) {
+            return;
+        }
+
+        boolean wasChecked = selection.getSelectedCount() > 0;
+        selection.Toggle(answerRows.getAnswerId(answerRows.IndexOf(cb)), cb.isChecked());
+        boolean isChecked = selection.getSelectedCount() > 0;
+
+        if (isChecked != wasChecked) {
+            SetButton(isChecked, getResources().getString(R.string.caption_check_answer));
+        }
+    }
+
+    /**
+     * Highlights the correct answers, and any wrongly checked ones, and scores the
+     * question from the tracked selection.
+     *
+     * @return True if exactly the correct answers are checked.
+     */
+    protected boolean CheckBoxesAreCorrect() {
+        for(int i = 0; i < answerRows.size(); i++) {
+            HighlightCheckBox(answerRows.get(i), answerRows.getAnswerId(i));
+        }
+
+        return selection.isCorrect();
+    }
+
+    /**
+     * Colors a check box for the feedback: green if it shows a correct answer, red if
+     * it's checked but shows a wrong one.  The question is scored from the selection,
+     * so nothing is returned.
+     *
+     * @param cb The check box to color.
+     * @param answerId The QuestionBank ID of the answer the check box shows.
+     */
+    protected void HighlightCheckBox(CheckBox cb, int answerId) {
+        // Do we match either of the answers?
+        boolean idMatches = selection.isExpected(answerId);
+
+        // Are we checked?
+        boolean isChecked = cb.isChecked();
+
+        // Change the text of the check box to green if it matches and we're highlighting.
+        if(idMatches) {
+            cb.setTextColor(Color.GREEN);
+        } else if (isChecked) {
+            cb.setTextColor(Color.RED);
+        }
+    }
+
+    /**
+     * Handles deciding whether the answer given was correct or not, and the corresponding
+     * display of the status.
+     */
+    @Override
+    protected void HandleSecondPhase() {
+        isAnswerCorrect = CheckBoxesAreCorrect();
+
+        int color = isAnswerCorrect ? Color.GREEN : Color.RED;
+
+        Resources res = getResources();
+        SetStatus(color, res.getString(isAnswerCorrect ? R.string.status_correct : R.string.status_incorrect));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.statecapitolquiz;
+
+/**
+ * The decks the quiz can be played with.  The fifty state capitols are built in;
+ * the others are tab separated files in the app's assets, read by QuestionBankLoader
+ * the first time they're picked.  DeckCache keeps the decks that have been loaded.
+ */
+enum Deck {
+    /**
+     * The fifty states and their capitols, from QuizCatalog.getDefault().
+     */
+    US_CAPITALS(null),
+
+    /**
+     * The countries of the world and their capitals.
+     */
+    WORLD_CAPITALS("decks/world_capitals.tsv"),
+
+    /**
+     * The fifty states and their postal abbreviations.
+     */
+    STATE_ABBREVIATIONS("decks/state_abbreviations.tsv"),
+
+    /**
+     * The fifty states and their nicknames.
+     */
+    STATE_NICKNAMES("decks/state_nicknames.tsv");
+
+    /**
+     * The path of the deck's file within the assets, or null for the built in deck.
+     */
+    private final String assetName;
+
+    Deck(String assetName) {
+        this.assetName = assetName;
+    }
+
+    /**
+     * Accessor for the path of the deck's file within the app's assets.
+     *
+     * @return The asset path, or null if the deck is built in.
+     */
+    String getAssetName() {
+        return assetName;
+    }
+
+    /**
+     * Determines whether the deck is compiled into the app, and so costs no I/O.
+     *
+     * @return True for the built in deck.
+     */
+    boolean isBuiltIn() {
+        return assetName == null;
+    }
+}
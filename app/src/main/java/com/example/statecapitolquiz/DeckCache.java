@@ -0,0 +1,243 @@
+package com.example.statecapitolquiz;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Keeps the decks that have been loaded, so that going back to a recently used deck
+ * does no I/O at all.  Decks are loaded the first time they're asked for, and the
+ * cache holds at most a fixed number of entries across all of its decks; when a new
+ * deck would go over that, the least recently used decks are dropped.  The active
+ * deck, the one QuestionBanks hands to the quiz, is never dropped, however large it
+ * is, and neither is a deck that has just been loaded.
+ *
+ * TrimTo() lets the app give memory back when the system asks for it.
+ */
+final class DeckCache {
+    /**
+     * Reads a deck that isn't built in.
+     */
+    interface Source {
+        /**
+         * Loads a deck from wherever it's stored.
+         *
+         * @param deck The deck to load; never a built in one.
+         * @return The deck's entries.
+         * @throws IOException If the deck can't be read.
+         */
+        QuestionBank Open(Deck deck) throws IOException;
+    }
+
+    /**
+     * The number of entries the shared cache holds: enough for the world capitals
+     * and one of the fifty state decks.
+     */
+    static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The cache the app uses, or null until it's first needed.
+     */
+    private static DeckCache shared = null;
+
+    /**
+     * The source given to Install(), used when the shared cache is created.
+     */
+    private static Source sharedSource = null;
+
+    /**
+     * Loads decks off the main thread, or null until it's first needed.
+     */
+    private static ExecutorService loader = null;
+
+    private final Source source;
+
+    private final int capacity;
+
+    /**
+     * The loaded decks, least recently used first.
+     */
+    private final LinkedHashMap<Deck, QuestionBank> decks = new LinkedHashMap<>(8, 0.75f, true);
+
+    /**
+     * The total number of entries in the loaded decks.
+     */
+    private int entries = 0;
+
+    /**
+     * The number of times a deck has been read from its Source.
+     */
+    private int loadCount = 0;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param source Reads the decks that aren't built in.
+     * @param capacity The number of entries to hold across all decks.
+     */
+    DeckCache(Source source, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+
+        this.source = source;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets where the shared cache reads its decks from.  Called once when the app
+     * starts, before anything asks for a deck.
+     *
+     * @param source Reads the decks that aren't built in.
+     */
+    static synchronized void Install(Source source) {
+        sharedSource = source;
+        shared = null;
+    }
+
+    /**
+     * Returns the cache the app uses, creating it on first use.
+     *
+     * @return The shared DeckCache.
+     */
+    static synchronized DeckCache getShared() {
+        if (shared == null) {
+            shared = new DeckCache(sharedSource, DEFAULT_CAPACITY);
+        }
+
+        return shared;
+    }
+
+    /**
+     * Returns the thread decks are loaded on away from the main thread.  There's only
+     * one, so a deck asked for twice is read once and the second request finds it
+     * cached.
+     *
+     * @return The shared single thread executor for loading decks.
+     */
+    static synchronized ExecutorService getLoader() {
+        if (loader == null) {
+            loader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "DeckLoad");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return loader;
+    }
+
+    /**
+     * Returns a deck, loading it if it isn't cached.  A deck that's already cached is
+     * returned without any I/O, and becomes the most recently used.
+     *
+     * @param deck The deck wanted.
+     * @return The deck's entries.
+     * @throws IOException If the deck had to be loaded and couldn't be.
+     */
+    synchronized QuestionBank Get(Deck deck) throws IOException {
+        QuestionBank bank = decks.get(deck);
+
+        if (bank != null) {
+            return bank;
+        }
+
+        bank = Load(deck);
+        decks.put(deck, bank);
+        entries += bank.size();
+        Trim(capacity, deck);
+
+        return bank;
+    }
+
+    /**
+     * Determines whether a deck can be had without loading it.
+     *
+     * @param deck The deck to check.
+     * @return True if the deck is cached.
+     */
+    synchronized boolean isCached(Deck deck) {
+        return decks.containsKey(deck);
+    }
+
+    /**
+     * Drops the least recently used decks until the cache holds no more than the given
+     * number of entries, though never the active deck.
+     *
+     * @param maxEntries The number of entries to keep at most; 0 keeps only the active
+     *                   deck.
+     */
+    synchronized void TrimTo(int maxEntries) {
+        Trim(maxEntries, null);
+    }
+
+    /**
+     * Accessor for the number of entries the cache holds before it starts dropping
+     * decks.
+     *
+     * @return The capacity, in entries.
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The total number of entries in the cached decks.
+     *
+     * @return The number of entries.
+     */
+    synchronized int getEntryCount() {
+        return entries;
+    }
+
+    /**
+     * The number of times a deck has been read from the Source since the cache was
+     * created.  Built in decks aren't counted, as they need no I/O.
+     *
+     * @return The number of loads.
+     */
+    synchronized int getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Drops the least recently used decks until the cache holds no more than the given
+     * number of entries, skipping the active deck and one other.
+     *
+     * @param maxEntries The number of entries to keep at most.
+     * @param kept A deck to keep as well, or null.
+     */
+    private void Trim(int maxEntries, Deck kept) {
+        Deck active = QuestionBanks.getActiveDeck();
+        Iterator<Map.Entry<Deck, QuestionBank>> it = decks.entrySet().iterator();
+
+        while(entries > maxEntries && it.hasNext()) {
+            Map.Entry<Deck, QuestionBank> entry = it.next();
+
+            if (entry.getKey() != active && entry.getKey() != kept) {
+                entries -= entry.getValue().size();
+                it.remove();
+            }
+        }
+    }
+
+    private QuestionBank Load(Deck deck) throws IOException {
+        if (deck.isBuiltIn()) {
+            return QuizCatalog.getDefault();
+        }
+
+        if (source == null) {
+            throw new IOException("No source to load " + deck + " from.");
+        }
+
+        loadCount++;
+        return source.Open(deck);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * DistractorSelector picks the incorrect answers for a multiple choice question: a
+ * given number of distinct IDs from a QuestionBank, none of which are among the
+ * correct answers.  Picking k distractors takes O(k) random draws and never copies
+ * the bank.
+ *
+ * When a handful of distractors are wanted from a bank much larger than that, which
+ * is the usual case, random IDs are drawn and rejected if they've already been used.
+ * When the question has more answers than that, or they make up a large part of the
+ * bank, rejection would keep hitting used IDs and each check would scan more of
+ * them, so a reusable IndexDeck is used instead: the used IDs are removed, the
+ * distractors drawn, and everything put back afterwards, in O(k) whatever the size
+ * of the bank.
+ *
+ * A selector keeps scratch state between calls, so it must only be used from one
+ * thread at a time.
+ */
+final class DistractorSelector {
+    /**
+     * The most IDs, correct answers and distractors together, that rejection sampling
+     * is used for.  Each rejection check scans every ID used so far, so beyond this
+     * the deck is cheaper.
+     */
+    private static final int MAX_REJECTION_IDS = 8;
+
+    /**
+     * The number of IDs in the bank being selected from.
+     */
+    private final int bankSize;
+
+    /**
+     * Scratch deck used when rejection sampling would be wasteful.  Created on first
+     * use and always left full between calls.
+     */
+    private IndexDeck scratchDeck = null;
+
+    /**
+     * Scratch buffer pooling the hard mode candidates.  Grown as needed and reused.
+     */
+    private int[] candidates = new int[0];
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param bankSize The number of IDs in the bank to select from.
+     */
+    DistractorSelector(int bankSize) {
+        this.bankSize = bankSize;
+    }
+
+    /**
+     * The number of IDs in the bank this selector picks from.
+     *
+     * @return The bank size.
+     */
+    int getBankSize() {
+        return bankSize;
+    }
+
+    /**
+     * Picks count distinct IDs that don't appear in exclude, writing them into out.
+     * exclude and out may be the same array as long as the ranges don't overlap,
+     * which makes it easy to build a list of answers with the correct ones first.
+     *
+     * @param exclude The correct answers, which must not be picked.
+     * @param excludeCount How many entries of exclude to honour, starting at 0.
+     * @param count How many distractors to pick.
+     * @param out Receives the distractors.
+     * @param outOffset Where in out to start writing.
+     * @param random The random number generator to draw with.
+     */
+    void Select(int[] exclude, int excludeCount, int count, int[] out, int outOffset, Random random) {
+        CheckCounts(excludeCount, count);
+        SelectRemaining(exclude, excludeCount, count, out, outOffset, 0, random);
+    }
+
+    /**
+     * Hard mode version of Select().  Distractors are picked at random from the
+     * neighbors of the correct answers first, so they look plausible, and only once
+     * those run out from the rest of the bank.
+     *
+     * @param exclude The correct answers, which must not be picked.
+     * @param excludeCount How many entries of exclude to honour, starting at 0.
+     * @param count How many distractors to pick.
+     * @param out Receives the distractors.
+     * @param outOffset Where in out to start writing.
+     * @param random The random number generator to draw with.
+     * @param neighbors The NeighborIndex of the bank being selected from.
+     */
+    void SelectHard(int[] exclude, int excludeCount, int count, int[] out, int outOffset, Random random,
+                    NeighborIndex neighbors) {
+        CheckCounts(excludeCount, count);
+
+        int neighborCount = neighbors.getNeighborCount();
+        if (candidates.length < excludeCount * neighborCount) {
+            candidates = new int[excludeCount * neighborCount];
+        }
+
+        // Pool the neighbors of every correct answer, leaving out the correct answers
+        // themselves and anything already pooled.
+        int candidateCount = 0;
+        for(int i = 0; i < excludeCount; i++) {
+            for(int rank = 0; rank < neighborCount; rank++) {
+                int neighbor = neighbors.getNeighbor(exclude[i], rank);
+
+                if (neighbor >= 0
+                        && !Contains(exclude, 0, excludeCount, neighbor)
+                        && !Contains(candidates, 0, candidateCount, neighbor)) {
+                    candidates[candidateCount++] = neighbor;
+                }
+            }
+        }
+
+        // Take a random selection of the pool, without replacement.
+        int picked = 0;
+        while(picked < count && candidateCount > 0) {
+            int slot = random.nextInt(candidateCount);
+            out[outOffset + picked++] = candidates[slot];
+            candidates[slot] = candidates[--candidateCount];
+        }
+
+        SelectRemaining(exclude, excludeCount, count, out, outOffset, picked, random);
+    }
+
+    /**
+     * Makes sure there are enough IDs in the bank for the request.
+     */
+    private void CheckCounts(int excludeCount, int count) {
+        if (count + excludeCount > bankSize) {
+            throw new IllegalArgumentException("Cannot pick " + count + " distractors from a bank of "
+                    + bankSize + " with " + excludeCount + " correct answers.");
+        }
+    }
+
+    /**
+     * Fills out[outOffset + picked] up to out[outOffset + count - 1] with uniformly
+     * chosen IDs, avoiding the excluded IDs and those already picked.
+     */
+    private void SelectRemaining(int[] exclude, int excludeCount, int count, int[] out, int outOffset,
+                                 int picked, Random random) {
+        if (picked == count) {
+            return;
+        }
+
+        // Rejection sampling needs about n / (n - used) tries per pick.  Keep it while
+        // at most half of the bank is in use, so that's never more than two, and while
+        // there are few enough used IDs to check against.
+        int used = count + excludeCount;
+        if (used <= MAX_REJECTION_IDS && used * 2 <= bankSize) {
+            SelectByRejection(exclude, excludeCount, count, out, outOffset, picked, random);
+        } else {
+            SelectFromDeck(exclude, excludeCount, count, out, outOffset, picked, random);
+        }
+    }
+
+    /**
+     * Draws random IDs, retrying any that are excluded or already picked.
+     */
+    private void SelectByRejection(int[] exclude, int excludeCount, int count, int[] out, int outOffset,
+                                   int picked, Random random) {
+        while(picked < count) {
+            int candidate = random.nextInt(bankSize);
+
+            if (!Contains(exclude, 0, excludeCount, candidate)
+                    && !Contains(out, outOffset, outOffset + picked, candidate)) {
+                out[outOffset + picked] = candidate;
+                picked++;
+            }
+        }
+    }
+
+    /**
+     * Draws from the scratch deck with the excluded and already picked IDs taken out,
+     * then restores it.
+     */
+    private void SelectFromDeck(int[] exclude, int excludeCount, int count, int[] out, int outOffset,
+                                int picked, Random random) {
+        if (scratchDeck == null) {
+            scratchDeck = new IndexDeck(bankSize);
+        }
+
+        for(int i = 0; i < excludeCount; i++) {
+            scratchDeck.Remove(exclude[i]);
+        }
+
+        for(int i = 0; i < picked; i++) {
+            scratchDeck.Remove(out[outOffset + i]);
+        }
+
+        for(int i = picked; i < count; i++) {
+            out[outOffset + i] = scratchDeck.DrawAndRemove(random);
+        }
+
+        for(int i = 0; i < excludeCount; i++) {
+            scratchDeck.Add(exclude[i]);
+        }
+
+        for(int i = 0; i < count; i++) {
+            scratchDeck.Add(out[outOffset + i]);
+        }
+    }
+
+    /**
+     * Linear search of a small range of an array.
+     *
+     * @return True if value appears in values[from] through values[to - 1].
+     */
+    private static boolean Contains(int[] values, int from, int to, int value) {
+        for(int i = from; i < to; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
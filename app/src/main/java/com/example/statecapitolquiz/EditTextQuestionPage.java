@@ -0,0 +1,130 @@
+package com.example.statecapitolquiz;
+
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.AutoCompleteTextView;
+import android.widget.EditText;
+
+/**
+ * Page which takes care of presenting a question about one state, answered by typing
+ * its capitol, or for a reverse question by typing the state.  Answers are suggested
+ * as the user types.
+ */
+class EditTextQuestionPage extends QuestionPage {
+    /**
+     * Whether answers picked from the suggestions don't count.
+     */
+    private final boolean isHintPenalty;
+
+    /**
+     * The QuestionBank ID of the state being asked about.
+     */
+    private int targetId = -1;
+
+    /**
+     * The bank the current question's IDs refer to.
+     */
+    private QuestionBank bank = null;
+
+    private final CapitolSuggestionAdapter suggestions;
+
+    /**
+     * Whether the user picked one of the suggested capitols for this question.
+     */
+    private boolean isHintUsed = false;
+
+    /**
+     * Parameterized constructor.  Attaches the capitol name suggestions to the answer
+     * box and records when one is picked.
+     *
+     * @param root The inflated view_edit_text_question layout.
+     * @param listener Receives the result of each question.
+     * @param isHintPenalty Whether answers picked from the suggestions don't count.
+     */
+    EditTextQuestionPage(View root, Listener listener, boolean isHintPenalty) {
+        super(root, listener);
+        this.isHintPenalty = isHintPenalty;
+
+        AutoCompleteTextView answer = root.findViewById(R.id.answer);
+        suggestions = new CapitolSuggestionAdapter(root.getContext());
+        answer.setAdapter(suggestions);
+        answer.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+            @Override
+            public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                isHintUsed = true;
+            }
+        });
+    }
+
+    /**
+     * Shows a question, clearing the previous answer.
+     *
+     * @param question The question to show.
+     * @param bank The bank the question's IDs refer to, or its ReversedQuestionBank.
+     */
+    @Override
+    void Bind(Question question, QuestionBank bank) {
+        Resources res = getResources();
+        this.bank = bank;
+        suggestions.setBank(bank);
+        targetId = question.getTargetId(0);
+
+        // Reset the variable tracking whether we've told the user that they're correct.
+        isSecondPhase = false;
+        isAnswerCorrect = false;
+        isHintUsed = false;
+
+        // Set the query TextView up to display the question.
+        SetTextViewText(R.id.query, Query(bank, targetId));
+
+        EditText et = root.findViewById(R.id.answer);
+        et.setText("");
+
+        SetButton(true, res.getString(R.string.caption_check_answer));
+        SetTextViewText(R.id.answer_state, "");
+    }
+
+    /**
+     * Checks the current text entered into the EditText control to see if it matches
+     * the name of the capitol being asked about.  Case, accents, punctuation and
+     * abbreviations are ignored and small typos are forgiven (see AnswerMatcher).
+     *
+     * @return True if the value matches the state capitol, false otherwise.
+     */
+    protected boolean CheckEditTextIsCorrect() {
+        EditText et = root.findViewById(R.id.answer);
+        AnswerMatcher matcher = AnswerMatcher.ForBank(bank);
+
+        return matcher.Matches(et.getText(), targetId);
+    }
+
+    /**
+     * Handles deciding whether the answer given was correct or not, and the corresponding
+     * display of the status.
+     */
+    @Override
+    protected void HandleSecondPhase() {
+        isAnswerCorrect = CheckEditTextIsCorrect();
+
+        int color = isAnswerCorrect ? Color.GREEN : Color.RED;
+
+        Resources res = getResources();
+        String statusText = res.getString(isAnswerCorrect ? R.string.status_correct : R.string.status_incorrect);
+
+        // With the hint penalty on, a right answer picked from the suggestions doesn't count.
+        if (isAnswerCorrect && isHintUsed && isHintPenalty) {
+            isAnswerCorrect = false;
+            color = Color.MAGENTA;
+            statusText = res.getString(R.string.status_correct_with_hint);
+        }
+
+        SetStatus(color, statusText);
+    }
+
+    @Override
+    protected boolean isHintUsed() {
+        return isHintUsed;
+    }
+}
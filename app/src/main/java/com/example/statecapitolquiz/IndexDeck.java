@@ -0,0 +1,167 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * IndexDeck is a deck of catalog IDs that supports drawing a random ID and removing
+ * it in constant time.  The remaining IDs are kept packed at the front of an array;
+ * removing an ID swaps the last remaining ID into its slot.  A second array tracks
+ * where each ID currently sits so that any ID can be removed, or tested for, without
+ * searching.
+ */
+final class IndexDeck {
+    /**
+     * The remaining IDs are held in items[0] through items[size - 1], in no
+     * particular order.
+     */
+    private final int[] items;
+
+    /**
+     * For each ID, the slot it occupies in items, or -1 if it has been removed.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of IDs remaining in the deck.
+     */
+    private int size;
+
+    /**
+     * Creates a full deck holding every ID from 0 to capacity - 1.
+     *
+     * @param capacity The number of IDs in a full deck.  Normally the catalog size.
+     */
+    IndexDeck(int capacity) {
+        items = new int[capacity];
+        positions = new int[capacity];
+        Reset();
+    }
+
+    /**
+     * Refills the deck so that it holds every ID again.
+     */
+    void Reset() {
+        for(int i = 0; i < items.length; i++) {
+            items[i] = i;
+            positions[i] = i;
+        }
+
+        size = items.length;
+    }
+
+    /**
+     * Empties the deck.  Used when only a few IDs should be made available with Add().
+     */
+    void Clear() {
+        for(int i = 0; i < size; i++) {
+            positions[items[i]] = -1;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * The number of IDs a full deck holds.
+     *
+     * @return The deck's capacity.
+     */
+    int capacity() {
+        return items.length;
+    }
+
+    /**
+     * The number of IDs remaining in the deck.
+     *
+     * @return The number of IDs that can still be drawn.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Whether there are any IDs left to draw.
+     *
+     * @return True if the deck is empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether the given ID is still in the deck.
+     *
+     * @param id The ID to look for.
+     * @return True if the ID has not been removed.
+     */
+    boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Returns the ID in the given slot without removing it.  Slot order is arbitrary
+     * and changes as IDs are removed, so this is only useful for walking the deck.
+     *
+     * @param slot A slot from 0 to size() - 1.
+     * @return The ID in that slot.
+     */
+    int get(int slot) {
+        return items[slot];
+    }
+
+    /**
+     * Picks a random ID from the deck and removes it.
+     *
+     * @param random The random number generator to draw with.
+     * @return The ID that was drawn.
+     */
+    int DrawAndRemove(Random random) {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot draw from an empty deck.");
+        }
+
+        int id = items[random.nextInt(size)];
+        Remove(id);
+
+        return id;
+    }
+
+    /**
+     * Removes the given ID from the deck by moving the last remaining ID into its slot.
+     *
+     * @param id The ID to remove.
+     * @return True if the ID was in the deck, false if it had already been removed.
+     */
+    boolean Remove(int id) {
+        int slot = positions[id];
+
+        if (slot < 0) {
+            return false;
+        }
+
+        int last = items[--size];
+        items[slot] = last;
+        positions[last] = slot;
+        items[size] = id;
+        positions[id] = -1;
+
+        return true;
+    }
+
+    /**
+     * Puts a previously removed ID back into the deck.
+     *
+     * @param id The ID to return to the deck.
+     * @return True if the ID was added, false if it was already in the deck.
+     */
+    boolean Add(int id) {
+        if (positions[id] >= 0) {
+            return false;
+        }
+
+        items[size] = id;
+        positions[id] = size;
+        size++;
+
+        return true;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.statecapitolquiz;
+
+/**
+ * IndexedMinHeap is a binary min-heap of the IDs 0 to capacity - 1, each with a long
+ * key.  Besides the usual heap operations it keeps track of where every ID sits, so
+ * the key of any ID can be changed, or the ID removed, in O(log n) without searching.
+ */
+final class IndexedMinHeap {
+    /**
+     * The IDs in heap order: heap[0] has the smallest key.
+     */
+    private final int[] heap;
+
+    /**
+     * For each ID, the slot it occupies in heap, or -1 if it isn't in the heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The key of each ID.  Only meaningful while the ID is in the heap.
+     */
+    private final long[] keys;
+
+    private int size = 0;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param capacity One more than the largest ID the heap can hold.
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+
+        for(int i = 0; i < capacity; i++) {
+            positions[i] = -1;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether an ID is in the heap.
+     *
+     * @param id The ID to look for.
+     * @return True if it's in the heap.
+     */
+    boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Accessor for the key of an ID in the heap.
+     *
+     * @param id An ID in the heap.
+     * @return Its key.
+     */
+    long getKey(int id) {
+        return keys[id];
+    }
+
+    /**
+     * Adds an ID, or changes its key if it's already in the heap.
+     *
+     * @param id The ID.
+     * @param key Its new key.
+     */
+    void Put(int id, long key) {
+        int slot = positions[id];
+
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = id;
+            positions[id] = slot;
+            keys[id] = key;
+            SiftUp(slot);
+        } else {
+            long oldKey = keys[id];
+            keys[id] = key;
+
+            if (key < oldKey) {
+                SiftUp(slot);
+            } else {
+                SiftDown(slot);
+            }
+        }
+    }
+
+    /**
+     * Accessor for the ID with the smallest key.
+     *
+     * @return The ID at the top of the heap.
+     */
+    int Peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot peek at an empty heap.");
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * Removes the ID with the smallest key.
+     *
+     * @return The ID that was removed.
+     */
+    int Pop() {
+        int id = Peek();
+        Remove(id);
+        return id;
+    }
+
+    /**
+     * Removes an ID from the heap.
+     *
+     * @param id The ID to remove.
+     * @return True if it was in the heap.
+     */
+    boolean Remove(int id) {
+        int slot = positions[id];
+
+        if (slot < 0) {
+            return false;
+        }
+
+        int last = heap[--size];
+        positions[id] = -1;
+
+        if (slot < size) {
+            heap[slot] = last;
+            positions[last] = slot;
+            SiftDown(slot);
+            SiftUp(positions[last]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the IDs with the smallest keys without removing them.  Walks only the part
+     * of the heap that can hold them, which is O(count^2) and independent of the size
+     * of the heap.
+     *
+     * @param count How many IDs to find.
+     * @param out Receives the IDs, smallest key first.
+     * @return The number of IDs written, which is less than count only if the heap
+     *         holds fewer IDs.
+     */
+    int PeekSmallest(int count, int[] out) {
+        // The smallest keys are found one at a time among a frontier of slots whose
+        // parents have already been taken.  Each step takes one slot and adds at most
+        // two, so the frontier never holds more than count + 1.
+        int[] frontier = new int[count + 1];
+        int frontierSize = 0;
+        int found = 0;
+
+        if (size > 0) {
+            frontier[frontierSize++] = 0;
+        }
+
+        while(found < count && frontierSize > 0) {
+            int best = 0;
+            for(int i = 1; i < frontierSize; i++) {
+                if (keys[heap[frontier[i]]] < keys[heap[frontier[best]]]) {
+                    best = i;
+                }
+            }
+
+            int slot = frontier[best];
+            out[found++] = heap[slot];
+            frontier[best] = frontier[--frontierSize];
+
+            for(int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                frontier[frontierSize++] = child;
+            }
+        }
+
+        return found;
+    }
+
+    private void SiftUp(int slot) {
+        int id = heap[slot];
+        long key = keys[id];
+
+        while(slot > 0) {
+            int parent = (slot - 1) / 2;
+            int parentId = heap[parent];
+
+            if (keys[parentId] <= key) {
+                break;
+            }
+
+            heap[slot] = parentId;
+            positions[parentId] = slot;
+            slot = parent;
+        }
+
+        heap[slot] = id;
+        positions[id] = slot;
+    }
+
+    private void SiftDown(int slot) {
+        int id = heap[slot];
+        long key = keys[id];
+
+        while(true) {
+            int child = 2 * slot + 1;
+
+            if (child >= size) {
+                break;
+            }
+
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+
+            int childId = heap[child];
+            if (keys[childId] >= key) {
+                break;
+            }
+
+            heap[slot] = childId;
+            positions[childId] = slot;
+            slot = child;
+        }
+
+        heap[slot] = id;
+        positions[id] = slot;
+    }
+}
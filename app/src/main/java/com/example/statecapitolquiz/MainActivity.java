@@ -3,12 +3,20 @@ package com.example.statecapitolquiz;
 import androidx.appcompat.app.AppCompatActivity;
 import android.content.Intent;
 import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.CheckBox;
 import android.widget.Spinner;
 
+import java.io.IOException;
+
 /**
  * The MainActivity for StateCapitolQuiz.  Displays the title screen and queries
- * the user as to how many state capitols they want to be quizzed on.
+ * the user as to which deck they want to play, which way round the questions should
+ * be asked, how many questions they want to be quizzed on and how many answers each
+ * question should offer.
  */
 public class MainActivity extends AppCompatActivity {
     /**
@@ -21,6 +29,56 @@ public class MainActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+
+        Spinner deckSpinner = findViewById(R.id.spinner_deck);
+        deckSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                WarmDeck(Deck.values()[position]);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        });
+
+        // Any selection saved before a configuration change is restored after this.
+        SelectValue((Spinner) findViewById(R.id.spinner_number_of_answers),
+                AnswerCounts.DEFAULT.getChoiceCount());
+        SelectValue((Spinner) findViewById(R.id.spinner_number_of_correct_answers),
+                AnswerCounts.DEFAULT.getCheckBoxTargetCount());
+    }
+
+    /**
+     * Offers the metrics screen in debug builds.
+     *
+     * @param menu The options menu.
+     * @return True if the menu should be shown.
+     */
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        if (!BuildConfig.DEBUG) {
+            return false;
+        }
+
+        getMenuInflater().inflate(R.menu.menu_main, menu);
+        return true;
+    }
+
+    /**
+     * Opens the metrics screen when it's picked from the menu.
+     *
+     * @param item The menu item picked.
+     * @return True if the item was handled.
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.menu_metrics) {
+            startActivity(new Intent(this, MetricsActivity.class));
+            return true;
+        }
+
+        return super.onOptionsItemSelected(item);
     }
 
     /**
@@ -30,15 +88,70 @@ public class MainActivity extends AppCompatActivity {
      * @param view The parent view from which this function was executed.
      */
     public void activity_main_NextOnClick(@SuppressWarnings("UnusedParameters") View view) {
+        Spinner deckSpinner = findViewById(R.id.spinner_deck);
+        Spinner directionSpinner = findViewById(R.id.spinner_direction);
         Spinner questionCountSpinner = findViewById(R.id.spinner_number_of_questions);
+        Spinner answerCountSpinner = findViewById(R.id.spinner_number_of_answers);
+        Spinner correctAnswerCountSpinner = findViewById(R.id.spinner_number_of_correct_answers);
 
         int questionCount = Integer.parseInt(questionCountSpinner.getSelectedItem().toString());
+        int answerCount = Integer.parseInt(answerCountSpinner.getSelectedItem().toString());
+        // Every check box question has to offer at least one wrong answer.
+        int correctAnswerCount = Math.min(Integer.parseInt(correctAnswerCountSpinner.getSelectedItem().toString()),
+                answerCount - 1);
+        CheckBox hardModeCheckBox = findViewById(R.id.checkbox_hard_mode);
+        CheckBox hintPenaltyCheckBox = findViewById(R.id.checkbox_hint_penalty);
+        CheckBox spacedRepetitionCheckBox = findViewById(R.id.checkbox_spaced_repetition);
+        QuizMode mode = spacedRepetitionCheckBox.isChecked() ? QuizMode.SPACED_REPETITION : QuizMode.RANDOM;
 
         // Invoke the QuestionActivity.
         Intent intent = new Intent(this, QuestionCoordinatorActivity.class);
         intent.putExtra("callingActivity", ActivityConstants.MAIN_ACTIVITY);
+        intent.putExtra("deck", Deck.values()[deckSpinner.getSelectedItemPosition()]);
+        intent.putExtra("direction", QuizDirection.values()[directionSpinner.getSelectedItemPosition()]);
         intent.putExtra("questionCount", questionCount);
+        intent.putExtra("answerCount", answerCount);
+        intent.putExtra("correctAnswerCount", correctAnswerCount);
+        intent.putExtra("hardMode", hardModeCheckBox.isChecked());
+        intent.putExtra("hintPenalty", hintPenaltyCheckBox.isChecked());
+        intent.putExtra("quizMode", mode);
 
         startActivity(intent);
     }
+
+    /**
+     * Selects the item of a spinner of numbers that shows the given value.  Leaves the
+     * selection alone if none does.
+     *
+     * @param spinner The spinner.
+     * @param value The number to select.
+     */
+    private static void SelectValue(Spinner spinner, int value) {
+        for(int i = 0; i < spinner.getCount(); i++) {
+            if (Integer.parseInt(spinner.getItemAtPosition(i).toString()) == value) {
+                spinner.setSelection(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loads a deck into the shared DeckCache on its loader thread as soon as it's
+     * picked, so that starting the quiz finds it ready.  Does no I/O if the deck is
+     * already cached.
+     *
+     * @param deck The deck picked.
+     */
+    private static void WarmDeck(final Deck deck) {
+        DeckCache.getLoader().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    DeckCache.getShared().Get(deck);
+                } catch (IOException e) {
+                    // The quiz reports it if the deck still can't be loaded on start.
+                }
+            }
+        });
+    }
 }
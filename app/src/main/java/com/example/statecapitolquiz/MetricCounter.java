@@ -0,0 +1,41 @@
+package com.example.statecapitolquiz;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named count of events, safe to increment from any thread without locking.
+ */
+final class MetricCounter {
+    private final String name;
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param name The counter's name in reports.
+     */
+    MetricCounter(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long get() {
+        return count.get();
+    }
+
+    void Increment() {
+        count.incrementAndGet();
+    }
+
+    void Add(long amount) {
+        count.addAndGet(amount);
+    }
+
+    void Reset() {
+        count.set(0);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.statecapitolquiz;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values, such as latencies, with a fixed set of buckets
+ * laid out the way HdrHistogram does it: values below 32 get a bucket each, and every
+ * power of two above that is split into 16 equal buckets, so any recorded value is
+ * known to within about 6%.  Values up to 2^40 are tracked; larger ones land in the
+ * last bucket.
+ *
+ * Recording is a couple of atomic increments with no locking and no allocation, so
+ * it's cheap enough to leave on in release builds and safe from any thread.  Reading
+ * while values are being recorded gives figures that may be a few values behind.
+ */
+final class MetricHistogram {
+    /**
+     * Values below 2^SUB_BUCKET_BITS get a bucket each.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int LINEAR_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets each power of two above LINEAR_BUCKETS is split into.
+     */
+    private static final int SUB_BUCKETS = LINEAR_BUCKETS / 2;
+
+    /**
+     * Values of 2^MAX_MAGNITUDE and over are counted in the last bucket.
+     */
+    private static final int MAX_MAGNITUDE = 40;
+
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+
+    /**
+     * The unit the values are recorded in, for reports.
+     */
+    private final String unit;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param name The histogram's name in reports.
+     * @param unit The unit values are recorded in, such as "us" or "ms".
+     */
+    MetricHistogram(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value; negative values are recorded as 0.
+     */
+    void Record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+
+        counts.incrementAndGet(BucketOf(value));
+        sum.addAndGet(value);
+
+        long previous = max.get();
+        while(value > previous && !max.compareAndSet(previous, value)) {
+            previous = max.get();
+        }
+    }
+
+    /**
+     * Records the time since a start time, in microseconds.
+     *
+     * @param startNanos The start time, from System.nanoTime().
+     */
+    void RecordMicrosSince(long startNanos) {
+        Record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * The number of values recorded.
+     *
+     * @return The count.
+     */
+    long getCount() {
+        long count = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    long getSum() {
+        return sum.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * The value below which a given fraction of the recorded values fall.
+     *
+     * @param fraction From 0 to 1, such as 0.99 for the 99th percentile.
+     * @return The highest value in the bucket that holds the percentile, but no more
+     *         than the largest value recorded.  0 if nothing has been recorded.
+     */
+    long ValueAtPercentile(double fraction) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+
+            if (seen >= rank) {
+                return Math.min(HighestValueIn(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void Reset() {
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * The bucket a value is counted in.
+     *
+     * @param value A non-negative value.
+     * @return The bucket's index.
+     */
+    static int BucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+
+        // The top SUB_BUCKET_BITS bits of the value, leading one included, pick the
+        // bucket within the power of two.
+        int shift = magnitude - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * The smallest value counted in a bucket.
+     *
+     * @param bucket The bucket's index.
+     * @return The value.
+     */
+    static long LowestValueIn(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int octave = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        int shift = octave + 1;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    /**
+     * The largest value counted in a bucket.
+     *
+     * @param bucket The bucket's index.
+     * @return The value; Long.MAX_VALUE for the last bucket.
+     */
+    static long HighestValueIn(int bucket) {
+        if (bucket == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+
+        return LowestValueIn(bucket + 1) - 1;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.statecapitolquiz;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * The app's metrics: counters and latency histograms for each phase of asking a
+ * question, from drawing it to the user's answer.  They're recorded all the time,
+ * release builds included, and can be viewed in the MetricsActivity or written to a
+ * file.
+ *
+ * Wall clock phases are recorded in microseconds, and the user's think time in
+ * milliseconds.
+ */
+final class Metrics {
+    /**
+     * Drawing the next question on the prefetch thread.
+     */
+    static final MetricHistogram QUESTION_PREPARE = new MetricHistogram("question.prepare", "us");
+
+    /**
+     * Handing the next question over when "Next Question" is tapped, including any
+     * wait for the prefetch.
+     */
+    static final MetricHistogram QUESTION_HANDOFF = new MetricHistogram("question.handoff", "us");
+
+    /**
+     * Binding a question to its page, by QuestionType ordinal.
+     */
+    static final MetricHistogram[] QUESTION_BIND = BindHistograms();
+
+    /**
+     * From the "Next Question" tap to the first frame of the new question.
+     */
+    static final MetricHistogram QUESTION_FIRST_FRAME = new MetricHistogram("question.first_frame", "us");
+
+    /**
+     * Deciding whether an answer is right and showing the result.
+     */
+    static final MetricHistogram ANSWER_CHECK = new MetricHistogram("answer.check", "us");
+
+    /**
+     * How long the user takes to check their answer after a question is shown.
+     */
+    static final MetricHistogram THINK_TIME = new MetricHistogram("answer.think_time", "ms");
+
+    /**
+     * From the last answer to the SummaryActivity being created.
+     */
+    static final MetricHistogram SUMMARY_HANDOFF = new MetricHistogram("summary.handoff", "ms");
+
+    /**
+     * Creating the SummaryActivity's content.
+     */
+    static final MetricHistogram SUMMARY_CREATE = new MetricHistogram("summary.create", "us");
+
+    static final MetricCounter SESSIONS_STARTED = new MetricCounter("sessions.started");
+
+    static final MetricCounter SESSIONS_RESTORED = new MetricCounter("sessions.restored");
+
+    static final MetricCounter QUESTIONS_ANSWERED = new MetricCounter("questions.answered");
+
+    static final MetricCounter ANSWERS_CORRECT = new MetricCounter("answers.correct");
+
+    static final MetricCounter HINTS_USED = new MetricCounter("answers.hints_used");
+
+    /**
+     * "Next Question" taps that found the next question already prepared.
+     */
+    static final MetricCounter PREFETCH_HITS = new MetricCounter("prefetch.hits");
+
+    /**
+     * "Next Question" taps that had to draw the question there and then.
+     */
+    static final MetricCounter PREFETCH_MISSES = new MetricCounter("prefetch.misses");
+
+    private static final MetricCounter[] COUNTERS = {
+        SESSIONS_STARTED, SESSIONS_RESTORED, QUESTIONS_ANSWERED, ANSWERS_CORRECT, HINTS_USED,
+        PREFETCH_HITS, PREFETCH_MISSES
+    };
+
+    private static final MetricHistogram[] HISTOGRAMS = AllHistograms();
+
+    private Metrics() {
+    }
+
+    /**
+     * Formats every metric as text: one line per counter, and one per histogram with
+     * its count, mean, 50th, 90th and 99th percentiles and maximum.
+     *
+     * @return The report.
+     */
+    static String Report() {
+        StringBuilder report = new StringBuilder();
+
+        for(MetricCounter counter : COUNTERS) {
+            report.append(String.format(Locale.US, "%-26s %d%n", counter.getName(), counter.get()));
+        }
+
+        report.append(String.format(Locale.US, "%n%-26s %7s %7s %7s %7s %7s %7s%n",
+                "histogram", "count", "mean", "p50", "p90", "p99", "max"));
+
+        for(MetricHistogram histogram : HISTOGRAMS) {
+            long count = histogram.getCount();
+            report.append(String.format(Locale.US, "%-26s %7d %7d %7d %7d %7d %7d %s%n",
+                    histogram.getName(), count,
+                    count == 0 ? 0 : histogram.getSum() / count,
+                    histogram.ValueAtPercentile(0.5),
+                    histogram.ValueAtPercentile(0.9),
+                    histogram.ValueAtPercentile(0.99),
+                    histogram.getMax(),
+                    histogram.getUnit()));
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file, replacing anything already there.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    static void WriteTo(File file) throws IOException {
+        Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+
+        try {
+            out.write(Report());
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Clears every counter and histogram.
+     */
+    static void Reset() {
+        for(MetricCounter counter : COUNTERS) {
+            counter.Reset();
+        }
+
+        for(MetricHistogram histogram : HISTOGRAMS) {
+            histogram.Reset();
+        }
+    }
+
+    private static MetricHistogram[] BindHistograms() {
+        QuestionType[] types = QuestionType.values();
+        MetricHistogram[] histograms = new MetricHistogram[types.length];
+
+        for(int i = 0; i < types.length; i++) {
+            histograms[i] = new MetricHistogram("question.bind." + types[i].name().toLowerCase(Locale.ROOT), "us");
+        }
+
+        return histograms;
+    }
+
+    private static MetricHistogram[] AllHistograms() {
+        MetricHistogram[] histograms = new MetricHistogram[QUESTION_BIND.length + 7];
+        int count = 0;
+
+        histograms[count++] = QUESTION_PREPARE;
+        histograms[count++] = QUESTION_HANDOFF;
+        for(MetricHistogram bind : QUESTION_BIND) {
+            histograms[count++] = bind;
+        }
+        histograms[count++] = QUESTION_FIRST_FRAME;
+        histograms[count++] = ANSWER_CHECK;
+        histograms[count++] = THINK_TIME;
+        histograms[count++] = SUMMARY_HANDOFF;
+        histograms[count++] = SUMMARY_CREATE;
+
+        return histograms;
+    }
+}
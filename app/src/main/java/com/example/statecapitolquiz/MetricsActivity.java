@@ -0,0 +1,87 @@
+package com.example.statecapitolquiz;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A debug screen showing the current Metrics, with buttons to clear them and to save
+ * them to a file in the app's files directory.  Reached from the MainActivity's menu
+ * in debug builds.
+ */
+public class MetricsActivity extends AppCompatActivity {
+    /**
+     * The name of the file the metrics are saved to.
+     */
+    private static final String METRICS_FILE_NAME = "metrics.txt";
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metrics);
+    }
+
+    /**
+     * Refreshes the report whenever the screen comes back into view.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        ShowReport();
+    }
+
+    /**
+     * Handles the Reset button by clearing every metric.
+     *
+     * @param view The button.
+     */
+    public void activity_metrics_ResetOnClick(@SuppressWarnings("UnusedParameters") View view) {
+        Metrics.Reset();
+        ShowReport();
+    }
+
+    /**
+     * Handles the Save button by writing the report to a file, off the main thread.
+     *
+     * @param view The button.
+     */
+    public void activity_metrics_SaveOnClick(@SuppressWarnings("UnusedParameters") View view) {
+        final File file = new File(getFilesDir(), METRICS_FILE_NAME);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean saved;
+
+                try {
+                    Metrics.WriteTo(file);
+                    saved = true;
+                } catch (IOException e) {
+                    saved = false;
+                }
+
+                final String status = saved
+                        ? getResources().getString(R.string.status_metrics_saved, file.getAbsolutePath())
+                        : getResources().getString(R.string.status_metrics_not_saved);
+
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Toast.makeText(getApplicationContext(), status, Toast.LENGTH_LONG).show();
+                    }
+                });
+            }
+        }, "MetricsSave").start();
+    }
+
+    private void ShowReport() {
+        TextView tv = findViewById(R.id.metrics_text);
+        tv.setText(Metrics.Report());
+    }
+}
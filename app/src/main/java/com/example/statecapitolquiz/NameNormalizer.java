@@ -0,0 +1,209 @@
+package com.example.statecapitolquiz;
+
+/**
+ * NameNormalizer turns a typed answer into a canonical form so that small
+ * differences in how a name is written don't matter.  The normalized form is lower
+ * case, has accents removed, treats punctuation as a word break, drops apostrophes,
+ * collapses runs of spaces, has no leading or trailing space, and spells out common
+ * abbreviations.  "  St. Paul", "saint paul" and "Saint-Paul" all become "saint paul".
+ *
+ * The result is written into a char buffer owned by the normalizer, which is reused
+ * from call to call, so normalizing doesn't allocate once the buffer is big enough.
+ * A normalizer must therefore only be used from one thread at a time.
+ */
+final class NameNormalizer {
+    /**
+     * The unaccented lower case letter for each character from U+00C0 to U+017F, or a
+     * space where there's no single letter equivalent.
+     */
+    private static final String FOLD_TABLE =
+            "aaaaaa ceeeeiiiidnooooo ouuuuy  " +  // U+00C0
+            "aaaaaa ceeeeiiiidnooooo ouuuuy y" +  // U+00E0
+            "aaaaaaccccccccddddeeeeeeeeeegggg" +  // U+0100
+            "gggghhhhiiiiiiiiii  jjkkqlllllll" +  // U+0120
+            "lllnnnnnnnnnoooooo  rrrrrrssssss" +  // U+0140
+            "ssttttttuuuuuuuuuuuuwwyyyzzzzzzs";   // U+0160
+
+    /**
+     * The first character covered by FOLD_TABLE.
+     */
+    private static final char FOLD_TABLE_START = '\u00c0';
+
+    /**
+     * Abbreviations that are spelled out, as pairs of abbreviation and expansion.
+     * They only apply to whole words.
+     */
+    private static final String[] ABBREVIATIONS = {
+        "st", "saint",
+        "ste", "sainte",
+        "ft", "fort",
+        "mt", "mount",
+        "n", "north",
+        "s", "south",
+        "e", "east",
+        "w", "west"
+    };
+
+    /**
+     * Holds the most recent normalized name.  Grown as needed.
+     */
+    private char[] buffer = new char[64];
+
+    /**
+     * Normalizes a name into the internal buffer.
+     *
+     * @param input The name to normalize.
+     * @return The length of the normalized name, which occupies getBuffer()[0] onwards.
+     */
+    int Normalize(CharSequence input) {
+        int length = 0;
+        int wordStart = 0;
+        int inputLength = input.length();
+
+        // At worst a character becomes three (a space and a ligature, or a one letter
+        // abbreviation and its separator expanded); grow up front so the loop doesn't
+        // need to check.
+        EnsureCapacity(inputLength * 3 + 8);
+
+        for(int i = 0; i < inputLength; i++) {
+            char c = input.charAt(i);
+
+            if (c == '\'' || c == '\u2019' || c == '\u02bc' || c == '`') {
+                // Apostrophes join the letters around them: "Coeur d'Alene" -> "coeur dalene".
+                continue;
+            }
+
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            } else if (c >= FOLD_TABLE_START && c < FOLD_TABLE_START + FOLD_TABLE.length()) {
+                char folded = FOLD_TABLE.charAt(c - FOLD_TABLE_START);
+
+                if (folded == ' ') {
+                    String letters = Ligature(c);
+
+                    if (letters == null) {
+                        length = EndWord(wordStart, length);
+                        wordStart = length;
+                        continue;
+                    }
+
+                    if (length == wordStart && length > 0) {
+                        buffer[length++] = ' ';
+                        wordStart = length;
+                    }
+
+                    buffer[length++] = letters.charAt(0);
+                    buffer[length++] = letters.charAt(1);
+                    continue;
+                }
+
+                c = folded;
+            } else if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9')) {
+                if (Character.isLetterOrDigit(c)) {
+                    c = Character.toLowerCase(c);
+                } else {
+                    // Anything else ends the current word.
+                    length = EndWord(wordStart, length);
+                    wordStart = length;
+                    continue;
+                }
+            }
+
+            if (length == wordStart && length > 0) {
+                buffer[length++] = ' ';
+                wordStart = length;
+            }
+
+            buffer[length++] = c;
+        }
+
+        return EndWord(wordStart, length);
+    }
+
+    /**
+     * Accessor for the buffer holding the most recently normalized name.
+     *
+     * @return The buffer.  Only the first Normalize() characters are meaningful.
+     */
+    char[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Convenience for building indexes: normalizes a name into a new String.
+     *
+     * @param input The name to normalize.
+     * @return The normalized name.
+     */
+    String NormalizeToString(CharSequence input) {
+        int length = Normalize(input);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Finishes the word running from wordStart to length, expanding it if it's an
+     * abbreviation.
+     *
+     * @return The new length of the normalized name.
+     */
+    private int EndWord(int wordStart, int length) {
+        int wordLength = length - wordStart;
+
+        if (wordLength == 0) {
+            return length;
+        }
+
+        for(int i = 0; i < ABBREVIATIONS.length; i += 2) {
+            String abbreviation = ABBREVIATIONS[i];
+
+            if (abbreviation.length() == wordLength && RegionMatches(wordStart, abbreviation)) {
+                String expansion = ABBREVIATIONS[i + 1];
+                EnsureCapacity(wordStart + expansion.length() + 1);
+                expansion.getChars(0, expansion.length(), buffer, wordStart);
+                return wordStart + expansion.length();
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * The letters a ligature stands for, such as "ae" for U+00E6.
+     *
+     * @return The two letters, or null if the character isn't a ligature.
+     */
+    private static String Ligature(char c) {
+        switch(c) {
+            case '\u00c6': case '\u00e6': return "ae";
+            case '\u00de': case '\u00fe': return "th";
+            case '\u00df': return "ss";
+            case '\u0132': case '\u0133': return "ij";
+            case '\u0152': case '\u0153': return "oe";
+            default: return null;
+        }
+    }
+
+    /**
+     * Compares part of the buffer with a string.
+     */
+    private boolean RegionMatches(int start, String text) {
+        for(int i = 0; i < text.length(); i++) {
+            if (buffer[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Grows the buffer if it can't hold the given number of characters.
+     */
+    private void EnsureCapacity(int capacity) {
+        if (buffer.length < capacity) {
+            char[] grown = new char[Math.max(capacity, buffer.length * 2)];
+            System.arraycopy(buffer, 0, grown, 0, buffer.length);
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.statecapitolquiz;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * NeighborIndex holds, for every entry in a QuestionBank, the IDs of the entries whose
+ * answers are most easily confused with it.  It's what "hard mode" draws its
+ * distractors from: Columbia next to Columbus, Concord next to Columbus, or
+ * capitols from the same part of the country.
+ *
+ * Scoring every pair of entries would be far too slow for a large deck, so the index
+ * is built once per bank.  Entries are only compared with those that share at least
+ * one uncommon run of three characters (trigram) in their answer, or that are in the
+ * same small group.  The top K neighbors of each entry are stored back to back in a
+ * single int array, so looking them up is constant time.
+ */
+final class NeighborIndex {
+    /**
+     * The number of neighbors kept for each entry.
+     */
+    static final int DEFAULT_NEIGHBOR_COUNT = 8;
+
+    /**
+     * Trigrams shared by more entries than this are too common to say anything about
+     * similarity and are ignored when looking for candidates.  This is what keeps the
+     * build close to linear in the size of the deck.
+     */
+    private static final int MAX_POSTING_LENGTH = 200;
+
+    /**
+     * Groups with more members than this aren't used to find candidates, although
+     * membership still adds to the score of candidates found through trigrams.
+     */
+    private static final int MAX_GROUP_CANDIDATES = 200;
+
+    /**
+     * Added to the score of two entries in the same group.
+     */
+    private static final float SAME_GROUP_BONUS = 0.5f;
+
+    /**
+     * Marks the start and end of a name, so that shared beginnings and endings count.
+     */
+    private static final char BOUNDARY = '\u0000';
+
+    /**
+     * The index for the bank most recently asked for through ForBank().
+     */
+    private static NeighborIndex cached = null;
+
+    /**
+     * The bank the cached index was built for.
+     */
+    private static QuestionBank cachedBank = null;
+
+    /**
+     * The number of neighbor slots per entry.
+     */
+    private final int neighborCount;
+
+    /**
+     * Entry i's neighbors, best first, are neighbors[i * neighborCount] onwards.
+     * Unused slots hold -1.
+     */
+    private final int[] neighbors;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param neighborCount The number of neighbor slots per entry.
+     * @param neighbors The flattened neighbor table.
+     */
+    private NeighborIndex(int neighborCount, int[] neighbors) {
+        this.neighborCount = neighborCount;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Returns the index for the given bank, building it the first time the bank is
+     * seen.  Only the most recently used bank's index is kept.
+     *
+     * @param bank The bank to get the index for.
+     * @return The bank's NeighborIndex.
+     */
+    static synchronized NeighborIndex ForBank(QuestionBank bank) {
+        if (cached == null || cachedBank != bank) {
+            cached = Build(bank, DEFAULT_NEIGHBOR_COUNT, UsRegions.ForBank(bank));
+            cachedBank = bank;
+        }
+
+        return cached;
+    }
+
+    /**
+     * The number of neighbor slots per entry.
+     *
+     * @return The K this index was built with.
+     */
+    int getNeighborCount() {
+        return neighborCount;
+    }
+
+    /**
+     * Accessor for one of an entry's neighbors.
+     *
+     * @param id The entry.
+     * @param rank 0 for the most similar neighbor, up to getNeighborCount() - 1.
+     * @return The neighbor's ID, or -1 if the entry has fewer neighbors than that.
+     */
+    int getNeighbor(int id, int rank) {
+        return neighbors[id * neighborCount + rank];
+    }
+
+    /**
+     * Builds the index for a bank.
+     *
+     * @param bank The bank to index.
+     * @param neighborCount How many neighbors to keep for each entry.
+     * @param groups Optional group number for each entry, such as the region of the
+     *               country a state is in; -1 means no group.  May be null.
+     * @return The completed NeighborIndex.
+     */
+    static NeighborIndex Build(QuestionBank bank, int neighborCount, int[] groups) {
+        int size = bank.size();
+
+        // Work out every entry's distinct trigrams and give each trigram a dense ID.
+        // The name is padded with a boundary marker on both sides.
+        HashMap<Long, Integer> trigramIds = new HashMap<>();
+        int[][] entryTrigrams = new int[size][];
+        int[] scratch = new int[64];
+
+        for(int id = 0; id < size; id++) {
+            String name = QuizCatalog.FoldCase(bank.getCapitolName(id));
+            int count = 0;
+
+            for(int i = -1; i < name.length() - 1; i++) {
+                long key = ((long) CharAt(name, i) << 32)
+                        | ((long) CharAt(name, i + 1) << 16)
+                        | CharAt(name, i + 2);
+                Integer trigramId = trigramIds.get(key);
+
+                if (trigramId == null) {
+                    trigramId = trigramIds.size();
+                    trigramIds.put(key, trigramId);
+                }
+
+                if (count == scratch.length) {
+                    scratch = Arrays.copyOf(scratch, count * 2);
+                }
+                scratch[count++] = trigramId;
+            }
+
+            entryTrigrams[id] = Distinct(scratch, count);
+        }
+
+        // Turn that into a posting list per trigram: the entries containing it.
+        int trigramCount = trigramIds.size();
+        int[] postingStart = new int[trigramCount + 1];
+        for(int[] trigrams : entryTrigrams) {
+            for(int trigram : trigrams) {
+                postingStart[trigram + 1]++;
+            }
+        }
+        for(int i = 0; i < trigramCount; i++) {
+            postingStart[i + 1] += postingStart[i];
+        }
+        int[] postings = new int[postingStart[trigramCount]];
+        int[] fill = Arrays.copyOf(postingStart, trigramCount);
+        for(int id = 0; id < size; id++) {
+            for(int trigram : entryTrigrams[id]) {
+                postings[fill[trigram]++] = id;
+            }
+        }
+
+        int[][] groupMembers = BuildGroupMembers(groups, size);
+
+        // Score each entry against its candidates and keep the best few.
+        int[] neighbors = new int[size * neighborCount];
+        Arrays.fill(neighbors, -1);
+        float[] bestScores = new float[neighborCount];
+        int[] shared = new int[size];
+        int[] touched = new int[size];
+
+        for(int id = 0; id < size; id++) {
+            int touchedCount = 0;
+            int rarest = -1;
+
+            for(int trigram : entryTrigrams[id]) {
+                int start = postingStart[trigram];
+                int end = postingStart[trigram + 1];
+
+                if (rarest < 0 || end - start < postingStart[rarest + 1] - postingStart[rarest]) {
+                    rarest = trigram;
+                }
+
+                if (end - start > MAX_POSTING_LENGTH) {
+                    continue;
+                }
+
+                touchedCount = Touch(postings, start, end, id, shared, touched, touchedCount);
+            }
+
+            // If every trigram was too common to use, fall back to part of the rarest
+            // one so that the entry still gets some neighbors.
+            if (touchedCount == 0 && rarest >= 0) {
+                int start = postingStart[rarest];
+                int end = Math.min(postingStart[rarest + 1], start + MAX_POSTING_LENGTH);
+                touchedCount = Touch(postings, start, end, id, shared, touched, touchedCount);
+            }
+
+            int group = groups == null ? -1 : groups[id];
+            if (group >= 0 && groupMembers[group].length <= MAX_GROUP_CANDIDATES) {
+                for(int other : groupMembers[group]) {
+                    if (other != id && shared[other] == 0) {
+                        // Mark the entry as touched without claiming a shared trigram.
+                        shared[other] = -1;
+                        touched[touchedCount++] = other;
+                    }
+                }
+            }
+
+            Arrays.fill(bestScores, Float.NEGATIVE_INFINITY);
+            int base = id * neighborCount;
+
+            for(int t = 0; t < touchedCount; t++) {
+                int other = touched[t];
+                int sharedTrigrams = Math.max(shared[other], 0);
+                float score = 2f * sharedTrigrams / (entryTrigrams[id].length + entryTrigrams[other].length);
+
+                if (group >= 0 && groups[other] == group) {
+                    score += SAME_GROUP_BONUS;
+                }
+
+                Insert(neighbors, base, bestScores, neighborCount, other, score);
+                shared[other] = 0;
+            }
+        }
+
+        return new NeighborIndex(neighborCount, neighbors);
+    }
+
+    /**
+     * Counts one shared trigram for every entry in a posting list, remembering which
+     * entries have been touched.
+     *
+     * @return The new number of touched entries.
+     */
+    private static int Touch(int[] postings, int start, int end, int id, int[] shared, int[] touched,
+                             int touchedCount) {
+        for(int p = start; p < end; p++) {
+            int other = postings[p];
+
+            if (other != id && shared[other]++ == 0) {
+                touched[touchedCount++] = other;
+            }
+        }
+
+        return touchedCount;
+    }
+
+    /**
+     * The character at a position of a name, or the boundary marker past either end.
+     */
+    private static char CharAt(String name, int index) {
+        return index < 0 || index >= name.length() ? BOUNDARY : name.charAt(index);
+    }
+
+    /**
+     * Inserts a candidate into an entry's best-first neighbor list if it scores well
+     * enough, pushing the worst neighbor out.
+     */
+    private static void Insert(int[] neighbors, int base, float[] bestScores, int neighborCount,
+                               int candidate, float score) {
+        if (score <= bestScores[neighborCount - 1]) {
+            return;
+        }
+
+        int slot = neighborCount - 1;
+        while(slot > 0 && bestScores[slot - 1] < score) {
+            bestScores[slot] = bestScores[slot - 1];
+            neighbors[base + slot] = neighbors[base + slot - 1];
+            slot--;
+        }
+
+        bestScores[slot] = score;
+        neighbors[base + slot] = candidate;
+    }
+
+    /**
+     * Lists the members of every group.
+     *
+     * @return For each group number, the IDs in that group.  Empty if groups is null.
+     */
+    private static int[][] BuildGroupMembers(int[] groups, int size) {
+        if (groups == null) {
+            return new int[0][];
+        }
+
+        int groupCount = 0;
+        for(int i = 0; i < size; i++) {
+            groupCount = Math.max(groupCount, groups[i] + 1);
+        }
+
+        int[] sizes = new int[groupCount];
+        for(int i = 0; i < size; i++) {
+            if (groups[i] >= 0) {
+                sizes[groups[i]]++;
+            }
+        }
+
+        int[][] members = new int[groupCount][];
+        for(int g = 0; g < groupCount; g++) {
+            members[g] = new int[sizes[g]];
+            sizes[g] = 0;
+        }
+
+        for(int i = 0; i < size; i++) {
+            if (groups[i] >= 0) {
+                members[groups[i]][sizes[groups[i]]++] = i;
+            }
+        }
+
+        return members;
+    }
+
+    /**
+     * Returns the distinct values of values[0] through values[count - 1].
+     */
+    private static int[] Distinct(int[] values, int count) {
+        int[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+
+        int distinct = 0;
+        for(int i = 0; i < count; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+
+        return Arrays.copyOf(sorted, distinct);
+    }
+}
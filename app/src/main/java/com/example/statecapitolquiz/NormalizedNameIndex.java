@@ -0,0 +1,196 @@
+package com.example.statecapitolquiz;
+
+/**
+ * NormalizedNameIndex maps normalized names (see NameNormalizer) to QuestionBank IDs.
+ * All of the names are stored back to back in one char array and looked up through an
+ * open addressing hash table of IDs, so a lookup straight from a NameNormalizer's
+ * buffer neither allocates nor creates a String.
+ */
+final class NormalizedNameIndex {
+    /**
+     * Every normalized name, back to back.
+     */
+    private final char[] heap;
+
+    /**
+     * Name i occupies heap[offsets[i]] up to heap[offsets[i + 1]].
+     */
+    private final int[] offsets;
+
+    /**
+     * Open addressing hash table.  Each slot holds an ID plus one, or 0 when empty.
+     */
+    private final int[] slots;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param heap The names, back to back.
+     * @param offsets Where each name starts in the heap, plus one final end offset.
+     * @param slots The filled hash table.
+     */
+    private NormalizedNameIndex(char[] heap, int[] offsets, int[] slots) {
+        this.heap = heap;
+        this.offsets = offsets;
+        this.slots = slots;
+    }
+
+    /**
+     * Builds an index over the capitol names of a bank.
+     *
+     * @param bank The bank to index.
+     * @param normalizer The normalizer to put the names through.
+     * @return The completed index.
+     */
+    static NormalizedNameIndex ForCapitols(QuestionBank bank, NameNormalizer normalizer) {
+        int size = bank.size();
+        int[] offsets = new int[size + 1];
+        char[] heap = new char[Math.max(size * 12, 16)];
+        int heapLength = 0;
+
+        for(int id = 0; id < size; id++) {
+            int length = normalizer.Normalize(bank.getCapitolName(id));
+
+            if (heapLength + length > heap.length) {
+                char[] grown = new char[Math.max(heap.length * 2, heapLength + length)];
+                System.arraycopy(heap, 0, grown, 0, heapLength);
+                heap = grown;
+            }
+
+            System.arraycopy(normalizer.getBuffer(), 0, heap, heapLength, length);
+            offsets[id] = heapLength;
+            heapLength += length;
+        }
+        offsets[size] = heapLength;
+
+        // Keep the table at most half full so probe sequences stay short.
+        int tableSize = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+        int[] slots = new int[Math.max(tableSize, 2)];
+        NormalizedNameIndex index = new NormalizedNameIndex(heap, offsets, slots);
+
+        for(int id = 0; id < size; id++) {
+            index.Insert(id);
+        }
+
+        return index;
+    }
+
+    /**
+     * The number of names in the index.
+     *
+     * @return The number of names, which is the size of the bank it was built from.
+     */
+    int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Accessor for the heap holding every normalized name.  Used with getStart() and
+     * getLength() to read a name without copying it.
+     *
+     * @return The shared heap.  Must not be modified.
+     */
+    char[] getHeap() {
+        return heap;
+    }
+
+    /**
+     * Where the normalized name of an ID starts in the heap.
+     *
+     * @param id The ID.
+     * @return The offset of its first character.
+     */
+    int getStart(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * The length of the normalized name of an ID.
+     *
+     * @param id The ID.
+     * @return The number of characters in its normalized name.
+     */
+    int getLength(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Looks up a normalized name.
+     *
+     * @param key The buffer holding the name.
+     * @param length The length of the name, which starts at key[0].
+     * @return The ID with that normalized name, or -1 if there isn't one.  If several
+     *         entries normalize to the same name the lowest ID is returned.
+     */
+    int Find(char[] key, int length) {
+        int mask = slots.length - 1;
+
+        for(int slot = Hash(key, 0, length) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+
+            if (entry == 0) {
+                return -1;
+            }
+
+            if (Equals(entry - 1, key, 0, length)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Adds an ID to the hash table unless an earlier ID has the same name.
+     */
+    private void Insert(int id) {
+        int mask = slots.length - 1;
+        int start = offsets[id];
+        int length = offsets[id + 1] - start;
+
+        for(int slot = Hash(heap, start, length) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+
+            if (entry == 0) {
+                slots[slot] = id + 1;
+                return;
+            }
+
+            if (Equals(entry - 1, heap, start, length)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compares the normalized name of an ID with a range of characters.
+     */
+    private boolean Equals(int id, char[] key, int start, int length) {
+        int nameStart = offsets[id];
+
+        if (offsets[id + 1] - nameStart != length) {
+            return false;
+        }
+
+        for(int i = 0; i < length; i++) {
+            if (heap[nameStart + i] != key[start + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Hashes a range of characters, mixing the bits so that the low ones used to pick a
+     * slot are well spread.
+     */
+    private static int Hash(char[] key, int start, int length) {
+        int hash = 0;
+
+        for(int i = 0; i < length; i++) {
+            hash = 31 * hash + key[start + i];
+        }
+
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
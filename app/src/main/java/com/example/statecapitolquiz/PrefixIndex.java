@@ -0,0 +1,315 @@
+package com.example.statecapitolquiz;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * PrefixIndex completes partly typed capitol names.  The normalized names (see
+ * NameNormalizer) are sorted once, and a compressed trie is laid over the sorted
+ * order: every node covers the run of names sharing its prefix, and each edge is
+ * labelled with a stretch of the first of those names rather than a copy of it.
+ * Completing a prefix walks one edge per distinct prefix and then reads the node's
+ * run, so it takes time proportional to the length of the prefix plus the number of
+ * completions asked for, whatever the size of the deck.
+ *
+ * The index is immutable once built, so it can be shared between threads; callers
+ * normalize the prefix with their own NameNormalizer.
+ */
+final class PrefixIndex {
+    /**
+     * The indexes for the two most recently used banks, handed out by ForBank().
+     */
+    private static final BankCache<PrefixIndex> cache = new BankCache<PrefixIndex>() {
+        @Override
+        protected PrefixIndex Build(QuestionBank bank) {
+            return ForCapitols(bank);
+        }
+    };
+
+    /**
+     * The normalized names being completed.
+     */
+    private final NormalizedNameIndex names;
+
+    /**
+     * Every ID, sorted by normalized name.  A node's completions are a run of this.
+     */
+    private final int[] order;
+
+    /**
+     * The number of trie nodes.  Node 0 is the root, which covers every name.
+     */
+    private int nodeCount = 0;
+
+    /**
+     * The length of the prefix each node stands for.  A node's edge holds the
+     * characters between its parent's depth and its own.
+     */
+    private int[] depth;
+
+    /**
+     * Each node's first child, or -1.  Children are in order of their first character.
+     */
+    private int[] firstChild;
+
+    /**
+     * Each node's next sibling, or -1.
+     */
+    private int[] nextSibling;
+
+    /**
+     * The run of order[] each node covers, from rangeStart up to rangeEnd.
+     */
+    private int[] rangeStart;
+    private int[] rangeEnd;
+
+    /**
+     * Parameterized constructor.  Sorts the names and builds the trie.
+     *
+     * @param names The normalized names to complete.
+     */
+    private PrefixIndex(NormalizedNameIndex names) {
+        this.names = names;
+        this.order = SortByName(names);
+
+        int capacity = Math.max(16, order.length * 2);
+        depth = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        rangeStart = new int[capacity];
+        rangeEnd = new int[capacity];
+
+        int root = NewNode(0, 0, order.length);
+        BuildChildren(root, 0);
+    }
+
+    /**
+     * Builds a prefix index over the capitol names of a bank.
+     *
+     * @param bank The bank to index.
+     * @return The completed index.
+     */
+    static PrefixIndex ForCapitols(QuestionBank bank) {
+        return new PrefixIndex(NormalizedNameIndex.ForCapitols(bank, new NameNormalizer()));
+    }
+
+    /**
+     * Returns the index for the given bank, building it the first time the bank is
+     * seen.  The indexes for the two most recently used banks are kept.
+     *
+     * @param bank The bank to get the index for.
+     * @return The bank's PrefixIndex.
+     */
+    static PrefixIndex ForBank(QuestionBank bank) {
+        return cache.Get(bank);
+    }
+
+    /**
+     * The number of trie nodes, which is at most twice the number of names.
+     *
+     * @return The node count.
+     */
+    int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Finds the names starting with a normalized prefix, in alphabetical order with
+     * shorter names first.
+     *
+     * @param prefix The buffer holding the normalized prefix.
+     * @param length The length of the prefix, which starts at prefix[0].
+     * @param out Receives the IDs of the completions.
+     * @param max The most completions to return.
+     * @return The number of IDs written to out.
+     */
+    int Complete(char[] prefix, int length, int[] out, int max) {
+        int node = FindNode(prefix, length);
+
+        if (node < 0) {
+            return 0;
+        }
+
+        int count = Math.min(max, rangeEnd[node] - rangeStart[node]);
+        System.arraycopy(order, rangeStart[node], out, 0, count);
+        return count;
+    }
+
+    /**
+     * Counts the names starting with a normalized prefix.
+     *
+     * @param prefix The buffer holding the normalized prefix.
+     * @param length The length of the prefix.
+     * @return The number of names with that prefix.
+     */
+    int CountCompletions(char[] prefix, int length) {
+        int node = FindNode(prefix, length);
+        return node < 0 ? 0 : rangeEnd[node] - rangeStart[node];
+    }
+
+    /**
+     * Walks the trie along a prefix.
+     *
+     * @return The node covering every name with the prefix, or -1 if there are none.
+     */
+    private int FindNode(char[] prefix, int length) {
+        char[] heap = names.getHeap();
+        int node = 0;
+        int position = 0;
+
+        while(position < length) {
+            char c = prefix[position];
+            int child = firstChild[node];
+
+            while(child >= 0 && CharAt(heap, order[rangeStart[child]], position) != c) {
+                child = nextSibling[child];
+            }
+
+            if (child < 0) {
+                return -1;
+            }
+
+            // The edge's label is part of the first name the child covers.
+            int labelStart = names.getStart(order[rangeStart[child]]);
+            int edgeEnd = Math.min(depth[child], length);
+
+            for(position++; position < edgeEnd; position++) {
+                if (heap[labelStart + position] != prefix[position]) {
+                    return -1;
+                }
+            }
+
+            node = child;
+        }
+
+        return node;
+    }
+
+    /**
+     * Adds the children of a node, whose names share the first nodeDepth characters,
+     * and recursively theirs.  Names that end at the node come first in its run and get
+     * no child.
+     */
+    private void BuildChildren(int node, int nodeDepth) {
+        char[] heap = names.getHeap();
+        int end = rangeEnd[node];
+        int i = rangeStart[node];
+        int previous = -1;
+
+        while(i < end && names.getLength(order[i]) == nodeDepth) {
+            i++;
+        }
+
+        while(i < end) {
+            char c = CharAt(heap, order[i], nodeDepth);
+            int groupEnd = i + 1;
+
+            while(groupEnd < end && CharAt(heap, order[groupEnd], nodeDepth) == c) {
+                groupEnd++;
+            }
+
+            // The run is sorted, so its common prefix is that of its first and last names.
+            int childDepth = CommonPrefixLength(order[i], order[groupEnd - 1], nodeDepth + 1);
+            int child = NewNode(childDepth, i, groupEnd);
+
+            if (previous < 0) {
+                firstChild[node] = child;
+            } else {
+                nextSibling[previous] = child;
+            }
+            previous = child;
+
+            BuildChildren(child, childDepth);
+            i = groupEnd;
+        }
+    }
+
+    /**
+     * Appends a node with no children or siblings.
+     *
+     * @return The new node's number.
+     */
+    private int NewNode(int nodeDepth, int start, int end) {
+        if (nodeCount == depth.length) {
+            int capacity = nodeCount * 2;
+            depth = Arrays.copyOf(depth, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            rangeStart = Arrays.copyOf(rangeStart, capacity);
+            rangeEnd = Arrays.copyOf(rangeEnd, capacity);
+        }
+
+        depth[nodeCount] = nodeDepth;
+        firstChild[nodeCount] = -1;
+        nextSibling[nodeCount] = -1;
+        rangeStart[nodeCount] = start;
+        rangeEnd[nodeCount] = end;
+        return nodeCount++;
+    }
+
+    /**
+     * The length of the prefix two names share, given that they're known to share at
+     * least the first from characters.
+     */
+    private int CommonPrefixLength(int a, int b, int from) {
+        char[] heap = names.getHeap();
+        int aStart = names.getStart(a);
+        int bStart = names.getStart(b);
+        int limit = Math.min(names.getLength(a), names.getLength(b));
+        int length = from;
+
+        while(length < limit && heap[aStart + length] == heap[bStart + length]) {
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     * A character of a normalized name.
+     */
+    private char CharAt(char[] heap, int id, int index) {
+        return heap[names.getStart(id) + index];
+    }
+
+    /**
+     * Sorts every ID by its normalized name, breaking ties by ID.
+     */
+    private static int[] SortByName(final NormalizedNameIndex names) {
+        final char[] heap = names.getHeap();
+        Integer[] ids = new Integer[names.size()];
+
+        for(int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+
+        Arrays.sort(ids, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int aStart = names.getStart(a);
+                int bStart = names.getStart(b);
+                int aLength = names.getLength(a);
+                int bLength = names.getLength(b);
+                int limit = Math.min(aLength, bLength);
+
+                for(int i = 0; i < limit; i++) {
+                    char ac = heap[aStart + i];
+                    char bc = heap[bStart + i];
+
+                    if (ac != bc) {
+                        return ac - bc;
+                    }
+                }
+
+                return aLength != bLength ? aLength - bLength : a - b;
+            }
+        });
+
+        int[] order = new int[ids.length];
+        for(int i = 0; i < ids.length; i++) {
+            order[i] = ids[i];
+        }
+
+        return order;
+    }
+}
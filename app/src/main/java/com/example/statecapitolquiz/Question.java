@@ -0,0 +1,146 @@
+package com.example.statecapitolquiz;
+
+/**
+ * A question as drawn by a QuizSession: its type, the QuestionBank IDs of the states
+ * being asked about, and for multiple choice questions the IDs of the answers offered
+ * in the order they're shown.  A reversed question shows the capitols and asks for
+ * the states; the IDs are the same either way.  Questions are immutable.
+ */
+final class Question {
+    private final QuestionType type;
+
+    /**
+     * The states being asked about, which are also the correct answers.
+     */
+    private final int[] targetIds;
+
+    /**
+     * The answers offered, already shuffled.  Empty for typed answers.
+     */
+    private final int[] answerIds;
+
+    /**
+     * Whether the capitols are shown and the states are the answers.
+     */
+    private final boolean reversed;
+
+    /**
+     * Parameterized constructor for a question asking for capitols.  Takes ownership
+     * of the arrays.
+     *
+     * @param type The kind of question.
+     * @param targetIds The IDs of the states being asked about.
+     * @param answerIds The IDs of the answers to offer, in display order.
+     */
+    Question(QuestionType type, int[] targetIds, int[] answerIds) {
+        this(type, targetIds, answerIds, false);
+    }
+
+    /**
+     * Parameterized constructor.  Takes ownership of the arrays.
+     *
+     * @param type The kind of question.
+     * @param targetIds The IDs of the states being asked about.
+     * @param answerIds The IDs of the answers to offer, in display order.
+     * @param reversed Whether to show the capitols and ask for the states.
+     */
+    Question(QuestionType type, int[] targetIds, int[] answerIds, boolean reversed) {
+        this.type = type;
+        this.targetIds = targetIds;
+        this.answerIds = answerIds;
+        this.reversed = reversed;
+    }
+
+    /**
+     * The same question asked the other way round: the capitols of the same states are
+     * shown, with the same answers offered in the same order.
+     *
+     * @return The reversed Question, sharing this one's IDs.
+     */
+    Question Reversed() {
+        return new Question(type, targetIds, answerIds, !reversed);
+    }
+
+    /**
+     * Accessor for the kind of question.
+     *
+     * @return The QuestionType.
+     */
+    QuestionType getType() {
+        return type;
+    }
+
+    /**
+     * Whether the question shows the capitols and asks for the states.
+     *
+     * @return True for a reverse question.
+     */
+    boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Accessor for the bank to display the question against: the given bank, or its
+     * ReversedQuestionBank for a reverse question.
+     *
+     * @param bank The bank the question's IDs refer to.
+     * @return The bank whose state names are shown and whose capitols are the answers.
+     */
+    QuestionBank getDisplayBank(QuestionBank bank) {
+        return reversed ? ReversedQuestionBank.ForBank(bank) : bank;
+    }
+
+    /**
+     * The number of states being asked about.
+     *
+     * @return The number of target IDs.
+     */
+    int getTargetCount() {
+        return targetIds.length;
+    }
+
+    /**
+     * Accessor for one of the states being asked about.
+     *
+     * @param index From 0 up to getTargetCount() - 1.
+     * @return The state's QuestionBank ID.
+     */
+    int getTargetId(int index) {
+        return targetIds[index];
+    }
+
+    /**
+     * The number of answers offered.
+     *
+     * @return The number of answer IDs, 0 for a typed answer.
+     */
+    int getAnswerCount() {
+        return answerIds.length;
+    }
+
+    /**
+     * Accessor for one of the answers offered.
+     *
+     * @param index From 0 up to getAnswerCount() - 1, in display order.
+     * @return The answer's QuestionBank ID.
+     */
+    int getAnswerId(int index) {
+        return answerIds[index];
+    }
+
+    /**
+     * Determines whether an ID is one of the correct answers.
+     *
+     * @param id The QuestionBank ID to check.
+     * @return True if the question asks about that state.
+     */
+    boolean isTarget(int id) {
+        for(int targetId : targetIds) {
+            if (targetId == id) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
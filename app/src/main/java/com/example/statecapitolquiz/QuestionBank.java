@@ -0,0 +1,50 @@
+package com.example.statecapitolquiz;
+
+/**
+ * A QuestionBank is the list of items the quiz asks about.  For the built in quiz
+ * that's the fifty states and their capitols, but any deck of name/answer pairs
+ * works the same way: world capitals, counties, cities and so on.
+ *
+ * Every entry is identified by a dense integer ID running from 0 to size() - 1, and
+ * the question activities only ever hold on to those IDs.
+ */
+interface QuestionBank {
+    /**
+     * The number of entries in the bank.  Valid IDs run from 0 to size() - 1.
+     *
+     * @return The number of entries in the bank.
+     */
+    int size();
+
+    /**
+     * Accessor for the name of the state (or other subject) with the given ID.
+     *
+     * @param id The ID of the entry.
+     * @return The name being asked about.
+     */
+    String getStateName(int id);
+
+    /**
+     * Accessor for the capitol (or other answer) of the entry with the given ID.
+     *
+     * @param id The ID of the entry.
+     * @return The answer for the entry.
+     */
+    String getCapitolName(int id);
+
+    /**
+     * Looks up an entry by state name, ignoring case.
+     *
+     * @param stateName The name to find.
+     * @return The ID of the entry, or -1 if there is no such entry.
+     */
+    int FindByStateName(String stateName);
+
+    /**
+     * Looks up an entry by capitol name, ignoring case.
+     *
+     * @param capitolName The answer to find.
+     * @return The ID of the entry, or -1 if there is no such entry.
+     */
+    int FindByCapitolName(String capitolName);
+}
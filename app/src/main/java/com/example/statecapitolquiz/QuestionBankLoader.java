@@ -0,0 +1,173 @@
+package com.example.statecapitolquiz;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * Loads a QuestionBank from a compact text file with one entry per line.  Each line
+ * holds the state (or other subject) name and its capitol (or other answer),
+ * separated by a tab or a comma.  Blank lines and lines starting with '#' are
+ * skipped.  Comma separated fields may be wrapped in double quotes so that they can
+ * contain commas themselves, with "" standing for a literal quote.
+ *
+ * The file is read one line at a time and each entry is added to the catalog as
+ * soon as it's parsed, so the whole file is never held in memory at once.
+ */
+final class QuestionBankLoader {
+    /**
+     * Question bank files are always UTF-8.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Number of entries to size the catalog for when the caller has no better guess.
+     */
+    private static final int DEFAULT_EXPECTED_SIZE = 256;
+
+    private QuestionBankLoader() {
+    }
+
+    /**
+     * Loads a QuestionBank from a UTF-8 encoded stream.  The stream is not closed.
+     *
+     * @param in The stream to read.
+     * @return The loaded QuestionBank.
+     * @throws IOException If the stream can't be read or a line is malformed.
+     */
+    static QuizCatalog Load(InputStream in) throws IOException {
+        return Load(new InputStreamReader(in, UTF_8), DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Loads a QuestionBank from a reader.  The reader is not closed.
+     *
+     * @param reader The reader to read lines from.
+     * @param expectedSize A guess at the number of entries, used to size the catalog.
+     * @return The loaded QuestionBank.
+     * @throws IOException If the reader fails or a line is malformed.
+     */
+    static QuizCatalog Load(Reader reader, int expectedSize) throws IOException {
+        BufferedReader lines = (reader instanceof BufferedReader)
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(expectedSize);
+        String[] fields = new String[2];
+        int lineNumber = 0;
+        String line;
+
+        while((line = lines.readLine()) != null) {
+            lineNumber++;
+
+            if (IsSkippable(line)) {
+                continue;
+            }
+
+            if (!ParseLine(line, fields)) {
+                throw new IOException("Line " + lineNumber + ": expected a name and an answer.");
+            }
+
+            builder.Add(fields[0], fields[1]);
+        }
+
+        return builder.Build();
+    }
+
+    /**
+     * Determines whether a line carries no entry.
+     *
+     * @param line The line to check.
+     * @return True for blank lines and comments.
+     */
+    private static boolean IsSkippable(String line) {
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '#') {
+                return true;
+            }
+
+            if (!Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Splits a line into its two fields.  Lines containing a tab are split on the tab;
+     * anything else is treated as comma separated.
+     *
+     * @param line The line to split.
+     * @param fields Receives the trimmed name and answer.
+     * @return True if both fields were found and are non-empty.
+     */
+    private static boolean ParseLine(String line, String[] fields) {
+        if (line.indexOf('\t') >= 0) {
+            int tab = line.indexOf('\t');
+            int end = line.indexOf('\t', tab + 1);
+
+            fields[0] = line.substring(0, tab).trim();
+            fields[1] = line.substring(tab + 1, end < 0 ? line.length() : end).trim();
+        } else {
+            int next = ParseCsvField(line, 0, fields, 0);
+
+            if (next < 0) {
+                return false;
+            }
+
+            ParseCsvField(line, next, fields, 1);
+        }
+
+        return fields[0].length() > 0 && fields[1].length() > 0;
+    }
+
+    /**
+     * Reads one comma separated field, honouring double quotes.
+     *
+     * @param line The line being parsed.
+     * @param start The index the field starts at.
+     * @param fields Receives the trimmed field.
+     * @param fieldIndex Which slot of fields to fill.
+     * @return The index just past the comma ending the field, or -1 if the line ended.
+     */
+    private static int ParseCsvField(String line, int start, String[] fields, int fieldIndex) {
+        int i = start;
+
+        while(i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+
+        if (i < line.length() && line.charAt(i) == '"') {
+            StringBuilder sb = new StringBuilder();
+            i++;
+
+            while(i < line.length()) {
+                char c = line.charAt(i++);
+
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        sb.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+
+            fields[fieldIndex] = sb.toString().trim();
+            int comma = line.indexOf(',', i);
+            return comma < 0 ? -1 : comma + 1;
+        }
+
+        int comma = line.indexOf(',', i);
+        fields[fieldIndex] = line.substring(i, comma < 0 ? line.length() : comma).trim();
+        return comma < 0 ? -1 : comma + 1;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.statecapitolquiz;
+
+import java.io.IOException;
+
+/**
+ * Holds the QuestionBank that the quiz is currently using.  The coordinator and the
+ * question activities all read from the bank returned by getActive(), so plugging a
+ * different deck in is a single call to Activate() or setActive() before a session
+ * starts.
+ */
+final class QuestionBanks {
+    /**
+     * The bank in use.  Defaults to the built in catalog of the fifty states.
+     */
+    private static QuestionBank activeBank = null;
+
+    /**
+     * The Deck the active bank came from, or null for a bank given to setActive().
+     */
+    private static Deck activeDeck = null;
+
+    private QuestionBanks() {
+    }
+
+    /**
+     * Accessor for the bank the quiz is currently using.
+     *
+     * @return The active QuestionBank.
+     */
+    static synchronized QuestionBank getActive() {
+        if (activeBank == null) {
+            activeBank = QuizCatalog.getDefault();
+            activeDeck = Deck.US_CAPITALS;
+        }
+
+        return activeBank;
+    }
+
+    /**
+     * Accessor for the Deck the quiz is currently using.
+     *
+     * @return The active Deck, or null if the active bank isn't one of the decks.
+     */
+    static synchronized Deck getActiveDeck() {
+        getActive();
+        return activeDeck;
+    }
+
+    /**
+     * Makes a deck the one the quiz uses, loading it through the shared DeckCache if
+     * it isn't cached.  Like setActive(), should only be called between sessions, or
+     * to bring back the deck a saved session was using.
+     *
+     * The deck is loaded without holding the lock, so getActive() never waits on I/O,
+     * and so that the DeckCache can ask for the active deck while it loads.
+     *
+     * @param deck The deck to use from now on.
+     * @return The deck's bank.
+     * @throws IOException If the deck had to be loaded and couldn't be.  The active
+     *                     bank is left as it was.
+     */
+    static QuestionBank Activate(Deck deck) throws IOException {
+        QuestionBank bank = DeckCache.getShared().Get(deck);
+
+        synchronized(QuestionBanks.class) {
+            activeBank = bank;
+            activeDeck = deck;
+        }
+
+        return bank;
+    }
+
+    /**
+     * Replaces the bank the quiz uses.  Should only be called between sessions, since
+     * any IDs handed out by the previous bank are meaningless in the new one.
+     *
+     * @param bank The bank to use from now on.
+     */
+    static synchronized void setActive(QuestionBank bank) {
+        if (bank == null) {
+            throw new IllegalArgumentException("bank must not be null");
+        }
+
+        activeBank = bank;
+        activeDeck = null;
+    }
+}
@@ -4,43 +4,91 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.widget.Toast;
 
-import java.util.ArrayList;
-import java.util.Random;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
-public class QuestionCoordinatorActivity extends AppCompatActivity {
+/**
+ * The QuestionCoordinatorActivity hosts the whole quiz.  A QuizSession decides what to
+ * ask, and each question is shown by the QuestionPage for its type.  The pages are
+ * created the first time their type comes up and then kept, so moving on to the next
+ * question just rebinds a page that's already inflated and, if the type changed,
+ * swaps which page is visible.
+ *
+ * The answer to each question is recorded as soon as the user checks it, and the
+ * next question, with its states, incorrect answers and order, is drawn on a
+ * background thread while they read the feedback.  "Next Question" then only has to
+ * bind a ready-made Question.  How long each of these steps takes is recorded in
+ * Metrics, along with the time from that tap to the first frame of the new question.
+ */
+public class QuestionCoordinatorActivity extends AppCompatActivity implements QuestionPage.Listener {
     /**
-     * Used for random number generation.
+     * The key the session snapshot is saved under in the instance state.
      */
-    private static Random random = new Random();
+    private static final String SESSION_SNAPSHOT_KEY = "sessionSnapshot";
 
     /**
-     * This array list holds all of the QuizStates which have not yet been used.
+     * Draws upcoming questions off the main thread.  A single thread is enough, as only
+     * one question is ever being prepared.
      */
-    private static ArrayList<QuizState> availableQuestions = new ArrayList<>();
+    private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "QuestionPrefetch");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Every answer ever given, one store per deck, kept in the app's files directory.
+     * Created the first time the quiz starts and kept for the life of the process.
+     */
+    private static AnswerHistories histories = null;
+
+    /**
+     * The quiz being run.  Kept across configuration changes, and saved as a snapshot
+     * in case the process is killed.
+     */
+    private QuizSession session = null;
 
     /**
-     * Holds the total number of questions to be asked.  This is defined by the user
-     * on the first screen.
+     * The snapshot from the saved instance state, kept until the deck it belongs to
+     * has been loaded and the session restored from it.
      */
-    private static int questionsToBeAsked = 0;
+    private byte[] savedSnapshot = null;
 
     /**
-     * Holds the number of questions that have been asked.  Incremented each time a
-     * new question is setup.
+     * Set once the activity is destroyed, so a deck load that finishes afterwards
+     * doesn't start a quiz nobody can see.
      */
-    private static int questionsAsked = 0;
+    private boolean destroyed = false;
 
     /**
-     * The number of questions the user has answered correctly.  Passed to the
-     * SummaryActivity for display.s
+     * The page for each QuestionType, by ordinal, or null until it's first needed.
      */
-    private static int questionsCorrect = 0;
+    private final QuestionPage[] pages = new QuestionPage[QuestionType.values().length];
 
     /**
-     * Fires when the activity is created.  Responsible for reading the number
-     * of questions to be asked from the invoking activity and setting up the
-     * first question.
+     * The page currently visible, or null before the first question.
+     */
+    private QuestionPage currentPage = null;
+
+    /**
+     * Fires when the activity is created.  Picks up the running session after a
+     * configuration change; otherwise makes the deck named by the intent's "deck"
+     * extra active first, loading it off the main thread if need be, so that a
+     * restored session finds the bank its IDs belong to.  The quiz starts once the
+     * deck is ready; see StartQuiz().
      *
      * @param savedInstanceState The saved instance state to rehydrate.
      */
@@ -48,126 +96,382 @@ public class QuestionCoordinatorActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_question_coordinator);
+        OpenHistory();
+
+        session = (QuizSession) getLastCustomNonConfigurationInstance();
+
+        if (savedInstanceState != null) {
+            savedSnapshot = savedInstanceState.getByteArray(SESSION_SNAPSHOT_KEY);
+        }
+
+        Deck deck = (Deck) getIntent().getSerializableExtra("deck");
+
+        if (session != null || deck == null) {
+            // A retained session's deck is still active.
+            StartQuiz();
+        } else {
+            ActivateDeck(deck);
+        }
+    }
+
+    /**
+     * Flags the activity as gone, so that a deck load still in progress leaves it be.
+     */
+    @Override
+    protected void onDestroy() {
+        destroyed = true;
+        super.onDestroy();
+    }
+
+    /**
+     * Starts a new session with the number of questions chosen in the MainActivity,
+     * or carries on the retained one or the one saved before the process was killed,
+     * and shows the current question.  If the current question has already been
+     * answered, the feedback isn't shown again; the quiz moves on to the next
+     * question.
+     *
+     * A new session is seeded from the intent's "seed" extra if there is one, so that
+     * a session can be replayed exactly, and otherwise from the clock.  The
+     * "answerCount" and "correctAnswerCount" extras set the shape of its multiple
+     * choice questions.
+     */
+    private void StartQuiz() {
+        if (session == null && savedSnapshot != null) {
+            session = RestoreSession(savedSnapshot, GetScheduler());
+
+            if (session != null) {
+                Metrics.SESSIONS_RESTORED.Increment();
+            }
+        }
 
-        Intent intent = getIntent();
-        ActivityConstants callingActivity = (ActivityConstants) intent.getSerializableExtra("callingActivity");
+        savedSnapshot = null;
 
-        // If we came from MainActivity reset the AvailableQuestions ArrayList, pick out a
-        // QuizState to represent the current question, and invoke one of the question types
-        // to display the question.
-        if (callingActivity == ActivityConstants.MAIN_ACTIVITY) {
-            HandleMainActivityOrigin();
+        if (session == null) {
+            Intent intent = getIntent();
+            QuizMode mode = (QuizMode) intent.getSerializableExtra("quizMode");
+            QuizDirection direction = (QuizDirection) intent.getSerializableExtra("direction");
+            long seed = intent.hasExtra("seed") ? intent.getLongExtra("seed", 0) : QuizRandom.NewSeed();
+            AnswerCounts answerCounts = new AnswerCounts(
+                    intent.getIntExtra("answerCount", AnswerCounts.DEFAULT.getChoiceCount()),
+                    intent.getIntExtra("correctAnswerCount", AnswerCounts.DEFAULT.getCheckBoxTargetCount()));
+            session = new QuizSession(QuestionBanks.getActive(),
+                    intent.getIntExtra("questionCount", 0),
+                    mode != null ? mode : QuizMode.RANDOM,
+                    direction != null ? direction : QuizDirection.FORWARD,
+                    answerCounts,
+                    intent.getBooleanExtra("hardMode", false),
+                    intent.getBooleanExtra("hintPenalty", false),
+                    new QuizRandom(seed),
+                    GetScheduler());
+            Metrics.SESSIONS_STARTED.Increment();
         }
 
-        if (callingActivity == ActivityConstants.RADIO_GROUP_QUESTION_ACTIVITY ||
-            callingActivity == ActivityConstants.TEXT_ENTRY_QUESTION_ACTIVITY ||
-            callingActivity == ActivityConstants.CHECK_BOX_QUESTION_ACTIVITY)
-        {
-            HandleQuestionActivityOrigin();
+        if (session.getCurrentQuestion() == null || session.isCurrentAnswered()) {
+            if (session.isFinished()) {
+                ShowSummary();
+                return;
+            }
+
+            session.NextQuestion();
         }
 
-        if (callingActivity == ActivityConstants.SUMMARY_ACTIVITY) {
-            HandleApplicationReset();
+        ShowQuestion(session.getCurrentQuestion());
+    }
+
+    /**
+     * Saves the session's snapshot so that the quiz can carry on if the process is
+     * killed while in the background.  While the deck is still loading there's no
+     * session yet, so the snapshot it will be restored from is saved again instead.
+     *
+     * @param outState The bundle to save into.
+     */
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+
+        if (session != null) {
+            outState.putByteArray(SESSION_SNAPSHOT_KEY, session.Snapshot());
+        } else if (savedSnapshot != null) {
+            outState.putByteArray(SESSION_SNAPSHOT_KEY, savedSnapshot);
         }
     }
 
     /**
-     * Executed when the user has optioned to begin a new session from the summary
-     * page.  All of the static variables are reset and the user is redirected to
-     * the MainActivity page to select the number of questions.
+     * Asks for any recorded answers to be written out when the quiz leaves the screen.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        histories.FlushAsync();
+    }
+
+    /**
+     * Keeps the session, and with it the current question, across rotations.
      *
-     * This is necessary because I'm handling state poorly.
+     * @return The running QuizSession.
      */
-    protected void HandleApplicationReset() {
-        questionsToBeAsked = 0;
-        questionsAsked = 0;
-        questionsCorrect = 0;
+    @Override
+    public Object onRetainCustomNonConfigurationInstance() {
+        return session;
+    }
 
-        availableQuestions.clear();
-        availableQuestions.addAll(QuizState.GetQuizStates());
+    /**
+     * Records the answer to the current question and, unless that was the last one,
+     * starts drawing the next question in the background.
+     *
+     * @param correct Whether the answer counted as correct.
+     * @param hintUsed Whether the user picked a suggested answer.
+     * @param latencyMillis How long the user took to check their answer.
+     */
+    @Override
+    public void OnAnswerChecked(boolean correct, boolean hintUsed, int latencyMillis) {
+        Question question = session.getCurrentQuestion();
+        AnswerHistoryStore history = histories.ForDeck(QuestionBanks.getActiveDeck());
+        long now = System.currentTimeMillis();
+
+        for(int i = 0; i < question.getTargetCount(); i++) {
+            history.Record(question.getTargetId(i), question.getType(), correct, hintUsed, latencyMillis, now);
+        }
+
+        session.RecordAnswer(correct, hintUsed);
+        Metrics.QUESTIONS_ANSWERED.Increment();
+        Metrics.THINK_TIME.Record(latencyMillis);
 
-        Intent intent = new Intent(this, MainActivity.class);
+        if (correct) {
+            Metrics.ANSWERS_CORRECT.Increment();
+        }
+
+        if (hintUsed) {
+            Metrics.HINTS_USED.Increment();
+        }
+
+        if (!session.isFinished()) {
+            final QuizSession answered = session;
+            prefetcher.execute(new Runnable() {
+                @Override
+                public void run() {
+                    long start = System.nanoTime();
+
+                    if (answered.PrepareNextQuestion() != null) {
+                        Metrics.QUESTION_PREPARE.RecordMicrosSince(start);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Shows the next question, normally the one already prepared in the background,
+     * or the SummaryActivity once every question has been asked.
+     */
+    @Override
+    public void OnNextQuestion() {
+        if (session.isFinished()) {
+            ShowSummary();
+            return;
+        }
+
+        // If the prefetch hasn't finished this waits for it, and if it hasn't started
+        // the question is drawn here and the prefetch finds nothing left to do.
+        long tappedAtNanos = System.nanoTime();
+        (session.hasPreparedQuestion() ? Metrics.PREFETCH_HITS : Metrics.PREFETCH_MISSES).Increment();
+        Question next = session.NextQuestion();
+        Metrics.QUESTION_HANDOFF.RecordMicrosSince(tappedAtNanos);
+
+        ShowQuestion(next);
+        RecordFirstFrame(tappedAtNanos);
+    }
+
+    /**
+     * Hands over to the SummaryActivity with the session's score.
+     */
+    private void ShowSummary() {
+        Intent intent = new Intent(this, SummaryActivity.class);
         intent.putExtra("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
+        intent.putExtra("questionsCorrect", session.getQuestionsCorrect());
+        intent.putExtra("questionsAsked", session.getQuestionsAsked());
+        intent.putExtra("hintsUsed", session.getHintsUsed());
+        intent.putExtra("handoffStartMillis", SystemClock.uptimeMillis());
         startActivity(intent);
+
+        // The quiz is over, so don't leave it on the back stack.
+        finish();
     }
 
     /**
-     * Handles being invoked by the MainActivity.  Sets the number of questions to
-     * be answered and then sets up a question to be asked.
+     * Records how long after a tap the next frame is about to be drawn.
+     *
+     * @param tappedAtNanos When the tap was handled, by System.nanoTime().
      */
-    protected void HandleMainActivityOrigin() {
-        Intent intent = getIntent();
+    private void RecordFirstFrame(final long tappedAtNanos) {
+        final ViewTreeObserver observer = findViewById(R.id.question_container).getViewTreeObserver();
 
-        questionsToBeAsked = intent.getIntExtra("questionCount", 0);
-        availableQuestions.clear();
-        availableQuestions.addAll(QuizState.GetQuizStates());
+        observer.addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                if (observer.isAlive()) {
+                    observer.removeOnPreDrawListener(this);
+                }
 
-        SetupAndInvokeQuestion();
+                Metrics.QUESTION_FIRST_FRAME.RecordMicrosSince(tappedAtNanos);
+                return true;
+            }
+        });
     }
 
     /**
-     * Handles the intent being invoked by a question activity.  Increases the question count
-     * and handles determining whether it's time to invoke the summary activity.
+     * Makes the deck chosen in the MainActivity the active one on the DeckCache's
+     * loader thread, then starts the quiz.  The deck is normally cached already, so
+     * this is quick; if the process was killed it's loaded again, and if the
+     * MainActivity is still warming it this waits behind that load rather than
+     * reading it twice.  The deck's RecallScheduler is read here too, for a spaced
+     * repetition quiz.  Either way the main thread never waits on I/O.
+     *
+     * If the deck can't be loaded the user is told and the activity finishes.
+     *
+     * @param deck The deck chosen.
      */
-    protected void HandleQuestionActivityOrigin() {
-        boolean wasAnswerCorrect = getIntent().getBooleanExtra("questionCorrect", false);
+    private void ActivateDeck(final Deck deck) {
+        DeckCache.getLoader().execute(new Runnable() {
+            @Override
+            public void run() {
+                boolean loaded;
 
-        questionsAsked++;           // Increment number of questions asked.
+                try {
+                    QuestionBanks.Activate(deck);
+                    // Read the deck's schedule here too, rather than on the main thread.
+                    GetScheduler();
+                    loaded = true;
+                } catch (IOException e) {
+                    loaded = false;
+                }
 
-        if (wasAnswerCorrect)
-            questionsCorrect++;     // Increment number of questions correct.
+                final boolean activated = loaded;
 
-        if (questionsAsked >= questionsToBeAsked) {
-            Intent intent = new Intent(this, SummaryActivity.class);
-            intent.putExtra("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
-            intent.putExtra("questionsCorrect", questionsCorrect);
-            intent.putExtra("questionsAsked", questionsAsked);
-            startActivity(intent);
-        } else {
-            SetupAndInvokeQuestion();
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (destroyed) {
+                            return;
+                        }
+
+                        if (activated) {
+                            StartQuiz();
+                        } else {
+                            Toast.makeText(getApplicationContext(), R.string.status_deck_not_loaded,
+                                    Toast.LENGTH_LONG).show();
+                            finish();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Sets up the answer history the first time it's needed.  Each deck's store is
+     * opened when the deck's first answer is recorded, and opening returns at once;
+     * the existing history is read on the store's own thread.
+     */
+    private void OpenHistory() {
+        synchronized(QuestionCoordinatorActivity.class) {
+            if (histories == null) {
+                histories = new AnswerHistories(new File(getApplicationContext().getFilesDir(), "history"));
+            }
         }
     }
 
     /**
-     * Responsible for determining which question type to use and invoking the
-     * appropriate activity.  Also responsible for determining the appropriate
-     * quiz states to be passed to the called activity.
+     * Accessor for the active deck's RecallScheduler, if the intent asks for spaced
+     * repetition.  The first time for a deck this reads it from the deck's history.
+     *
+     * @return The scheduler, or null in random mode.
      */
-    protected void SetupAndInvokeQuestion() {
-        Intent intent;
-        QuizState qs1;
-        QuizState qs2;
+    private RecallScheduler GetScheduler() {
+        if (getIntent().getSerializableExtra("quizMode") != QuizMode.SPACED_REPETITION) {
+            return null;
+        }
 
-        // Determine which type of question to invoke.
-        switch(random.nextInt(3)) {
-            case 0:
-                qs1 = QuizState.SelectRandomAndRemove(availableQuestions);
+        return histories.SchedulerForDeck(QuestionBanks.getActiveDeck(), QuestionBanks.getActive());
+    }
 
-                intent = new Intent(this, RadioGroupQuestionActivity.class);
-                intent.putExtra("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
-                intent.putExtra("quizState", qs1);
-                startActivity(intent);
-                break;
+    /**
+     * Brings back a saved session against the active bank.
+     *
+     * @param snapshot The saved snapshot, or null if there isn't one.
+     * @param scheduler The deck's scheduler for a spaced repetition session, or null.
+     * @return The restored session, or null if there's nothing usable to restore.
+     */
+    private static QuizSession RestoreSession(byte[] snapshot, RecallScheduler scheduler) {
+        if (snapshot == null) {
+            return null;
+        }
 
-            case 1:
-                qs1 = QuizState.SelectRandomAndRemove(availableQuestions);
-                qs2 = QuizState.SelectRandomAndRemove(availableQuestions);
+        try {
+            return QuizSession.Restore(snapshot, QuestionBanks.getActive(), scheduler);
+        } catch (IllegalArgumentException e) {
+            // The active bank changed or the snapshot is damaged; start again.
+            return null;
+        }
+    }
 
-                intent = new Intent(this, CheckBoxQuestionActivity.class);
-                intent.putExtra("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
-                intent.putExtra("quizState1", qs1);
-                intent.putExtra("quizState2", qs2);
-                startActivity(intent);
-                break;
+    /**
+     * Binds a question to the page for its type and makes that page the visible one.
+     * A reverse question is bound to the session bank's ReversedQuestionBank, so the
+     * pages show the capitols and offer the states without knowing the difference.
+     *
+     * @param question The question to show.
+     */
+    protected void ShowQuestion(Question question) {
+        QuestionPage page = GetPage(question.getType());
+        page.Show(question, question.getDisplayBank(session.getBank()));
 
-            case 2:
-                qs1 = QuizState.SelectRandomAndRemove(availableQuestions);
+        if (page != currentPage) {
+            if (currentPage != null) {
+                currentPage.getRoot().setVisibility(View.GONE);
+            }
 
-                intent = new Intent(this, EditTextQuestionActivity.class);
-                intent.putExtra("callingActivity", ActivityConstants.QUESTION_COORDINATOR_ACTIVITY);
-                intent.putExtra("quizState", qs1);
-                startActivity(intent);
-                break;
+            page.getRoot().setVisibility(View.VISIBLE);
+            currentPage = page;
         }
     }
+
+    /**
+     * Returns the page for a question type, inflating it the first time.
+     *
+     * @param type The type of question to be shown.
+     * @return The QuestionPage for that type.
+     */
+    private QuestionPage GetPage(QuestionType type) {
+        QuestionPage page = pages[type.ordinal()];
+
+        if (page == null) {
+            ViewGroup container = findViewById(R.id.question_container);
+            LayoutInflater inflater = getLayoutInflater();
+
+            switch(type) {
+                case RADIO_GROUP:
+                    page = new RadioGroupQuestionPage(
+                            inflater.inflate(R.layout.view_radio_group_question, container, false), this);
+                    break;
+
+                case CHECK_BOX:
+                    page = new CheckBoxQuestionPage(
+                            inflater.inflate(R.layout.view_check_box_question, container, false), this);
+                    break;
+
+                default:
+                    page = new EditTextQuestionPage(
+                            inflater.inflate(R.layout.view_edit_text_question, container, false), this,
+                            session.isHintPenalty());
+                    break;
+            }
+
+            page.getRoot().setVisibility(View.GONE);
+            container.addView(page.getRoot());
+            pages[type.ordinal()] = page;
+        }
+
+        return page;
+    }
 }
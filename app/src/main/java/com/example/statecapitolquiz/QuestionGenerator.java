@@ -0,0 +1,123 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * QuestionGenerator puts multiple choice questions together: N answers to offer, M
+ * of them correct, for any N and M the bank can supply.  The correct answers are
+ * either given, as QuizSession does with the states it has chosen, or drawn
+ * uniformly from the bank.  The incorrect ones come from a DistractorSelector and
+ * then everything is shuffled, so each question costs O(N) random draws even when N
+ * is most of the bank.
+ *
+ * A generator keeps scratch state between calls, so it must only be used from one
+ * thread at a time.
+ */
+final class QuestionGenerator {
+    private final QuestionBank bank;
+
+    private final DistractorSelector selector;
+
+    /**
+     * The bank's NeighborIndex, for hard mode.  Looked up on first use.
+     */
+    private NeighborIndex neighbors = null;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param bank The bank to draw answers from.
+     */
+    QuestionGenerator(QuestionBank bank) {
+        this.bank = bank;
+        this.selector = new DistractorSelector(bank.size());
+    }
+
+    /**
+     * Draws a question whose correct answers are picked uniformly from the bank.
+     *
+     * @param type The kind of question.
+     * @param targetCount The number of correct answers, M.
+     * @param answerCount The number of answers to offer, N, counting the correct ones;
+     *                    or 0 for a question whose answer is typed.
+     * @param hardMode Whether to offer answers similar to the correct ones.
+     * @param random The random number generator to draw with.
+     * @return The new Question.
+     * @throws IllegalArgumentException If the counts don't fit the bank.
+     */
+    Question Generate(QuestionType type, int targetCount, int answerCount, boolean hardMode, Random random) {
+        CheckCounts(targetCount, answerCount);
+
+        int[] targetIds = new int[targetCount];
+        selector.Select(targetIds, 0, targetCount, targetIds, 0, random);
+
+        return Generate(type, targetIds, answerCount, hardMode, random);
+    }
+
+    /**
+     * Puts a question together around correct answers that have already been chosen.
+     *
+     * @param type The kind of question.
+     * @param targetIds The correct answers, M distinct IDs.  The Question takes the
+     *                  array over.
+     * @param answerCount The number of answers to offer, N, counting the correct ones;
+     *                    or 0 for a question whose answer is typed.
+     * @param hardMode Whether to offer answers similar to the correct ones.
+     * @param random The random number generator to draw with.
+     * @return The new Question.
+     * @throws IllegalArgumentException If the counts don't fit the bank.
+     */
+    Question Generate(QuestionType type, int[] targetIds, int answerCount, boolean hardMode, Random random) {
+        CheckCounts(targetIds.length, answerCount);
+
+        int[] answerIds = new int[answerCount];
+        if (answerCount > 0) {
+            // The correct answers go first, followed by the incorrect ones, and then
+            // the lot is shuffled.
+            System.arraycopy(targetIds, 0, answerIds, 0, targetIds.length);
+            int distractors = answerCount - targetIds.length;
+
+            if (hardMode) {
+                if (neighbors == null) {
+                    neighbors = NeighborIndex.ForBank(bank);
+                }
+
+                selector.SelectHard(targetIds, targetIds.length, distractors, answerIds, targetIds.length, random,
+                        neighbors);
+            } else {
+                selector.Select(targetIds, targetIds.length, distractors, answerIds, targetIds.length, random);
+            }
+
+            Shuffle(answerIds, random);
+        }
+
+        return new Question(type, targetIds, answerIds);
+    }
+
+    /**
+     * Makes sure a question of the given shape can be drawn from the bank.
+     */
+    private void CheckCounts(int targetCount, int answerCount) {
+        if (targetCount < 1 || targetCount > bank.size()) {
+            throw new IllegalArgumentException("Cannot ask about " + targetCount + " of a bank of "
+                    + bank.size() + ".");
+        }
+
+        if (answerCount != 0 && (answerCount < targetCount || answerCount > bank.size())) {
+            throw new IllegalArgumentException("Cannot offer " + answerCount + " answers with " + targetCount
+                    + " correct from a bank of " + bank.size() + ".");
+        }
+    }
+
+    /**
+     * Fisher-Yates shuffle.
+     */
+    private static void Shuffle(int[] ids, Random random) {
+        for(int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.example.statecapitolquiz;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.CompoundButton;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+
+/**
+ * A QuestionPage shows one type of question inside the QuestionCoordinatorActivity.
+ * Each page's views are inflated once and then rebound to every question of its type,
+ * so moving on to the next question never creates an activity or inflates a layout.
+ *
+ * Every page works in two phases: first the user answers and clicks "Check Answer",
+ * then the page shows whether they were right, hands the result to the activity and
+ * the button becomes "Next Question".  The activity uses the time the user spends
+ * reading that feedback to get the next question ready.
+ */
+abstract class QuestionPage {
+    /**
+     * Receives the result of each question and moves the quiz along.
+     */
+    interface Listener {
+        /**
+         * Called when the user clicks "Check Answer", once the page is showing whether
+         * they were right.
+         *
+         * @param correct Whether the answer counted as correct.
+         * @param hintUsed Whether the user picked a suggested answer.
+         * @param latencyMillis How long the user took to check their answer.
+         */
+        void OnAnswerChecked(boolean correct, boolean hintUsed, int latencyMillis);
+
+        /**
+         * Called when the user clicks "Next Question".
+         */
+        void OnNextQuestion();
+    }
+
+    /**
+     * The answer rows of a page: one check box or radio button per answer, created the
+     * first time a question needs that many and rebound to every question after that.
+     * Rows beyond the current question's answer count are hidden rather than removed,
+     * and every row shares the one click listener, so moving on to the next question
+     * allocates no views.
+     *
+     * @param <T> The kind of button each row is.
+     */
+    abstract static class AnswerRows<T extends CompoundButton> {
+        /**
+         * The layout the rows are added to.
+         */
+        private final ViewGroup container;
+
+        /**
+         * Set on every row as it's created, or null if clicks are handled elsewhere.
+         */
+        private final View.OnClickListener listener;
+
+        /**
+         * Every row created so far, in display order.
+         */
+        private final ArrayList<T> rows = new ArrayList<>();
+
+        /**
+         * The QuestionBank ID of the answer each row shows, by row.
+         */
+        private int[] answerIds = new int[0];
+
+        /**
+         * The text colors of a freshly created row, put back when a row is rebound.
+         */
+        private ColorStateList defaultTextColors = null;
+
+        /**
+         * The number of rows showing the current question's answers.
+         */
+        private int count = 0;
+
+        /**
+         * Parameterized constructor.
+         *
+         * @param container The layout the rows are added to.  Anything already in it
+         *                  is removed.
+         * @param listener Set on every row, or null if clicks are handled elsewhere.
+         */
+        AnswerRows(ViewGroup container, View.OnClickListener listener) {
+            this.container = container;
+            this.listener = listener;
+            container.removeAllViews();
+        }
+
+        /**
+         * Creates a row.  Only called when a question has more answers than any before
+         * it.
+         *
+         * @param context The context to create the row in.
+         * @return A new button.
+         */
+        abstract T NewRow(Context context);
+
+        /**
+         * Shows a question's answers, unchecked and in the default colors.
+         *
+         * @param question The question whose answers to show.
+         * @param bank The bank the question's IDs refer to.
+         */
+        void Bind(Question question, QuestionBank bank) {
+            count = question.getAnswerCount();
+
+            while(rows.size() < count) {
+                T row = NewRow(container.getContext());
+
+                if (defaultTextColors == null) {
+                    defaultTextColors = row.getTextColors();
+                }
+
+                // Each row is tagged with its position once, so IndexOf() needn't search.
+                row.setTag(rows.size());
+                row.setOnClickListener(listener);
+                rows.add(row);
+                container.addView(row);
+            }
+
+            if (answerIds.length < rows.size()) {
+                answerIds = new int[rows.size()];
+            }
+
+            for(int i = 0; i < rows.size(); i++) {
+                T row = rows.get(i);
+
+                if (i < count) {
+                    answerIds[i] = question.getAnswerId(i);
+                    row.setChecked(false);
+                    row.setText(bank.getCapitolName(answerIds[i]));
+                    row.setTextColor(defaultTextColors);
+                    row.setVisibility(View.VISIBLE);
+                } else if (row.getVisibility() != View.GONE) {
+                    row.setChecked(false);
+                    row.setVisibility(View.GONE);
+                }
+            }
+        }
+
+        /**
+         * The number of answers being shown.
+         *
+         * @return The current question's answer count.
+         */
+        int size() {
+            return count;
+        }
+
+        /**
+         * The row showing an answer.
+         *
+         * @param index The answer's position, from 0 to size() - 1.
+         * @return The row.
+         */
+        T get(int index) {
+            return rows.get(index);
+        }
+
+        /**
+         * The QuestionBank ID of the answer a row shows.
+         *
+         * @param index The answer's position, from 0 to size() - 1.
+         * @return The ID.
+         */
+        int getAnswerId(int index) {
+            return answerIds[index];
+        }
+
+        /**
+         * The position of a row, from its tag.
+         *
+         * @param row One of the rows.
+         * @return The row's position, or -1 if it isn't one of the rows.
+         */
+        int IndexOf(View row) {
+            Object tag = row != null ? row.getTag() : null;
+
+            if (tag instanceof Integer) {
+                int index = (Integer) tag;
+
+                if (index < rows.size() && rows.get(index) == row) {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * The number of rows created over the life of the page, for measuring.
+         *
+         * @return The number of rows created.
+         */
+        int getCreatedCount() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * The root of the page's inflated layout.
+     */
+    protected final View root;
+
+    /**
+     * Receives the result of each question and is told when to move on.
+     */
+    private final Listener listener;
+
+    /**
+     * This boolean variable is used to track whether we have shown the user whether
+     * or not their answer is correct.  It's used to manage the two different phases
+     * that we'll find ourselves in while on this page.
+     */
+    protected boolean isSecondPhase = false;
+
+    /**
+     * Tracking variable to help track whether or not the user answered the question
+     * correctly.  (This allows the variable to be passed back to the listener.)
+     */
+    protected boolean isAnswerCorrect = false;
+
+    /**
+     * When the current question was shown, by SystemClock.uptimeMillis().
+     */
+    private long shownAtMillis = 0;
+
+    /**
+     * How long the user took to check their answer to the current question.
+     */
+    private int latencyMillis = 0;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param root The page's inflated layout, which must contain a next_button.
+     * @param listener Receives the result of each question.
+     */
+    QuestionPage(View root, Listener listener) {
+        this.root = root;
+        this.listener = listener;
+
+        root.findViewById(R.id.next_button).setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                AnswerOnClick();
+            }
+        });
+    }
+
+    /**
+     * Accessor for the page's views.
+     *
+     * @return The root of the page's layout.
+     */
+    View getRoot() {
+        return root;
+    }
+
+    /**
+     * Shows a question and starts timing the answer.
+     *
+     * @param question The question to show.  Its type matches the page.
+     * @param bank The bank the question's IDs refer to.
+     */
+    final void Show(Question question, QuestionBank bank) {
+        long start = System.nanoTime();
+        Bind(question, bank);
+        Metrics.QUESTION_BIND[question.getType().ordinal()].RecordMicrosSince(start);
+        shownAtMillis = SystemClock.uptimeMillis();
+    }
+
+    /**
+     * Binds a question to the page's views, resetting the page to its first phase.
+     *
+     * @param question The question to show.  Its type matches the page.
+     * @param bank The bank the question's IDs refer to.
+     */
+    abstract void Bind(Question question, QuestionBank bank);
+
+    /**
+     * Handles deciding whether the answer given was correct or not, and the
+     * corresponding display of the status.  Must set isAnswerCorrect.
+     */
+    protected abstract void HandleSecondPhase();
+
+    /**
+     * Whether the user picked a suggested answer for the current question.
+     *
+     * @return False unless the page offers suggestions.
+     */
+    protected boolean isHintUsed() {
+        return false;
+    }
+
+    /**
+     * Accessor for the app's resources.
+     *
+     * @return The resources of the context the page was inflated in.
+     */
+    protected Resources getResources() {
+        return root.getResources();
+    }
+
+    /**
+     * The query for a question about one entry, worded for the active deck and for
+     * which way round the question is asked.
+     *
+     * @param bank The bank the ID refers to, or its ReversedQuestionBank.
+     * @param id The ID of the entry being asked about.
+     * @return The query text.
+     */
+    protected String Query(QuestionBank bank, int id) {
+        boolean reversed = bank instanceof ReversedQuestionBank;
+        int format;
+
+        switch(DeckOf(bank)) {
+            case WORLD_CAPITALS:
+                format = reversed ? R.string.query_reverse_world_capitals : R.string.query_prefix_world_capitals;
+                break;
+
+            case STATE_ABBREVIATIONS:
+                format = reversed ? R.string.query_reverse_state_abbreviations
+                        : R.string.query_prefix_state_abbreviations;
+                break;
+
+            case STATE_NICKNAMES:
+                format = reversed ? R.string.query_reverse_state_nicknames : R.string.query_prefix_state_nicknames;
+                break;
+
+            default:
+                format = reversed ? R.string.query_reverse : R.string.query_prefix;
+                break;
+        }
+
+        return getResources().getString(format, bank.getStateName(id));
+    }
+
+    /**
+     * The query for a question about all of a question's targets, worded for the
+     * active deck and for which way round the question is asked.  The names are
+     * listed as "A, B and C".
+     *
+     * @param bank The bank the IDs refer to, or its ReversedQuestionBank.
+     * @param question The question whose targets are asked about.
+     * @return The query text.
+     */
+    protected String Query(QuestionBank bank, Question question) {
+        int count = question.getTargetCount();
+
+        if (count == 1) {
+            return Query(bank, question.getTargetId(0));
+        }
+
+        boolean reversed = bank instanceof ReversedQuestionBank;
+        int format;
+
+        switch(DeckOf(bank)) {
+            case WORLD_CAPITALS:
+                format = reversed ? R.string.query_reverse_several_world_capitals
+                        : R.string.query_prefix_several_world_capitals;
+                break;
+
+            case STATE_ABBREVIATIONS:
+                format = reversed ? R.string.query_reverse_several_state_abbreviations
+                        : R.string.query_prefix_several_state_abbreviations;
+                break;
+
+            case STATE_NICKNAMES:
+                format = reversed ? R.string.query_reverse_several_state_nicknames
+                        : R.string.query_prefix_several_state_nicknames;
+                break;
+
+            default:
+                format = reversed ? R.string.query_reverse_several_states : R.string.query_prefix_several_states;
+                break;
+        }
+
+        Resources res = getResources();
+        StringBuilder names = new StringBuilder();
+
+        for(int i = 0; i < count; i++) {
+            if (i > 0) {
+                names.append(res.getString(i == count - 1 ? R.string.list_last_separator : R.string.list_separator));
+            }
+
+            names.append(bank.getStateName(question.getTargetId(i)));
+        }
+
+        return res.getString(format, names.toString());
+    }
+
+    /**
+     * Works out which deck a bank came from, so the query can be worded to suit.
+     *
+     * @param bank The bank being shown, or its ReversedQuestionBank.
+     * @return The active Deck if the bank is the active one and came from a deck,
+     *         otherwise US_CAPITALS.
+     */
+    private static Deck DeckOf(QuestionBank bank) {
+        if (bank instanceof ReversedQuestionBank) {
+            bank = ((ReversedQuestionBank) bank).getForward();
+        }
+
+        Deck deck = QuestionBanks.getActiveDeck();
+        return deck != null && QuestionBanks.getActive() == bank ? deck : Deck.US_CAPITALS;
+    }
+
+    /**
+     * Handles setting the enabled state of the button and it's caption.
+     *
+     * @param enabled Whether or not the button should be enabled.
+     * @param text The caption that should appear on the button.
+     */
+    protected void SetButton(boolean enabled, String text) {
+        Button b = root.findViewById(R.id.next_button);
+        b.setEnabled(enabled);
+        b.setText(text);
+    }
+
+    /**
+     * Helper function to handle the common task of setting a TextView's Text property.
+     *
+     * @param id The ID of the TextView to have the text set.
+     * @param text The text to set for the TextView.
+     */
+    protected void SetTextViewText(int id, String text) {
+        TextView tv = root.findViewById(id);
+        tv.setText(text);
+    }
+
+    /**
+     * Shows whether the answer was right in the page's status line.
+     *
+     * @param color The color to show the status in.
+     * @param text The status to show.
+     */
+    protected void SetStatus(int color, String text) {
+        TextView status = root.findViewById(R.id.answer_state);
+        status.setTextColor(color);
+        status.setText(text);
+    }
+
+    /**
+     * Called both when the user clicks "Check Answer" and when the user clicks "Next
+     * Question".
+     */
+    private void AnswerOnClick() {
+        if (!isSecondPhase) {
+            latencyMillis = (int) Math.min(SystemClock.uptimeMillis() - shownAtMillis, Integer.MAX_VALUE);
+            isSecondPhase = true;
+            long start = System.nanoTime();
+            HandleSecondPhase();
+            Metrics.ANSWER_CHECK.RecordMicrosSince(start);
+            SetButton(true, getResources().getString(R.string.caption_next_question));
+            listener.OnAnswerChecked(isAnswerCorrect, isHintUsed(), latencyMillis);
+        } else {
+            listener.OnNextQuestion();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.statecapitolquiz;
+
+/**
+ * The kinds of question the quiz asks.  Each is shown by its own QuestionPage inside
+ * the QuestionCoordinatorActivity.  How many states a question asks about and how
+ * many answers it offers are set for the session; see AnswerCounts.
+ */
+public enum QuestionType {
+    /**
+     * One state, answered by picking its capitol from a radio group.
+     */
+    RADIO_GROUP,
+    /**
+     * Several states, answered by checking each of their capitols in a list of check
+     * boxes.
+     */
+    CHECK_BOX,
+    /**
+     * One state, answered by typing its capitol.
+     */
+    TEXT_ENTRY
+}
@@ -0,0 +1,58 @@
+package com.example.statecapitolquiz;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The Application for StateCapitolQuiz.  Points the shared DeckCache at the decks in
+ * the app's assets, and empties it when the system runs short of memory.
+ */
+public class QuizApplication extends Application {
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        DeckCache.Install(new DeckCache.Source() {
+            @Override
+            public QuestionBank Open(Deck deck) throws IOException {
+                InputStream in = getAssets().open(deck.getAssetName());
+
+                try {
+                    return QuestionBankLoader.Load(in);
+                } finally {
+                    in.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops cached decks other than the one in play.  Once the app is in the
+     * background or memory is tight, all of them go; otherwise only down to half the
+     * cache's capacity.
+     *
+     * @param level How much memory the system wants back.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        DeckCache cache = DeckCache.getShared();
+
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.TrimTo(0);
+        } else {
+            cache.TrimTo(cache.getCapacity() / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        DeckCache.getShared().TrimTo(0);
+    }
+}
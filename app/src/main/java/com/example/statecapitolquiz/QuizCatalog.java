@@ -0,0 +1,350 @@
+package com.example.statecapitolquiz;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * QuizCatalog is an immutable, in-memory QuestionBank.  The default catalog holds the
+ * fifty states and their capitols; larger catalogs are put together with a Builder,
+ * usually by the QuestionBankLoader.  Every entry is identified by a dense integer ID
+ * running from 0 to size() - 1, and the names are held in plain arrays indexed by
+ * that ID so that question setup never has to allocate anything to look at the
+ * catalog.
+ */
+final class QuizCatalog implements QuestionBank {
+    /**
+     * The state/capitol pairs that make up the default catalog.  Even indices hold
+     * state names, odd indices hold the matching capitol.
+     */
+    private static final String[] DEFAULT_PAIRS = {
+        "Alabama", "Montgomery",
+        "Alaska", "Juneau",
+        "Arizona", "Phoenix",
+        "Arkansas", "Little Rock",
+        "California", "Sacramento",
+        "Colorado", "Denver",
+        "Connecticut", "Hartford",
+        "Delaware", "Dover",
+        "Florida", "Tallahassee",
+        "Georgia", "Atlanta",
+        "Hawaii", "Honolulu",
+        "Idaho", "Boise",
+        "Illinois", "Springfield",
+        "Indiana", "Indianapolis",
+        "Iowa", "Des Moines",
+        "Kansas", "Topeka",
+        "Kentucky", "Frankfort",
+        "Louisiana", "Baton Rouge",
+        "Maine", "Augusta",
+        "Maryland", "Annapolis",
+        "Massachusetts", "Boston",
+        "Michigan", "Lansing",
+        "Minnesota", "Saint Paul",
+        "Mississippi", "Jackson",
+        "Missouri", "Jefferson City",
+        "Montana", "Helena",
+        "Nebraska", "Lincoln",
+        "Nevada", "Carson City",
+        "New Hampshire", "Concord",
+        "New Jersey", "Trenton",
+        "New Mexico", "Santa Fe",
+        "New York", "Albany",
+        "North Carolina", "Raleigh",
+        "North Dakota", "Bismarck",
+        "Ohio", "Columbus",
+        "Oklahoma", "Oklahoma City",
+        "Oregon", "Salem",
+        "Pennsylvania", "Harrisburg",
+        "Rhode Island", "Providence",
+        "South Carolina", "Columbia",
+        "South Dakota", "Pierre",
+        "Tennessee", "Nashville",
+        "Texas", "Austin",
+        "Utah", "Salt Lake City",
+        "Vermont", "Montpelier",
+        "Virginia", "Richmond",
+        "Washington", "Olympia",
+        "West Virginia", "Charleston",
+        "Wisconsin", "Madison",
+        "Wyoming", "Cheyenne"
+    };
+
+    /**
+     * The lazily created default catalog.  Once built it is never replaced.
+     */
+    private static QuizCatalog defaultCatalog = null;
+
+    /**
+     * State names indexed by ID.
+     */
+    private final String[] stateNames;
+
+    /**
+     * Capitol names indexed by ID.
+     */
+    private final String[] capitolNames;
+
+    /**
+     * Maps a case-folded state name to its ID.
+     */
+    private final HashMap<String, Integer> stateIndex;
+
+    /**
+     * Maps a case-folded capitol name to its ID.
+     */
+    private final HashMap<String, Integer> capitolIndex;
+
+    /**
+     * Parameterized constructor.  The arrays and maps are owned by the catalog from
+     * this point on and must not be modified by the caller.
+     *
+     * @param stateNames The state names, indexed by ID.
+     * @param capitolNames The capitol names, indexed by ID.
+     * @param stateIndex Case-folded state name to ID.
+     * @param capitolIndex Case-folded capitol name to ID.
+     */
+    private QuizCatalog(String[] stateNames, String[] capitolNames,
+                        HashMap<String, Integer> stateIndex, HashMap<String, Integer> capitolIndex) {
+        this.stateNames = stateNames;
+        this.capitolNames = capitolNames;
+        this.stateIndex = stateIndex;
+        this.capitolIndex = capitolIndex;
+    }
+
+    /**
+     * Returns the default catalog of the fifty states, building it on first use.
+     *
+     * @return The shared default QuizCatalog.
+     */
+    static synchronized QuizCatalog getDefault() {
+        if (defaultCatalog == null) {
+            Builder builder = new Builder(DEFAULT_PAIRS.length / 2);
+
+            for(int i = 0; i < DEFAULT_PAIRS.length; i += 2) {
+                builder.Add(DEFAULT_PAIRS[i], DEFAULT_PAIRS[i + 1]);
+            }
+
+            defaultCatalog = builder.Build();
+        }
+
+        return defaultCatalog;
+    }
+
+    /**
+     * The number of entries in the catalog.  Valid IDs run from 0 to size() - 1.
+     *
+     * @return The number of entries in the catalog.
+     */
+    @Override
+    public int size() {
+        return stateNames.length;
+    }
+
+    /**
+     * Accessor for the name of the state with the given ID.
+     *
+     * @param id The ID of the state.
+     * @return The name of the state.
+     */
+    @Override
+    public String getStateName(int id) {
+        return stateNames[id];
+    }
+
+    /**
+     * Accessor for the name of the capitol of the state with the given ID.
+     *
+     * @param id The ID of the state.
+     * @return The name of the state's capitol.
+     */
+    @Override
+    public String getCapitolName(int id) {
+        return capitolNames[id];
+    }
+
+    /**
+     * Looks up a state by name, ignoring case.
+     *
+     * @param stateName The name of the state to find.
+     * @return The ID of the state, or -1 if there is no such state.
+     */
+    @Override
+    public int FindByStateName(String stateName) {
+        return Find(stateIndex, stateName);
+    }
+
+    /**
+     * Looks up a state by the name of its capitol, ignoring case.
+     *
+     * @param capitolName The name of the capitol to find.
+     * @return The ID of the state the capitol belongs to, or -1 if there is no such capitol.
+     */
+    @Override
+    public int FindByCapitolName(String capitolName) {
+        return Find(capitolIndex, capitolName);
+    }
+
+    /**
+     * Folds a name to the form used as a key in the lookup indexes.
+     *
+     * @param name The name to fold.
+     * @return The case-folded name.
+     */
+    static String FoldCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Shared lookup logic for both indexes.
+     *
+     * @param index The index to search.
+     * @param name The name to look for.
+     * @return The matching ID, or -1 if the name is not in the index.
+     */
+    private static int Find(HashMap<String, Integer> index, String name) {
+        if (name == null) {
+            return -1;
+        }
+
+        Integer id = index.get(FoldCase(name));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Builder puts a QuizCatalog together one entry at a time.  The lookup indexes are
+     * filled in as entries are added, so building never needs a second pass, and
+     * repeated names are interned so that a large deck only holds one copy of each.
+     */
+    static final class Builder {
+        /**
+         * State names added so far.  Grown as needed.
+         */
+        private String[] stateNames;
+
+        /**
+         * Capitol names added so far.  Grown as needed.
+         */
+        private String[] capitolNames;
+
+        /**
+         * The number of entries added so far.
+         */
+        private int count = 0;
+
+        /**
+         * Case-folded state name to ID, filled as entries are added.
+         */
+        private HashMap<String, Integer> stateIndex;
+
+        /**
+         * Case-folded capitol name to ID, filled as entries are added.
+         */
+        private HashMap<String, Integer> capitolIndex;
+
+        /**
+         * Pool used to intern names, so that equal names share a single String.
+         */
+        private HashMap<String, String> namePool;
+
+        /**
+         * Parameterized constructor.
+         *
+         * @param expectedSize The number of entries expected.  Only used to size the
+         *                     initial arrays; more entries may be added.
+         */
+        Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+
+            stateNames = new String[capacity];
+            capitolNames = new String[capacity];
+            stateIndex = new HashMap<>(capacity * 4 / 3 + 1);
+            capitolIndex = new HashMap<>(capacity * 4 / 3 + 1);
+            namePool = new HashMap<>(capacity * 4 / 3 + 1);
+        }
+
+        /**
+         * The number of entries added so far.
+         *
+         * @return The number of entries added so far.
+         */
+        int size() {
+            return count;
+        }
+
+        /**
+         * Adds an entry to the catalog under construction.  The entry's ID is the number
+         * of entries added before it.
+         *
+         * @param stateName The name of the state.
+         * @param capitolName The name of the state's capitol.
+         * @return The ID given to the new entry.
+         */
+        int Add(String stateName, String capitolName) {
+            if (stateNames == null) {
+                throw new IllegalStateException("Build() has already been called.");
+            }
+
+            if (count == stateNames.length) {
+                stateNames = Arrays.copyOf(stateNames, count * 2);
+                capitolNames = Arrays.copyOf(capitolNames, count * 2);
+            }
+
+            int id = count++;
+            stateNames[id] = Intern(stateName);
+            capitolNames[id] = Intern(capitolName);
+
+            // The first entry with a given name wins the lookup.
+            String stateKey = FoldCase(stateName);
+            if (!stateIndex.containsKey(stateKey)) {
+                stateIndex.put(stateKey, id);
+            }
+
+            String capitolKey = FoldCase(capitolName);
+            if (!capitolIndex.containsKey(capitolKey)) {
+                capitolIndex.put(capitolKey, id);
+            }
+
+            return id;
+        }
+
+        /**
+         * Finishes the catalog.  The builder can't be used after this.
+         *
+         * @return The completed QuizCatalog.
+         */
+        QuizCatalog Build() {
+            if (stateNames == null) {
+                throw new IllegalStateException("Build() has already been called.");
+            }
+
+            QuizCatalog catalog = new QuizCatalog(Arrays.copyOf(stateNames, count),
+                    Arrays.copyOf(capitolNames, count), stateIndex, capitolIndex);
+
+            stateNames = null;
+            capitolNames = null;
+            stateIndex = null;
+            capitolIndex = null;
+            namePool = null;
+
+            return catalog;
+        }
+
+        /**
+         * Returns the pooled copy of the given name, adding it to the pool if needed.
+         *
+         * @param name The name to intern.
+         * @return A String equal to name that is shared by every equal name added.
+         */
+        private String Intern(String name) {
+            String pooled = namePool.get(name);
+
+            if (pooled == null) {
+                namePool.put(name, name);
+                pooled = name;
+            }
+
+            return pooled;
+        }
+    }
+}
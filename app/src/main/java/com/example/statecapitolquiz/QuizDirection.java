@@ -0,0 +1,20 @@
+package com.example.statecapitolquiz;
+
+/**
+ * Which way round a QuizSession asks its questions.
+ */
+public enum QuizDirection {
+    /**
+     * Name the capitol of a state: the state is shown and the capitol is the answer.
+     */
+    FORWARD,
+    /**
+     * Name the state a capitol belongs to: the capitol, abbreviation or other answer
+     * is shown and the state is the answer.
+     */
+    REVERSE,
+    /**
+     * Each question is asked one way or the other at random.
+     */
+    MIXED
+}
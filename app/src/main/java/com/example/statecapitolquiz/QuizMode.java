@@ -0,0 +1,16 @@
+package com.example.statecapitolquiz;
+
+/**
+ * How a QuizSession chooses the states to ask about.
+ */
+public enum QuizMode {
+    /**
+     * Each state is asked about at most once, in random order.
+     */
+    RANDOM,
+    /**
+     * States are asked about when the RecallScheduler says they're due, so the ones
+     * the user gets wrong come back and the ones they know are left for longer.
+     */
+    SPACED_REPETITION
+}
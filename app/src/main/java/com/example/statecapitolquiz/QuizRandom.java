@@ -0,0 +1,158 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * QuizRandom is the random number generator behind a quiz session.  It's a SplitMix64
+ * generator: the whole state is one long, which is stepped by a constant and then
+ * scrambled, so it's cheap, needs no locking and can be saved and restored exactly.
+ * Two generators created with the same seed produce the same numbers, so a session
+ * created with a known seed can be replayed draw for draw.
+ *
+ * It extends java.util.Random so that it can be handed to anything that takes one,
+ * but unlike java.util.Random it isn't thread safe: each session owns its generator,
+ * and anything that needs its own stream should Split() one off.
+ */
+final class QuizRandom extends Random {
+    /**
+     * The serialized form is java.util.Random's fields plus the state, which hasn't
+     * changed since QuizRandom was added.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The amount the state is stepped by for every number, the odd integer closest to
+     * 2^64 divided by the golden ratio.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param seed The seed.  Generators with the same seed produce the same numbers.
+     */
+    QuizRandom(long seed) {
+        super(0);
+        this.state = seed;
+    }
+
+    /**
+     * Makes up a seed for a session that doesn't need to be reproduced.
+     *
+     * @return A seed that differs from call to call.
+     */
+    static long NewSeed() {
+        return Mix64(System.currentTimeMillis() ^ Mix64(System.nanoTime()));
+    }
+
+    /**
+     * Creates one of many independent generators derived from a single seed, such as
+     * one per simulated session, so that each can be reproduced on its own.
+     *
+     * @param seed The seed shared by every stream.
+     * @param stream The stream's number.
+     * @return The generator for that stream.
+     */
+    static QuizRandom ForStream(long seed, long stream) {
+        return new QuizRandom(Mix64(seed + (stream + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Accessor for the generator's state, which is all that's needed to carry on from
+     * where it is.
+     *
+     * @return The state, which can be passed to setSeed() or the constructor.
+     */
+    long getState() {
+        return state;
+    }
+
+    /**
+     * Sets the generator's state.
+     *
+     * @param seed The new state, such as one returned by getState().
+     */
+    @Override
+    public void setSeed(long seed) {
+        state = seed;
+    }
+
+    /**
+     * Creates a new generator whose numbers don't depend on this one's later numbers.
+     * Takes one number from this generator.
+     *
+     * @return The new generator.
+     */
+    QuizRandom Split() {
+        return new QuizRandom(Mix64(nextLong() ^ GOLDEN_GAMMA));
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return Mix64(state);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a uniformly distributed number from 0 up to but not including bound.
+     * Uses a multiply and shift rather than a division, only rejecting a number in the
+     * rare case that it would bias the result.
+     *
+     * @param bound The upper bound.  Must be positive.
+     * @return The number.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        long product = (nextLong() >>> 32) * bound;
+
+        if ((product & 0xffffffffL) < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+
+            while((product & 0xffffffffL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * The SplitMix64 finalizer, which scrambles the bits of a long.
+     */
+    private static long Mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
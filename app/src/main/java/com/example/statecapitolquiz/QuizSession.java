@@ -0,0 +1,794 @@
+package com.example.statecapitolquiz;
+
+import java.util.BitSet;
+
+/**
+ * QuizSession runs one pass through the quiz: it draws each question, picking the
+ * states to ask about from those not yet used and the incorrect answers to offer, and
+ * keeps score.  It knows nothing about how questions are displayed, which is the
+ * QuestionCoordinatorActivity's job, and has no Android dependencies.
+ *
+ * A session can be saved with Snapshot() and brought back with Restore(), so that a
+ * quiz survives the process being killed.  The snapshot records which states have
+ * been used, the result of every question and the question being asked, in a few
+ * dozen bytes for the 50 states.
+ *
+ * Questions ask for the capitols of the states shown, or in reverse for the states of
+ * the capitols shown, as set by the session's QuizDirection.  A mixed session picks
+ * the direction of each question at random.
+ *
+ * The type of every question is planned when the session starts (see SessionPlan),
+ * so that a session never asks for more states than are left.  If the bank is too
+ * small for the number of questions asked for, the session is shortened to fit.
+ * How many answers the multiple choice questions offer, and how many states a check
+ * box question asks about, are set for the session by its AnswerCounts.
+ *
+ * Every random choice the session makes, from the states asked about, the type and
+ * direction of each question to the incorrect answers and their order, comes from
+ * its QuizRandom.
+ * A session created with the same seed and given the same answers asks the same
+ * questions.  The generator's state is saved in the snapshot, so a restored session
+ * carries on with the numbers the original would have drawn next.
+ *
+ * The next question can be drawn ahead of time with PrepareNextQuestion(), on a
+ * background thread while the user reads the feedback on their answer, and then
+ * becomes the current question when NextQuestion() is called.  The methods that draw
+ * questions, record answers or take snapshots are synchronized so that this is safe.
+ */
+final class QuizSession {
+    /**
+     * Format version written at the start of every snapshot.
+     */
+    private static final int SNAPSHOT_VERSION = 5;
+
+    /**
+     * Snapshot flag bits.
+     */
+    private static final int FLAG_HARD_MODE = 1;
+    private static final int FLAG_HINT_PENALTY = 2;
+    private static final int FLAG_HAS_QUESTION = 4;
+    private static final int FLAG_SPACED_REPETITION = 8;
+    private static final int FLAG_REVERSE = 16;
+    private static final int FLAG_MIXED = 32;
+    private static final int FLAG_QUESTION_REVERSED = 64;
+
+    /**
+     * How the used IDs are stored in a snapshot: one bit per ID in the bank, or a
+     * count followed by the gaps between them in ascending order.  Whichever is
+     * smaller is written.
+     */
+    private static final int USED_AS_BITS = 0;
+    private static final int USED_AS_GAPS = 1;
+
+    /**
+     * The states and capitols being asked about.
+     */
+    private final QuestionBank bank;
+
+    /**
+     * The number of questions to ask: the number the user asked for, or as many as the
+     * bank can supply if that's fewer.
+     */
+    private final int questionCount;
+
+    /**
+     * How the states to ask about are chosen.
+     */
+    private final QuizMode mode;
+
+    /**
+     * Which way round the questions are asked.
+     */
+    private final QuizDirection direction;
+
+    /**
+     * The number of answers each multiple choice question offers, and of states each
+     * check box question asks about.
+     */
+    private final AnswerCounts answerCounts;
+
+    /**
+     * Whether the multiple choice questions use similar capitols as their incorrect
+     * answers.
+     */
+    private final boolean hardMode;
+
+    /**
+     * Whether typed answers picked from the suggestions count as wrong.
+     */
+    private final boolean hintPenalty;
+
+    /**
+     * Draws the states, the plan seed, and the order of the answers.
+     */
+    private final QuizRandom random;
+
+    /**
+     * The QuestionBank IDs of the states which have not yet been asked about.
+     */
+    private final IndexDeck availableQuestions;
+
+    /**
+     * Picks the incorrect answers for each question and shuffles them in.
+     */
+    private final QuestionGenerator generator;
+
+    /**
+     * Chooses the states in spaced repetition mode.  Null in random mode.
+     */
+    private final RecallScheduler scheduler;
+
+    /**
+     * Seeds the random number generator the plan is drawn with, so that a restored
+     * session can draw the same plan again.
+     */
+    private long planSeed;
+
+    /**
+     * The type of every question.
+     */
+    private SessionPlan plan;
+
+    /**
+     * The question being asked, or null before the first one is drawn.
+     */
+    private Question currentQuestion = null;
+
+    /**
+     * Whether the answer to the current question has been recorded.
+     */
+    private boolean currentAnswered = false;
+
+    /**
+     * The question drawn ahead of time by PrepareNextQuestion(), or null.  Its states
+     * are already marked as used.
+     */
+    private Question preparedQuestion = null;
+
+    /**
+     * The number of questions answered so far.
+     */
+    private int questionsAsked = 0;
+
+    /**
+     * The number of those answered correctly.
+     */
+    private int questionsCorrect = 0;
+
+    /**
+     * Bit i is set if question i was answered correctly.
+     */
+    private final BitSet correctResults = new BitSet();
+
+    /**
+     * Bit i is set if the user picked a suggested answer for question i.
+     */
+    private final BitSet hintResults = new BitSet();
+
+    /**
+     * The number of questions in which the user picked a suggested answer.
+     */
+    private int hintsUsed = 0;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param bank The bank to ask about.
+     * @param questionCount The number of questions to ask.
+     * @param mode How to choose the states to ask about.
+     * @param hardMode Whether to offer similar capitols as incorrect answers.
+     * @param hintPenalty Whether typed answers picked from the suggestions count as wrong.
+     * @param random The random number generator to draw questions with.  The session
+     *               takes it over.
+     */
+    QuizSession(QuestionBank bank, int questionCount, QuizMode mode, boolean hardMode, boolean hintPenalty,
+                QuizRandom random) {
+        this(bank, questionCount, mode, QuizDirection.FORWARD, AnswerCounts.DEFAULT, hardMode, hintPenalty, random,
+                null);
+    }
+
+    /**
+     * Parameterized constructor for a session which may ask its questions in reverse.
+     *
+     * @param bank The bank to ask about.
+     * @param questionCount The number of questions to ask.
+     * @param mode How to choose the states to ask about.
+     * @param direction Which way round to ask the questions.
+     * @param hardMode Whether to offer similar capitols as incorrect answers.
+     * @param hintPenalty Whether typed answers picked from the suggestions count as wrong.
+     * @param random The random number generator to draw questions with.  The session
+     *               takes it over.
+     */
+    QuizSession(QuestionBank bank, int questionCount, QuizMode mode, QuizDirection direction, boolean hardMode,
+                boolean hintPenalty, QuizRandom random) {
+        this(bank, questionCount, mode, direction, AnswerCounts.DEFAULT, hardMode, hintPenalty, random, null);
+    }
+
+    /**
+     * Parameterized constructor which can be given the RecallScheduler to use, for
+     * the app, which keeps one per deck, and the simulator, which runs many learners
+     * side by side.
+     *
+     * @param bank The bank to ask about.
+     * @param questionCount The number of questions to ask.
+     * @param mode How to choose the states to ask about.
+     * @param hardMode Whether to offer similar capitols as incorrect answers.
+     * @param hintPenalty Whether typed answers picked from the suggestions count as wrong.
+     * @param random The random number generator to draw questions with.  The session
+     *               takes it over.
+     * @param scheduler The scheduler for spaced repetition mode, or null for a new
+     *                  one in which every item is new.  Ignored in random mode.
+     */
+    QuizSession(QuestionBank bank, int questionCount, QuizMode mode, boolean hardMode, boolean hintPenalty,
+                QuizRandom random, RecallScheduler scheduler) {
+        this(bank, questionCount, mode, QuizDirection.FORWARD, AnswerCounts.DEFAULT, hardMode, hintPenalty, random,
+                scheduler);
+    }
+
+    /**
+     * Parameterized constructor taking every setting.
+     *
+     * @param bank The bank to ask about.
+     * @param questionCount The number of questions to ask.  In random mode, no more
+     *                      are asked than the bank can supply.
+     * @param mode How to choose the states to ask about.
+     * @param direction Which way round to ask the questions.
+     * @param answerCounts The number of answers each multiple choice question offers
+     *                     and of states each check box question asks about.
+     * @param hardMode Whether to offer similar capitols as incorrect answers.
+     * @param hintPenalty Whether typed answers picked from the suggestions count as wrong.
+     * @param random The random number generator to draw questions with.  The session
+     *               takes it over.
+     * @param scheduler The scheduler for spaced repetition mode, or null for a new
+     *                  one in which every item is new.  Ignored in random mode.
+     */
+    QuizSession(QuestionBank bank, int questionCount, QuizMode mode, QuizDirection direction,
+                AnswerCounts answerCounts, boolean hardMode, boolean hintPenalty, QuizRandom random,
+                RecallScheduler scheduler) {
+        this.bank = bank;
+        this.planSeed = random.nextLong();
+        this.plan = SessionPlan.Build(questionCount, bank.size(), mode == QuizMode.SPACED_REPETITION, answerCounts,
+                new QuizRandom(planSeed));
+        this.questionCount = plan.size();
+        this.mode = mode;
+        this.direction = direction;
+        this.answerCounts = answerCounts;
+        this.hardMode = hardMode;
+        this.hintPenalty = hintPenalty;
+        this.random = random;
+        this.availableQuestions = new IndexDeck(bank.size());
+        this.generator = new QuestionGenerator(bank);
+
+        if (mode != QuizMode.SPACED_REPETITION) {
+            this.scheduler = null;
+        } else if (scheduler != null) {
+            this.scheduler = scheduler;
+        } else {
+            this.scheduler = new RecallScheduler(bank.size(), random.Split());
+        }
+    }
+
+    /**
+     * Accessor for the bank being asked about.
+     *
+     * @return The QuestionBank.
+     */
+    QuestionBank getBank() {
+        return bank;
+    }
+
+    /**
+     * Accessor for the number of questions in the session.
+     *
+     * @return The number of questions planned, which may be fewer than asked for.
+     */
+    int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * Accessor for the number of questions answered so far.
+     *
+     * @return The number of questions answered.
+     */
+    int getQuestionsAsked() {
+        return questionsAsked;
+    }
+
+    /**
+     * Accessor for the number of questions answered correctly.
+     *
+     * @return The number of correct answers.
+     */
+    int getQuestionsCorrect() {
+        return questionsCorrect;
+    }
+
+    /**
+     * Accessor for the number of questions in which a suggested answer was picked.
+     *
+     * @return The number of hints used.
+     */
+    int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    /**
+     * Accessor for how the states are chosen.
+     *
+     * @return The QuizMode.
+     */
+    QuizMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Accessor for which way round the questions are asked.
+     *
+     * @return The QuizDirection.
+     */
+    QuizDirection getDirection() {
+        return direction;
+    }
+
+    /**
+     * Accessor for the shape of the multiple choice questions.
+     *
+     * @return The AnswerCounts.
+     */
+    AnswerCounts getAnswerCounts() {
+        return answerCounts;
+    }
+
+    /**
+     * Determines whether the multiple choice questions use similar capitols as their
+     * incorrect answers.
+     *
+     * @return True in hard mode.
+     */
+    boolean isHardMode() {
+        return hardMode;
+    }
+
+    /**
+     * Determines whether typed answers picked from the suggestions count as wrong.
+     *
+     * @return True if picking a suggestion is penalized.
+     */
+    boolean isHintPenalty() {
+        return hintPenalty;
+    }
+
+    /**
+     * The result of an answered question.
+     *
+     * @param index The question's number, from 0 up to getQuestionsAsked() - 1.
+     * @return True if it was answered correctly.
+     */
+    boolean wasCorrect(int index) {
+        return correctResults.get(index);
+    }
+
+    /**
+     * Whether a suggested answer was picked for an answered question.
+     *
+     * @param index The question's number, from 0 up to getQuestionsAsked() - 1.
+     * @return True if the user picked a suggestion.
+     */
+    boolean wasHintUsed(int index) {
+        return hintResults.get(index);
+    }
+
+    /**
+     * Determines whether a state has been asked about in this session.
+     *
+     * @param id The state's QuestionBank ID.
+     * @return True if it's been used.
+     */
+    boolean isUsed(int id) {
+        return !availableQuestions.contains(id);
+    }
+
+    /**
+     * Accessor for the question being asked.
+     *
+     * @return The current Question, or null if NextQuestion() hasn't been called yet.
+     */
+    synchronized Question getCurrentQuestion() {
+        return currentQuestion;
+    }
+
+    /**
+     * Whether the answer to the current question has been recorded, so that the user
+     * is looking at the feedback rather than the question.
+     *
+     * @return True once RecordAnswer() has been called for the current question.
+     */
+    synchronized boolean isCurrentAnswered() {
+        return currentAnswered;
+    }
+
+    /**
+     * Whether the next question has already been drawn by PrepareNextQuestion().
+     *
+     * @return True if NextQuestion() will hand over a prepared question.
+     */
+    synchronized boolean hasPreparedQuestion() {
+        return preparedQuestion != null;
+    }
+
+    /**
+     * Determines whether every question has been answered.
+     *
+     * @return True once the requested number of answers has been recorded.
+     */
+    synchronized boolean isFinished() {
+        return questionsAsked >= questionCount;
+    }
+
+    /**
+     * Moves on to the next question: the one drawn by PrepareNextQuestion() if there
+     * is one, or else a new one of the type the plan has for it.
+     *
+     * @return The new current Question.
+     * @throws IllegalStateException If the quiz is finished.
+     */
+    synchronized Question NextQuestion() {
+        Question next = preparedQuestion;
+
+        if (next == null) {
+            next = Draw(PlannedType());
+        }
+
+        preparedQuestion = null;
+        currentQuestion = next;
+        currentAnswered = false;
+        return next;
+    }
+
+    /**
+     * Draws the question that will follow the current one, so that NextQuestion() only
+     * has to hand it over.  Meant to be called off the main thread once the current
+     * question's answer has been recorded, as in spaced repetition mode that answer
+     * decides what's asked next.  Does nothing if the current question hasn't been
+     * answered, a question is already prepared, or the quiz is finished.
+     *
+     * @return The prepared question, or null if none was needed.
+     */
+    synchronized Question PrepareNextQuestion() {
+        if (preparedQuestion == null && (currentQuestion == null || currentAnswered) && !isFinished()) {
+            preparedQuestion = Draw(PlannedType());
+        }
+
+        return preparedQuestion;
+    }
+
+    /**
+     * Draws a question of a given type.  In random mode the states asked about are
+     * drawn from those not yet used; in spaced repetition mode they're the ones the
+     * RecallScheduler has due soonest.  Either way they're marked as used, and for
+     * multiple choice questions the incorrect answers are picked and everything
+     * shuffled.
+     */
+    private Question Draw(QuestionType type) {
+        int[] targetIds = new int[answerCounts.getTargetCount(type)];
+
+        if (scheduler == null && targetIds.length > availableQuestions.size()) {
+            throw new IllegalStateException("Only " + availableQuestions.size() + " states are left for a "
+                    + type + " question.");
+        }
+
+        if (scheduler != null) {
+            if (scheduler.PickNext(targetIds.length, targetIds) < targetIds.length) {
+                throw new IllegalStateException("The bank is too small for a " + type + " question.");
+            }
+
+            for(int id : targetIds) {
+                availableQuestions.Remove(id);
+            }
+        } else {
+            for(int i = 0; i < targetIds.length; i++) {
+                targetIds[i] = availableQuestions.DrawAndRemove(random);
+            }
+        }
+
+        Question question = generator.Generate(type, targetIds, answerCounts.getAnswerCount(type), hardMode, random);
+        return RandomReversed() ? question.Reversed() : question;
+    }
+
+    /**
+     * Picks the direction of the next question: the session's, or at random if it's
+     * mixed.  Forward and reverse sessions don't draw from the generator, so they ask
+     * the same states as a forward session with the same seed.
+     */
+    private boolean RandomReversed() {
+        switch(direction) {
+            case REVERSE:
+                return true;
+
+            case MIXED:
+                return random.nextBoolean();
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The type the plan has for the next question.
+     */
+    private QuestionType PlannedType() {
+        if (questionsAsked >= plan.size()) {
+            throw new IllegalStateException("Every planned question has been asked.");
+        }
+
+        return plan.getType(questionsAsked);
+    }
+
+    /**
+     * Records the user's answer to the current question.
+     *
+     * @param correct Whether the answer counted as correct.
+     * @param hintUsed Whether the user picked a suggested answer.
+     */
+    synchronized void RecordAnswer(boolean correct, boolean hintUsed) {
+        correctResults.set(questionsAsked, correct);
+        hintResults.set(questionsAsked, hintUsed);
+        questionsAsked++;
+
+        if (correct)
+            questionsCorrect++;
+
+        if (hintUsed)
+            hintsUsed++;
+
+        if (scheduler != null && currentQuestion != null) {
+            int quality = RecallScheduler.QualityOf(correct, hintUsed);
+
+            for(int i = 0; i < currentQuestion.getTargetCount(); i++) {
+                scheduler.Review(currentQuestion.getTargetId(i), quality);
+            }
+
+            scheduler.EndQuestion();
+        }
+
+        currentAnswered = true;
+    }
+
+    /**
+     * Saves the session's progress, including the state of its random number
+     * generator.  The bank isn't included; Restore() is given it again.  Neither is
+     * the RecallScheduler, which outlives the session and is saved with the deck's
+     * answer history.
+     *
+     * The question saved is the one the user should see next: the current question
+     * if it hasn't been answered, or else the prepared one if there is one.  Either
+     * way its states are among those saved as used.
+     *
+     * @return The snapshot.
+     */
+    synchronized byte[] Snapshot() {
+        int bankSize = bank.size();
+        Question pending = currentAnswered ? preparedQuestion : currentQuestion;
+        SnapshotWriter out = new SnapshotWriter(32);
+
+        out.WriteByte(SNAPSHOT_VERSION);
+        out.WriteVarInt(bankSize);
+        out.WriteVarInt(questionCount);
+        out.WriteVarInt(answerCounts.getChoiceCount());
+        out.WriteVarInt(answerCounts.getCheckBoxTargetCount());
+        out.WriteByte((hardMode ? FLAG_HARD_MODE : 0)
+                | (hintPenalty ? FLAG_HINT_PENALTY : 0)
+                | (pending != null ? FLAG_HAS_QUESTION : 0)
+                | (mode == QuizMode.SPACED_REPETITION ? FLAG_SPACED_REPETITION : 0)
+                | (direction == QuizDirection.REVERSE ? FLAG_REVERSE : 0)
+                | (direction == QuizDirection.MIXED ? FLAG_MIXED : 0)
+                | (pending != null && pending.isReversed() ? FLAG_QUESTION_REVERSED : 0));
+        out.WriteLong(random.getState());
+        out.WriteLong(planSeed);
+        out.WriteVarInt(questionsAsked);
+        out.WriteBits(correctResults, questionsAsked);
+        out.WriteBits(hintResults, questionsAsked);
+        WriteUsedIds(out);
+
+        if (pending != null) {
+            out.WriteByte(pending.getType().ordinal());
+
+            for(int i = 0; i < pending.getTargetCount(); i++) {
+                out.WriteVarInt(pending.getTargetId(i));
+            }
+
+            for(int i = 0; i < pending.getAnswerCount(); i++) {
+                out.WriteVarInt(pending.getAnswerId(i));
+            }
+        }
+
+        return out.ToByteArray();
+    }
+
+    /**
+     * Brings back a session saved with Snapshot().  Snapshots only live as long as
+     * the app's saved instance state, which never outlives an update, so only the
+     * current format is read.
+     *
+     * @param snapshot The snapshot.
+     * @param bank The bank the session was asking about.
+     * @return The restored session.
+     * @throws IllegalArgumentException If the snapshot is malformed or was taken
+     *         against a bank of a different size.
+     */
+    static QuizSession Restore(byte[] snapshot, QuestionBank bank) {
+        return Restore(snapshot, bank, null);
+    }
+
+    /**
+     * Brings back a saved session, carrying on with the given RecallScheduler.
+     *
+     * @param snapshot The snapshot.
+     * @param bank The bank the session was asking about.
+     * @param scheduler The scheduler for a spaced repetition session, or null for a
+     *                  new one in which every item is new.  Ignored in random mode.
+     * @return The restored session.
+     * @throws IllegalArgumentException If the snapshot is malformed or was taken
+     *         against a bank of a different size.
+     */
+    static QuizSession Restore(byte[] snapshot, QuestionBank bank, RecallScheduler scheduler) {
+        SnapshotReader in = new SnapshotReader(snapshot);
+
+        int version = in.ReadByte();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unsupported session snapshot version " + version + ".");
+        }
+
+        int bankSize = in.ReadVarInt();
+        if (bankSize != bank.size()) {
+            throw new IllegalArgumentException("Snapshot is for a bank of " + bankSize
+                    + " entries, not " + bank.size() + ".");
+        }
+
+        int questionCount = in.ReadVarInt();
+        int choiceCount = in.ReadVarInt();
+        AnswerCounts answerCounts = new AnswerCounts(choiceCount, in.ReadVarInt());
+        int flags = in.ReadByte();
+        long randomState = in.ReadLong();
+        QuizMode mode = (flags & FLAG_SPACED_REPETITION) != 0 ? QuizMode.SPACED_REPETITION : QuizMode.RANDOM;
+        QuizDirection direction = (flags & FLAG_MIXED) != 0 ? QuizDirection.MIXED
+                : (flags & FLAG_REVERSE) != 0 ? QuizDirection.REVERSE : QuizDirection.FORWARD;
+        QuizRandom random = new QuizRandom(randomState);
+        QuizSession session = new QuizSession(bank, questionCount, mode, direction, answerCounts,
+                (flags & FLAG_HARD_MODE) != 0, (flags & FLAG_HINT_PENALTY) != 0, random, scheduler);
+
+        // Creating the session drew from the generator; put it back.
+        random.setSeed(randomState);
+
+        session.planSeed = in.ReadLong();
+        session.plan = SessionPlan.Build(questionCount, bank.size(), mode == QuizMode.SPACED_REPETITION,
+                answerCounts, new QuizRandom(session.planSeed));
+
+        if (session.plan.size() != questionCount) {
+            throw new IllegalArgumentException("Snapshot asks " + questionCount + " questions of a bank of "
+                    + bank.size() + ".");
+        }
+
+        session.questionsAsked = in.ReadVarInt();
+        in.ReadBits(session.correctResults, session.questionsAsked);
+        in.ReadBits(session.hintResults, session.questionsAsked);
+        session.questionsCorrect = session.correctResults.cardinality();
+        session.hintsUsed = session.hintResults.cardinality();
+        session.ReadUsedIds(in);
+
+        if ((flags & FLAG_HAS_QUESTION) != 0) {
+            QuestionType[] types = QuestionType.values();
+            int typeIndex = in.ReadByte();
+            if (typeIndex >= types.length) {
+                throw new IllegalArgumentException("Unknown question type " + typeIndex + ".");
+            }
+
+            QuestionType type = types[typeIndex];
+            int[] targetIds = new int[answerCounts.getTargetCount(type)];
+            int[] answerIds = new int[answerCounts.getAnswerCount(type)];
+
+            for(int i = 0; i < targetIds.length; i++) {
+                targetIds[i] = session.ReadId(in);
+            }
+
+            for(int i = 0; i < answerIds.length; i++) {
+                answerIds[i] = session.ReadId(in);
+            }
+
+            session.currentQuestion = new Question(type, targetIds, answerIds,
+                    (flags & FLAG_QUESTION_REVERSED) != 0);
+        }
+
+        if (!in.isAtEnd()) {
+            throw new IllegalArgumentException("Unexpected data after the session snapshot.");
+        }
+
+        return session;
+    }
+
+    /**
+     * Writes the IDs that have been used, choosing between a bit per ID in the bank
+     * and the gaps between used IDs by which is smaller.
+     */
+    private void WriteUsedIds(SnapshotWriter out) {
+        int bankSize = bank.size();
+        int usedCount = bankSize - availableQuestions.size();
+        int gapBytes = SnapshotWriter.VarIntLength(usedCount);
+        int previous = -1;
+
+        for(int id = 0; id < bankSize; id++) {
+            if (!availableQuestions.contains(id)) {
+                gapBytes += SnapshotWriter.VarIntLength(id - previous - 1);
+                previous = id;
+            }
+        }
+
+        if (gapBytes < (bankSize + 7) / 8) {
+            out.WriteByte(USED_AS_GAPS);
+            out.WriteVarInt(usedCount);
+            previous = -1;
+
+            for(int id = 0; id < bankSize; id++) {
+                if (!availableQuestions.contains(id)) {
+                    out.WriteVarInt(id - previous - 1);
+                    previous = id;
+                }
+            }
+        } else {
+            BitSet used = new BitSet(bankSize);
+
+            for(int id = 0; id < bankSize; id++) {
+                used.set(id, !availableQuestions.contains(id));
+            }
+
+            out.WriteByte(USED_AS_BITS);
+            out.WriteBits(used, bankSize);
+        }
+    }
+
+    /**
+     * Reads the used IDs written by WriteUsedIds() and removes them from the deck.
+     */
+    private void ReadUsedIds(SnapshotReader in) {
+        int bankSize = bank.size();
+        int encoding = in.ReadByte();
+
+        if (encoding == USED_AS_GAPS) {
+            int usedCount = in.ReadVarInt();
+            int id = -1;
+
+            for(int i = 0; i < usedCount; i++) {
+                id += in.ReadVarInt() + 1;
+
+                if (id >= bankSize) {
+                    throw new IllegalArgumentException("Used ID " + id + " is outside the bank.");
+                }
+
+                availableQuestions.Remove(id);
+            }
+        } else if (encoding == USED_AS_BITS) {
+            BitSet used = new BitSet(bankSize);
+            in.ReadBits(used, bankSize);
+
+            for(int id = used.nextSetBit(0); id >= 0; id = used.nextSetBit(id + 1)) {
+                availableQuestions.Remove(id);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown used ID encoding " + encoding + ".");
+        }
+    }
+
+    /**
+     * Reads a QuestionBank ID, checking that it's in the bank.
+     */
+    private int ReadId(SnapshotReader in) {
+        int id = in.ReadVarInt();
+
+        if (id >= bank.size()) {
+            throw new IllegalArgumentException("ID " + id + " is outside the bank.");
+        }
+
+        return id;
+    }
+}
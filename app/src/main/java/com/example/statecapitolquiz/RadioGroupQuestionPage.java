@@ -0,0 +1,115 @@
+package com.example.statecapitolquiz;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.RadioButton;
+import android.widget.RadioGroup;
+
+/**
+ * Page which takes care of presenting a question about one state, answered by picking
+ * its capitol from a radio group.
+ */
+class RadioGroupQuestionPage extends QuestionPage {
+    /**
+     * The QuestionBank ID of the state being asked about.
+     */
+    private int targetId = -1;
+
+    /**
+     * The radio buttons, reused from one question to the next.
+     */
+    private final AnswerRows<RadioButton> answerRows;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param root The inflated view_radio_group_question layout.
+     * @param listener Receives the result of each question.
+     */
+    RadioGroupQuestionPage(View root, Listener listener) {
+        super(root, listener);
+
+        RadioGroup rg = root.findViewById(R.id.answers);
+
+        answerRows = new AnswerRows<RadioButton>(rg, null) {
+            @Override
+            RadioButton NewRow(Context context) {
+                return new RadioButton(context);
+            }
+        };
+
+        // This event handler keeps the Check Answer button disabled until a selection is made.
+        rg.setOnCheckedChangeListener(new RadioGroup.OnCheckedChangeListener() {
+            @Override
+            public void onCheckedChanged(RadioGroup group, int checkedId) {
+                if (checkedId != View.NO_ID && !isSecondPhase) {
+                    SetButton(true, getResources().getString(R.string.caption_check_answer));
+                }
+            }
+        });
+    }
+
+    /**
+     * Shows a question, rebinding the radio buttons to the question's answers.
+     *
+     * @param question The question to show.
+     * @param bank The bank the question's IDs refer to.
+     */
+    @Override
+    void Bind(Question question, QuestionBank bank) {
+        Resources res = getResources();
+        targetId = question.getTargetId(0);
+
+        // Reset the variable tracking whether we've told the user that they're correct.
+        isSecondPhase = false;
+        isAnswerCorrect = false;
+
+        // Set the query TextView up to display the question.
+        SetTextViewText(R.id.query, Query(bank, targetId));
+
+        // Clear the group's selection first, so it doesn't see the rows being
+        // unchecked as a new selection.
+        RadioGroup rg = root.findViewById(R.id.answers);
+        rg.clearCheck();
+        answerRows.Bind(question, bank);
+
+        SetButton(false, res.getString(R.string.caption_check_answer));
+        SetTextViewText(R.id.answer_state, "");
+    }
+
+    /**
+     * Handles highlighting the correct answer in green.
+     */
+    private void HighlightCorrectAnswer() {
+        // Correctness goes by the ID each row is bound to, never by the text shown.
+        for(int i = 0; i < answerRows.size(); i++) {
+            if (answerRows.getAnswerId(i) == targetId) {
+                answerRows.get(i).setTextColor(Color.GREEN);
+            }
+        }
+    }
+
+    /**
+     * Handles deciding whether the answer given was correct or not, and the corresponding
+     * display of the status.
+     */
+    @Override
+    protected void HandleSecondPhase() {
+        HighlightCorrectAnswer();
+
+        RadioGroup rg = root.findViewById(R.id.answers);
+        int checked = answerRows.IndexOf(rg.findViewById(rg.getCheckedRadioButtonId()));
+        RadioButton rb = answerRows.get(checked);
+
+        isAnswerCorrect = (answerRows.getAnswerId(checked) == targetId);
+        int color = isAnswerCorrect ? Color.GREEN : Color.RED;
+
+        Resources res = getResources();
+        String statusText = res.getString(isAnswerCorrect ? R.string.status_correct : R.string.status_incorrect);
+
+        rb.setTextColor(color);
+        SetStatus(color, statusText);
+    }
+}
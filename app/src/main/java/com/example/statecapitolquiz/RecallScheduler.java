@@ -0,0 +1,312 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * RecallScheduler decides which states to ask about in spaced repetition mode, using
+ * a variant of the SM-2 algorithm.  Every item has an ease, a current interval and a
+ * due time.  Answering correctly pushes the item further out, by more each time and
+ * by more for items that have been easy; a wrong answer brings it back almost at once
+ * and makes it a little harder.  The next question always asks about the items due
+ * soonest, which an IndexedMinHeap keyed by due time finds in O(log n).
+ *
+ * Time is counted in questions rather than days, since a quiz is a burst of
+ * questions: every answer moves the clock on by one.  New items are spread out one per
+ * question in a random order, so they're introduced at a steady rate and interleaved
+ * with reviews rather than all coming first.  When more items are due than there are
+ * questions to ask about them, a mistake is scheduled relative to the oldest overdue
+ * item rather than the clock, so it still comes back within a couple of questions.
+ *
+ * A scheduler belongs to a deck rather than a session, so what the user has learned
+ * carries over from one quiz to the next; AnswerHistories keeps one per deck and saves
+ * it with Snapshot() alongside the deck's answers.  Its methods are synchronized, as
+ * it's saved from the main thread while a session may be preparing a question.
+ */
+final class RecallScheduler {
+    /**
+     * SM-2 starting ease, and the lowest it's allowed to fall to.
+     */
+    static final float DEFAULT_EASE = 2.5f;
+    static final float MIN_EASE = 1.3f;
+
+    /**
+     * Questions until an item is asked again after a wrong answer, after its first
+     * correct answer and after its second.  Later intervals grow by the item's ease.
+     */
+    static final int LAPSE_INTERVAL = 2;
+    static final int FIRST_INTERVAL = 4;
+    static final int SECOND_INTERVAL = 12;
+
+    /**
+     * The version of the format Snapshot() writes.
+     */
+    static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Each item's SM-2 ease factor.
+     */
+    private final float[] ease;
+
+    /**
+     * Each item's current interval, in questions.  0 for items never answered.
+     */
+    private final int[] interval;
+
+    /**
+     * The number of correct answers each item has had in a row.
+     */
+    private final int[] repetitions;
+
+    /**
+     * A fixed random rank per item, breaking ties between items due at the same time.
+     */
+    private final int[] rank;
+
+    /**
+     * Every item, keyed by due time and then rank.
+     */
+    private final IndexedMinHeap dueQueue;
+
+    /**
+     * Scratch space for SoonestDueExcept().
+     */
+    private final int[] soonest = new int[2];
+
+    /**
+     * The number of answers recorded so far.
+     */
+    private int now = 0;
+
+    /**
+     * Creates a scheduler in which every item is new.
+     *
+     * @param size The number of items, normally the bank size.
+     * @param random Used to shuffle the order new items are introduced in.
+     */
+    RecallScheduler(int size, Random random) {
+        this(size);
+
+        for(int i = 0; i < size; i++) {
+            rank[i] = i;
+        }
+
+        for(int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rank[i];
+            rank[i] = rank[j];
+            rank[j] = swap;
+        }
+
+        for(int id = 0; id < size; id++) {
+            ease[id] = DEFAULT_EASE;
+            dueQueue.Put(id, Key(rank[id], id));
+        }
+    }
+
+    /**
+     * Creates a scheduler with room for the given number of items, to be filled in.
+     *
+     * @param size The number of items.
+     */
+    private RecallScheduler(int size) {
+        ease = new float[size];
+        interval = new int[size];
+        repetitions = new int[size];
+        rank = new int[size];
+        dueQueue = new IndexedMinHeap(size);
+    }
+
+    /**
+     * Brings back a scheduler saved with Snapshot().
+     *
+     * @param snapshot The snapshot.
+     * @param size The number of items the scheduler should have, normally the size
+     *             of the deck's bank.
+     * @return The restored scheduler.
+     * @throws IllegalArgumentException If the snapshot is malformed, is in another
+     *         format, or was taken for a different number of items.
+     */
+    static RecallScheduler Restore(byte[] snapshot, int size) {
+        SnapshotReader in = new SnapshotReader(snapshot);
+
+        int version = in.ReadByte();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unsupported schedule version " + version + ".");
+        }
+
+        int savedSize = in.ReadVarInt();
+        if (savedSize != size) {
+            throw new IllegalArgumentException("Schedule is for " + savedSize + " items, not " + size + ".");
+        }
+
+        RecallScheduler scheduler = new RecallScheduler(size);
+        scheduler.now = in.ReadVarInt();
+
+        for(int id = 0; id < size; id++) {
+            scheduler.ease[id] = Float.intBitsToFloat(in.ReadVarInt());
+            scheduler.interval[id] = in.ReadVarInt();
+            scheduler.repetitions[id] = in.ReadVarInt();
+            scheduler.rank[id] = in.ReadVarInt();
+            int due = in.ReadVarInt();
+            scheduler.dueQueue.Put(id, scheduler.Key(due, id));
+        }
+
+        if (!in.isAtEnd()) {
+            throw new IllegalArgumentException("Schedule has trailing bytes.");
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Saves every item's ease, interval, repetitions, rank and due time, and the
+     * clock, as varints.
+     *
+     * @return The snapshot, for Restore().
+     */
+    synchronized byte[] Snapshot() {
+        int size = size();
+        SnapshotWriter out = new SnapshotWriter(8 + size * 8);
+
+        out.WriteByte(SNAPSHOT_VERSION);
+        out.WriteVarInt(size);
+        out.WriteVarInt(now);
+
+        for(int id = 0; id < size; id++) {
+            out.WriteVarInt(Float.floatToIntBits(ease[id]));
+            out.WriteVarInt(interval[id]);
+            out.WriteVarInt(repetitions[id]);
+            out.WriteVarInt(rank[id]);
+            out.WriteVarInt(getDue(id));
+        }
+
+        return out.ToByteArray();
+    }
+
+    /**
+     * The number of items being scheduled.
+     *
+     * @return The bank size the scheduler was created for.
+     */
+    int size() {
+        return ease.length;
+    }
+
+    /**
+     * The number of answers recorded, which is the scheduler's clock.
+     *
+     * @return The current time, in questions.
+     */
+    synchronized int getNow() {
+        return now;
+    }
+
+    synchronized float getEase(int id) {
+        return ease[id];
+    }
+
+    synchronized int getInterval(int id) {
+        return interval[id];
+    }
+
+    /**
+     * Accessor for when an item is next due.
+     *
+     * @param id The item.
+     * @return The time, in questions, at which it should next be asked.
+     */
+    synchronized int getDue(int id) {
+        return (int) (dueQueue.getKey(id) >>> 32);
+    }
+
+    /**
+     * Picks the items to ask about next: those due soonest.  They aren't removed, so
+     * items that are picked but never answered stay due.
+     *
+     * @param count How many items the question needs.
+     * @param out Receives the IDs of the items.
+     * @return The number of IDs written, which is count unless there are fewer items.
+     */
+    synchronized int PickNext(int count, int[] out) {
+        return dueQueue.PeekSmallest(count, out);
+    }
+
+    /**
+     * Records an answer about an item and works out when it's next due.
+     *
+     * @param id The item.
+     * @param quality The SM-2 quality of the answer, from 0 (no idea) to 5 (perfect);
+     *                below 3 counts as forgotten.
+     */
+    synchronized void Review(int id, int quality) {
+        if (quality < 3) {
+            repetitions[id] = 0;
+            interval[id] = LAPSE_INTERVAL;
+        } else {
+            repetitions[id]++;
+
+            if (repetitions[id] == 1) {
+                interval[id] = FIRST_INTERVAL;
+            } else if (repetitions[id] == 2) {
+                interval[id] = SECOND_INTERVAL;
+            } else {
+                interval[id] = Math.round(interval[id] * ease[id]);
+            }
+        }
+
+        int missed = 5 - quality;
+        ease[id] = Math.max(MIN_EASE, ease[id] + 0.1f - missed * (0.08f + missed * 0.02f));
+
+        // The clock moves on once per question, in EndQuestion(), so every item in a
+        // question is measured from the same time.
+        int base = quality < 3 ? Math.min(now, SoonestDueExcept(id)) : now;
+        long due = Math.min((long) base + interval[id], Integer.MAX_VALUE);
+        dueQueue.Put(id, Key((int) due, id));
+    }
+
+    /**
+     * Moves the clock on by one question.  Called once each question has been reviewed.
+     */
+    synchronized void EndQuestion() {
+        now++;
+    }
+
+    /**
+     * Maps an answer in the quiz to an SM-2 quality.
+     *
+     * @param correct Whether the answer was right.
+     * @param hintUsed Whether a suggested answer was picked.
+     * @return 4 for a right answer, 3 if it needed a hint, 1 for a wrong one.
+     */
+    static int QualityOf(boolean correct, boolean hintUsed) {
+        if (!correct) {
+            return 1;
+        }
+
+        return hintUsed ? 3 : 4;
+    }
+
+    /**
+     * The due time of the item due soonest, other than the given one.
+     *
+     * @return The due time, or Integer.MAX_VALUE if there are no other items.
+     */
+    private int SoonestDueExcept(int id) {
+        int found = dueQueue.PeekSmallest(2, soonest);
+
+        for(int i = 0; i < found; i++) {
+            if (soonest[i] != id) {
+                return getDue(soonest[i]);
+            }
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The heap key for an item: due time in the high half, rank in the low half.
+     */
+    private long Key(int due, int id) {
+        return ((long) due << 32) | rank[id];
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.statecapitolquiz;
+
+/**
+ * A view of a QuestionBank the other way round, for questions that show the capitol
+ * and ask for the state.  Its state names are the underlying bank's capitols and the
+ * other way round, and its lookups go to the opposite index of the underlying bank,
+ * which keeps a case-insensitive hash index in each direction.  So a reverse lookup
+ * costs the same as a forward one, and anything written against a QuestionBank, from
+ * the answer rows to the AnswerMatcher and the suggestions, works unchanged.
+ *
+ * IDs are shared with the underlying bank, so a question drawn against one can be
+ * shown against the other.
+ */
+final class ReversedQuestionBank implements QuestionBank {
+    /**
+     * The view most recently asked for through ForBank().
+     */
+    private static ReversedQuestionBank cached = null;
+
+    private final QuestionBank forward;
+
+    /**
+     * Parameterized constructor.  The view holds no data of its own.
+     *
+     * @param forward The bank to reverse.
+     */
+    ReversedQuestionBank(QuestionBank forward) {
+        if (forward == null) {
+            throw new IllegalArgumentException("forward must not be null");
+        }
+
+        this.forward = forward;
+    }
+
+    /**
+     * Returns the reversed view of the given bank.  The same view is handed out for as
+     * long as the bank is the most recently used one, so that the matchers and
+     * indexes cached for it by bank are found again.
+     *
+     * @param bank The bank to reverse.
+     * @return The bank's ReversedQuestionBank.
+     */
+    static synchronized ReversedQuestionBank ForBank(QuestionBank bank) {
+        if (cached == null || cached.forward != bank) {
+            cached = new ReversedQuestionBank(bank);
+        }
+
+        return cached;
+    }
+
+    /**
+     * Accessor for the bank this is a view of.
+     *
+     * @return The underlying QuestionBank.
+     */
+    QuestionBank getForward() {
+        return forward;
+    }
+
+    @Override
+    public int size() {
+        return forward.size();
+    }
+
+    /**
+     * Accessor for what's shown in a reverse question.
+     *
+     * @param id The ID of the entry.
+     * @return The underlying bank's capitol name.
+     */
+    @Override
+    public String getStateName(int id) {
+        return forward.getCapitolName(id);
+    }
+
+    /**
+     * Accessor for the answer to a reverse question.
+     *
+     * @param id The ID of the entry.
+     * @return The underlying bank's state name.
+     */
+    @Override
+    public String getCapitolName(int id) {
+        return forward.getStateName(id);
+    }
+
+    @Override
+    public int FindByStateName(String stateName) {
+        return forward.FindByCapitolName(stateName);
+    }
+
+    @Override
+    public int FindByCapitolName(String capitolName) {
+        return forward.FindByStateName(capitolName);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * SessionPlan is the type of every question a QuizSession will ask, worked out when
+ * the session starts.  Each type is picked at random from those the bank can supply,
+ * but only while enough states are left to give every later question at least one.
+ * When the deck runs low the plan falls back to the types that ask about a single
+ * state, and if the bank is smaller than the number of questions asked for, the plan
+ * is cut short rather than left to run out of states part way through.
+ *
+ * Planning costs O(questions), and a plan is immutable once built.
+ */
+final class SessionPlan {
+    /**
+     * The type of each question, in order.
+     */
+    private final QuestionType[] types;
+
+    /**
+     * The number of states the plan asks about, counting every question's targets.
+     */
+    private final int itemCount;
+
+    private SessionPlan(QuestionType[] types, int itemCount) {
+        this.types = types;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Plans a session of questions with the default AnswerCounts.
+     *
+     * @param questionCount The number of questions asked for.
+     * @param bankSize The number of states in the bank.
+     * @param reusesItems Whether states can be asked about more than once.
+     * @param random The random number generator to pick the types with.
+     * @return The plan.
+     */
+    static SessionPlan Build(int questionCount, int bankSize, boolean reusesItems, Random random) {
+        return Build(questionCount, bankSize, reusesItems, AnswerCounts.DEFAULT, random);
+    }
+
+    /**
+     * Plans a session.
+     *
+     * @param questionCount The number of questions asked for.
+     * @param bankSize The number of states in the bank.
+     * @param reusesItems Whether states can be asked about more than once, as in spaced
+     *                    repetition mode.  If not, the plan never asks about more
+     *                    states than the bank holds.
+     * @param counts The number of states each type asks about and of answers it
+     *               offers.
+     * @param random The random number generator to pick the types with.
+     * @return The plan, which may have fewer questions than asked for if the bank
+     *         can't supply them all.
+     */
+    static SessionPlan Build(int questionCount, int bankSize, boolean reusesItems, AnswerCounts counts,
+                             Random random) {
+        // The types the bank is large enough for at all: enough states for the
+        // targets, and for the answers offered.
+        QuestionType[] fitting = new QuestionType[QuestionType.values().length];
+        int fittingCount = 0;
+        int minTargets = Integer.MAX_VALUE;
+
+        for(QuestionType type : QuestionType.values()) {
+            int targets = counts.getTargetCount(type);
+
+            if (targets <= bankSize && counts.getAnswerCount(type) <= bankSize) {
+                fitting[fittingCount++] = type;
+                minTargets = Math.min(minTargets, targets);
+            }
+        }
+
+        int length = 0;
+        if (fittingCount > 0 && questionCount > 0) {
+            length = reusesItems ? questionCount : Math.min(questionCount, bankSize / minTargets);
+        }
+
+        QuestionType[] types = new QuestionType[length];
+        int remaining = bankSize;
+        int itemCount = 0;
+
+        for(int i = 0; i < length; i++) {
+            // Leave enough states for every later question to take the fewest.
+            int budget = reusesItems ? bankSize : remaining - (length - i - 1) * minTargets;
+            int allowed = 0;
+
+            for(int j = 0; j < fittingCount; j++) {
+                if (counts.getTargetCount(fitting[j]) <= budget) {
+                    allowed++;
+                }
+            }
+
+            int pick = random.nextInt(allowed);
+            QuestionType type = null;
+
+            for(int j = 0; j < fittingCount; j++) {
+                if (counts.getTargetCount(fitting[j]) <= budget && pick-- == 0) {
+                    type = fitting[j];
+                    break;
+                }
+            }
+
+            types[i] = type;
+            itemCount += counts.getTargetCount(type);
+
+            if (!reusesItems) {
+                remaining -= counts.getTargetCount(type);
+            }
+        }
+
+        return new SessionPlan(types, itemCount);
+    }
+
+    /**
+     * The number of questions planned.
+     *
+     * @return The length of the plan.
+     */
+    int size() {
+        return types.length;
+    }
+
+    /**
+     * Accessor for the type of one question.
+     *
+     * @param index The question's number, from 0 up to size() - 1.
+     * @return The QuestionType to ask.
+     */
+    QuestionType getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * The number of states the plan asks about, adding up every question's targets.
+     * Without reuse this is never more than the bank holds.
+     *
+     * @return The total number of targets.
+     */
+    int getItemCount() {
+        return itemCount;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.statecapitolquiz;
+
+import java.util.BitSet;
+
+/**
+ * Reads the snapshots written by SnapshotWriter.  Running off the end of the snapshot
+ * or meeting a malformed varint throws an IllegalArgumentException, since a snapshot
+ * that doesn't parse can't be restored.
+ */
+final class SnapshotReader {
+    private final byte[] buffer;
+
+    private int position;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param buffer The snapshot to read.
+     */
+    SnapshotReader(byte[] buffer) {
+        this.buffer = buffer;
+        this.position = 0;
+    }
+
+    /**
+     * Reads one byte.
+     *
+     * @return The byte, from 0 to 255.
+     */
+    int ReadByte() {
+        Require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Reads a varint written by SnapshotWriter.WriteVarInt().
+     *
+     * @return The value.
+     */
+    int ReadVarInt() {
+        long value = ReadVarLong();
+
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint out of range at byte " + position + ".");
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Reads a varint written by SnapshotWriter.WriteVarLong().
+     *
+     * @return The value.
+     */
+    long ReadVarLong() {
+        long value = 0;
+
+        for(int shift = 0; shift < 64; shift += 7) {
+            int b = ReadByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint at byte " + position + ".");
+    }
+
+    /**
+     * Reads a long written by SnapshotWriter.WriteLong().
+     *
+     * @return The value.
+     */
+    long ReadLong() {
+        Require(8);
+        long value = 0;
+
+        for(int i = 0; i < 8; i++) {
+            value |= (long) (buffer[position++] & 0xFF) << (i * 8);
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads count bits written by SnapshotWriter.WriteBits() into a bit set.
+     *
+     * @param bits Receives the bits; bits that were clear are cleared.
+     * @param count The number of bits to read.
+     */
+    void ReadBits(BitSet bits, int count) {
+        int bytes = (count + 7) / 8;
+        Require(bytes);
+
+        for(int index = 0; index < count; index++) {
+            bits.set(index, (buffer[position + index / 8] & (1 << (index % 8))) != 0);
+        }
+
+        position += bytes;
+    }
+
+    /**
+     * Whether every byte of the snapshot has been read.
+     *
+     * @return True at the end of the snapshot.
+     */
+    boolean isAtEnd() {
+        return position == buffer.length;
+    }
+
+    private void Require(int bytes) {
+        if (position + bytes > buffer.length) {
+            throw new IllegalArgumentException("Snapshot ends early at byte " + position + ".");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.statecapitolquiz;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Writes the compact binary snapshots used to save quiz state: single bytes, unsigned
+ * LEB128 varints (seven bits per byte, so small counters take one byte), fixed eight
+ * byte longs and bit sets packed eight to a byte.  The buffer grows as needed.
+ */
+final class SnapshotWriter {
+    private byte[] buffer;
+
+    private int length = 0;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param initialCapacity A guess at the size of the snapshot in bytes.
+     */
+    SnapshotWriter(int initialCapacity) {
+        buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    /**
+     * Appends one byte.
+     *
+     * @param value The byte to append; only the low eight bits are used.
+     */
+    void WriteByte(int value) {
+        EnsureCapacity(1);
+        buffer[length++] = (byte) value;
+    }
+
+    /**
+     * Appends a non-negative int as a varint of one to five bytes.
+     *
+     * @param value The value to append.
+     */
+    void WriteVarInt(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varints must not be negative: " + value);
+        }
+
+        EnsureCapacity(5);
+        while(value >= 0x80) {
+            buffer[length++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    /**
+     * Appends a non-negative long as a varint of one to ten bytes.
+     *
+     * @param value The value to append.
+     */
+    void WriteVarLong(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varints must not be negative: " + value);
+        }
+
+        EnsureCapacity(10);
+        while(value >= 0x80) {
+            buffer[length++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    /**
+     * Appends a long as eight bytes, lowest first.  Used for values such as random
+     * number generator state, whose bits are all significant.
+     *
+     * @param value The value to append.
+     */
+    void WriteLong(long value) {
+        EnsureCapacity(8);
+        for(int i = 0; i < 8; i++) {
+            buffer[length++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    /**
+     * Appends bits 0 to count - 1 of a bit set, eight to a byte, lowest bit first.
+     *
+     * @param bits The bits to append.
+     * @param count The number of bits to write.
+     */
+    void WriteBits(BitSet bits, int count) {
+        int bytes = (count + 7) / 8;
+        EnsureCapacity(bytes);
+
+        for(int i = 0; i < bytes; i++) {
+            int value = 0;
+
+            for(int bit = 0; bit < 8; bit++) {
+                int index = i * 8 + bit;
+
+                if (index < count && bits.get(index)) {
+                    value |= 1 << bit;
+                }
+            }
+
+            buffer[length++] = (byte) value;
+        }
+    }
+
+    /**
+     * The number of bytes written so far.
+     *
+     * @return The snapshot length.
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Copies out the snapshot.
+     *
+     * @return Exactly the bytes written.
+     */
+    byte[] ToByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * The number of bytes a value takes as a varint.
+     *
+     * @param value A non-negative value.
+     * @return From one to five.
+     */
+    static int VarIntLength(int value) {
+        int bytes = 1;
+
+        while(value >= 0x80) {
+            value >>>= 7;
+            bytes++;
+        }
+
+        return bytes;
+    }
+
+    private void EnsureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
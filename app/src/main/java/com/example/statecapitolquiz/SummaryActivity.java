@@ -4,6 +4,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -15,23 +16,35 @@ public class SummaryActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        long start = System.nanoTime();
         setContentView(R.layout.activity_summary);
 
         Intent callingIntent = getIntent();
 
+        if (savedInstanceState == null && callingIntent.hasExtra("handoffStartMillis")) {
+            Metrics.SUMMARY_HANDOFF.Record(SystemClock.uptimeMillis() - callingIntent.getLongExtra("handoffStartMillis", 0));
+        }
+
         int questionsCorrect = callingIntent.getIntExtra("questionsCorrect", 0);
         int questionsAsked = callingIntent.getIntExtra("questionsAsked", 0);
+        int hintsUsed = callingIntent.getIntExtra("hintsUsed", 0);
         float percentage = (float) questionsCorrect / (float) questionsAsked * 100;
         int percentageDisplay = (int) percentage;
 
         TextView tv = findViewById(R.id.summary_text);
         String summaryText = getResources().getString(R.string.summary, questionsAsked, questionsCorrect, percentageDisplay);
 
+        if (hintsUsed > 0) {
+            summaryText += getResources().getString(R.string.summary_hints_used, hintsUsed);
+        }
+
         // We assemble the summary text separately to make it easier to read and modify.
         tv.setText(summaryText);
 
         Toast t = Toast.makeText(getApplicationContext(), summaryText, Toast.LENGTH_SHORT);
         t.show();
+
+        Metrics.SUMMARY_CREATE.RecordMicrosSince(start);
     }
 
     /**
@@ -40,21 +53,29 @@ public class SummaryActivity extends AppCompatActivity {
      */
     @Override
     public void onBackPressed() {
-        // Return to the MainActivity (via the QuestionCoordinator).  Don't bring the QuestionActivity back up.
-        Intent intent = new Intent(this, QuestionCoordinatorActivity.class);
-        intent.putExtra("callingActivity", ActivityConstants.SUMMARY_ACTIVITY);
-        startActivity(intent);
+        ReturnToMainActivity();
     }
 
     /**
      * Handles the clicking of the button which resets the quiz application.
-     * Sends the user to the MainActivity to reset the application.
+     * Sends the user to the MainActivity to start a new quiz.
      *
      * @param view The view in which the click occurred.
      */
     public void activity_summary_ResetOnClick(View view) {
-        Intent intent = new Intent(this, QuestionCoordinatorActivity.class);
+        ReturnToMainActivity();
+    }
+
+    /**
+     * Brings the MainActivity back to the top, clearing anything above it, and
+     * closes the summary.  Each quiz starts a fresh QuizSession, so nothing needs to
+     * be reset.
+     */
+    private void ReturnToMainActivity() {
+        Intent intent = new Intent(this, MainActivity.class);
         intent.putExtra("callingActivity", ActivityConstants.SUMMARY_ACTIVITY);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
         startActivity(intent);
+        finish();
     }
 }
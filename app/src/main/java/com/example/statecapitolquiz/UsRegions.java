@@ -0,0 +1,69 @@
+package com.example.statecapitolquiz;
+
+import java.util.Arrays;
+
+/**
+ * Groups the states into the nine US Census Bureau divisions.  States in the same
+ * division are neighbors or near neighbors, which makes their capitols good
+ * distractors for one another in hard mode.
+ */
+final class UsRegions {
+    /**
+     * The states of each division, in division number order.
+     */
+    private static final String[][] DIVISIONS = {
+        // New England
+        { "Connecticut", "Maine", "Massachusetts", "New Hampshire", "Rhode Island", "Vermont" },
+        // Mid-Atlantic
+        { "New Jersey", "New York", "Pennsylvania" },
+        // East North Central
+        { "Illinois", "Indiana", "Michigan", "Ohio", "Wisconsin" },
+        // West North Central
+        { "Iowa", "Kansas", "Minnesota", "Missouri", "Nebraska", "North Dakota", "South Dakota" },
+        // South Atlantic
+        { "Delaware", "Florida", "Georgia", "Maryland", "North Carolina", "South Carolina", "Virginia",
+          "West Virginia" },
+        // East South Central
+        { "Alabama", "Kentucky", "Mississippi", "Tennessee" },
+        // West South Central
+        { "Arkansas", "Louisiana", "Oklahoma", "Texas" },
+        // Mountain
+        { "Arizona", "Colorado", "Idaho", "Montana", "Nevada", "New Mexico", "Utah", "Wyoming" },
+        // Pacific
+        { "Alaska", "California", "Hawaii", "Oregon", "Washington" }
+    };
+
+    private UsRegions() {
+    }
+
+    /**
+     * Works out the division of every entry in a bank by its state name.
+     *
+     * @param bank The bank to classify.
+     * @return The division number of each entry, or -1 where the entry isn't a state.
+     *         Null if none of the entries are states, so that other decks don't pay
+     *         for an array of -1s.
+     */
+    static int[] ForBank(QuestionBank bank) {
+        int[] groups = null;
+
+        for(int division = 0; division < DIVISIONS.length; division++) {
+            for(String state : DIVISIONS[division]) {
+                int id = bank.FindByStateName(state);
+
+                if (id < 0) {
+                    continue;
+                }
+
+                if (groups == null) {
+                    groups = new int[bank.size()];
+                    Arrays.fill(groups, -1);
+                }
+
+                groups[id] = division;
+            }
+        }
+
+        return groups;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.statecapitolquiz;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Small helper for the benchmark style unit tests.  Reports how many bytes the
+ * current thread has allocated, using the HotSpot extension of ThreadMXBean.
+ */
+final class AllocationMeter {
+    /**
+     * The HotSpot thread bean, or null when the running JVM doesn't provide one.
+     */
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = GetThreadBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * Whether allocation measurements are available on this JVM.
+     *
+     * @return True if bytesAllocated() returns meaningful values.
+     */
+    static boolean isSupported() {
+        return THREAD_BEAN != null && THREAD_BEAN.isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * The number of bytes the calling thread has allocated since it started.
+     *
+     * @return The allocated byte count, or 0 if measurement isn't supported.
+     */
+    static long bytesAllocated() {
+        if (!isSupported()) {
+            return 0;
+        }
+
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean GetThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotSpotBean = (com.sun.management.ThreadMXBean) bean;
+            hotSpotBean.setThreadAllocatedMemoryEnabled(true);
+            return hotSpotBean;
+        }
+
+        return null;
+    }
+}
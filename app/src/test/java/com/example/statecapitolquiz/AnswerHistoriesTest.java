@@ -0,0 +1,138 @@
+package com.example.statecapitolquiz;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for AnswerHistories: that each deck keeps its own totals and RecallScheduler
+ * for the IDs every deck shares, and that history from before there were decks is
+ * kept.
+ */
+public class AnswerHistoriesTest {
+    private File root;
+
+    @Before
+    public void createDirectory() throws IOException {
+        root = File.createTempFile("histories", "");
+        assertTrue(root.delete());
+        assertTrue(root.mkdirs());
+    }
+
+    @After
+    public void deleteDirectory() {
+        Delete(root);
+    }
+
+    @Test
+    public void forDeck_keepsEachDecksAnswersApart() throws IOException {
+        AnswerHistories histories = new AnswerHistories(root);
+        AnswerHistoryStore states = histories.ForDeck(Deck.US_CAPITALS);
+        AnswerHistoryStore world = histories.ForDeck(Deck.WORLD_CAPITALS);
+
+        assertSame(states, histories.ForDeck(Deck.US_CAPITALS));
+        assertNotSame(states, world);
+
+        states.Record(5, QuestionType.RADIO_GROUP, true, false, 1000, 1000L);
+        world.Record(5, QuestionType.RADIO_GROUP, false, false, 2000, 2000L);
+        world.Record(5, QuestionType.TEXT_ENTRY, true, true, 3000, 3000L);
+        histories.ForDeck(null).Record(5, QuestionType.TEXT_ENTRY, true, false, 4000, 4000L);
+        states.close();
+        world.close();
+        histories.ForDeck(null).close();
+
+        AnswerHistories reopened = new AnswerHistories(root);
+        AnswerHistoryStore statesAgain = reopened.ForDeck(Deck.US_CAPITALS);
+        AnswerHistoryStore worldAgain = reopened.ForDeck(Deck.WORLD_CAPITALS);
+        AnswerHistoryStore nicknames = reopened.ForDeck(Deck.STATE_NICKNAMES);
+        statesAgain.AwaitLoaded();
+        worldAgain.AwaitLoaded();
+        nicknames.AwaitLoaded();
+
+        assertEquals(1, statesAgain.getAttempts(5));
+        assertEquals(1, statesAgain.getCorrectCount(5));
+        assertEquals(1000, statesAgain.getTotalLatencyMillis(5));
+        assertEquals(2, worldAgain.getAttempts(5));
+        assertEquals(1, worldAgain.getCorrectCount(5));
+        assertEquals(5000, worldAgain.getTotalLatencyMillis(5));
+        assertEquals(0, nicknames.getAttempts(5));
+
+        statesAgain.close();
+        worldAgain.close();
+        nicknames.close();
+    }
+
+    @Test
+    public void forDeck_movesUndeckedHistoryToTheStates() throws IOException {
+        AnswerHistoryStore undecked = AnswerHistoryStore.Open(root);
+        undecked.Record(9, QuestionType.CHECK_BOX, true, false, 700, 1000L);
+        undecked.close();
+
+        AnswerHistories histories = new AnswerHistories(root);
+        AnswerHistoryStore states = histories.ForDeck(Deck.US_CAPITALS);
+        AnswerHistoryStore world = histories.ForDeck(Deck.WORLD_CAPITALS);
+        states.AwaitLoaded();
+        world.AwaitLoaded();
+
+        assertEquals(1, states.getAttempts(9));
+        assertEquals(0, world.getAttempts(9));
+
+        states.close();
+        world.close();
+    }
+
+    @Test
+    public void schedulerForDeck_isSavedWithEachDecksHistory() throws IOException {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        AnswerHistories histories = new AnswerHistories(root);
+        RecallScheduler states = histories.SchedulerForDeck(Deck.US_CAPITALS, catalog);
+        RecallScheduler world = histories.SchedulerForDeck(Deck.WORLD_CAPITALS, catalog);
+
+        assertSame(states, histories.SchedulerForDeck(Deck.US_CAPITALS, catalog));
+        assertNotSame(states, world);
+        assertNotSame(histories.SchedulerForDeck(null, catalog), histories.SchedulerForDeck(null, catalog));
+
+        for(int i = 0; i < 3; i++) {
+            states.Review(5, RecallScheduler.QualityOf(true, false));
+            states.EndQuestion();
+        }
+        world.Review(5, RecallScheduler.QualityOf(false, false));
+        world.EndQuestion();
+
+        histories.FlushAsync();
+        histories.ForDeck(Deck.US_CAPITALS).close();
+        histories.ForDeck(Deck.WORLD_CAPITALS).close();
+
+        AnswerHistories reopened = new AnswerHistories(root);
+        RecallScheduler statesAgain = reopened.SchedulerForDeck(Deck.US_CAPITALS, catalog);
+        RecallScheduler worldAgain = reopened.SchedulerForDeck(Deck.WORLD_CAPITALS, catalog);
+
+        assertEquals(3, statesAgain.getNow());
+        assertEquals(states.getInterval(5), statesAgain.getInterval(5));
+        assertEquals(states.getDue(5), statesAgain.getDue(5));
+        assertEquals(1, worldAgain.getNow());
+        assertEquals(RecallScheduler.LAPSE_INTERVAL, worldAgain.getInterval(5));
+
+        // A deck whose bank has changed size starts again.
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(1);
+        builder.Add("Alabama", "Montgomery");
+        assertEquals(0, reopened.SchedulerForDeck(Deck.US_CAPITALS, builder.Build()).getNow());
+    }
+
+    private static void Delete(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null) {
+            for(File child : children) {
+                Delete(child);
+            }
+        }
+
+        file.delete();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.statecapitolquiz;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for AnswerHistoryStore: recording, reopening, compaction and torn writes.  The
+ * cost of recording and of replaying a large log is in AnswerHistoryStoreBenchmark.
+ */
+public class AnswerHistoryStoreTest {
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("history", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdirs());
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+
+        if (files != null) {
+            for(File file : files) {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void record_survivesReopening() throws IOException {
+        AnswerHistoryStore store = AnswerHistoryStore.Open(directory);
+        store.Record(3, QuestionType.RADIO_GROUP, true, false, 1200, 1000L);
+        store.Record(3, QuestionType.TEXT_ENTRY, false, true, 800, 2000L);
+        store.Record(7, QuestionType.CHECK_BOX, true, false, 500, 1500L);
+        store.close();
+
+        AnswerHistoryStore reopened = AnswerHistoryStore.Open(directory);
+        reopened.AwaitLoaded();
+
+        assertEquals(2, reopened.getAttempts(3));
+        assertEquals(1, reopened.getCorrectCount(3));
+        assertEquals(1, reopened.getHintCount(3));
+        assertEquals(2000, reopened.getTotalLatencyMillis(3));
+        assertEquals(2000L, reopened.getLastAnswered(3));
+        assertEquals(1, reopened.getAttempts(7));
+        assertEquals(0, reopened.getAttempts(5));
+        assertEquals(0, reopened.getAttempts(1000));
+        assertEquals(3, reopened.getReplayedRecords());
+        reopened.close();
+    }
+
+    @Test
+    public void close_doesNotWaitForTheDelayedFlush() throws IOException {
+        AnswerHistoryStore store = AnswerHistoryStore.Open(directory);
+        store.AwaitLoaded();
+        store.Record(3, QuestionType.RADIO_GROUP, true, false, 1200, 1000L);
+
+        // Recording scheduled a flush FLUSH_DELAY_MILLIS from now; close() writes the
+        // answer itself and drops it.
+        long start = System.nanoTime();
+        store.close();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("close() took " + millis + " ms", millis < AnswerHistoryStore.FLUSH_DELAY_MILLIS / 2);
+
+        AnswerHistoryStore reopened = AnswerHistoryStore.Open(directory);
+        reopened.AwaitLoaded();
+        assertEquals(1, reopened.getAttempts(3));
+        reopened.close();
+    }
+
+    @Test
+    public void compact_foldsTheLogIntoTotals() throws IOException {
+        AnswerHistoryStore store = AnswerHistoryStore.Open(directory, Integer.MAX_VALUE);
+        for(int i = 0; i < 1000; i++) {
+            store.Record(i % 10, QuestionType.RADIO_GROUP, i % 2 == 0, false, 100, i);
+        }
+        store.Compact();
+        store.Record(0, QuestionType.RADIO_GROUP, true, false, 100, 5000L);
+        store.close();
+
+        AnswerHistoryStore reopened = AnswerHistoryStore.Open(directory);
+        reopened.AwaitLoaded();
+
+        // Only the record written after the compaction is replayed.
+        assertEquals(1, reopened.getReplayedRecords());
+        assertEquals(101, reopened.getAttempts(0));
+        assertEquals(101, reopened.getCorrectCount(0));
+        assertEquals(0, reopened.getCorrectCount(1));
+        assertEquals(5000L, reopened.getLastAnswered(0));
+        reopened.close();
+    }
+
+    @Test
+    public void replay_ignoresATornRecord() throws IOException {
+        AnswerHistoryStore store = AnswerHistoryStore.Open(directory);
+        store.Record(1, QuestionType.RADIO_GROUP, true, false, 100, 1L);
+        store.Record(2, QuestionType.RADIO_GROUP, true, false, 100, 2L);
+        store.close();
+
+        // Cut the last record short, as a crash in the middle of a write would.
+        File[] segments = directory.listFiles();
+        assertNotNull(segments);
+        for(File segment : segments) {
+            if (segment.length() > 0) {
+                RandomAccessFile file = new RandomAccessFile(segment, "rw");
+                file.setLength(segment.length() - 5);
+                file.close();
+            }
+        }
+
+        AnswerHistoryStore reopened = AnswerHistoryStore.Open(directory);
+        reopened.AwaitLoaded();
+        assertEquals(1, reopened.getAttempts(1));
+        assertEquals(0, reopened.getAttempts(2));
+        reopened.close();
+    }
+
+    @Test
+    public void open_setsADamagedTotalsFileAsideAndKeepsRecording() throws IOException {
+        AnswerHistoryStore store = AnswerHistoryStore.Open(directory, Integer.MAX_VALUE);
+        store.Record(1, QuestionType.RADIO_GROUP, true, false, 100, 1L);
+        store.Compact();
+        store.Record(2, QuestionType.RADIO_GROUP, true, false, 100, 2L);
+        store.close();
+
+        // Flip a byte in the middle of the totals, so the checksum no longer matches.
+        File totals = new File(directory, "answers.agg");
+        RandomAccessFile file = new RandomAccessFile(totals, "rw");
+        file.seek(20);
+        int value = file.read();
+        file.seek(20);
+        file.write(value ^ 0xff);
+        file.close();
+
+        AnswerHistoryStore damaged = AnswerHistoryStore.Open(directory);
+        damaged.Record(3, QuestionType.TEXT_ENTRY, false, false, 100, 3L);
+        damaged.Flush();
+
+        // The answers folded into the bad totals are gone; everything since is kept.
+        assertEquals(0, damaged.getAttempts(1));
+        assertEquals(1, damaged.getAttempts(2));
+        assertEquals(1, damaged.getAttempts(3));
+        assertTrue(new File(directory, "answers.agg.damaged").exists());
+        assertFalse(totals.exists());
+        damaged.close();
+
+        AnswerHistoryStore reopened = AnswerHistoryStore.Open(directory);
+        reopened.AwaitLoaded();
+        assertEquals(1, reopened.getAttempts(2));
+        assertEquals(1, reopened.getAttempts(3));
+        reopened.close();
+    }
+
+    @Test
+    public void flush_opensTheStoreIfOpeningFailed() throws IOException {
+        // A file where the directory should be stops the store opening.
+        assertTrue(directory.delete());
+        assertTrue(directory.createNewFile());
+
+        AnswerHistoryStore store = AnswerHistoryStore.Open(directory);
+        try {
+            store.AwaitLoaded();
+            fail("Opening should have failed.");
+        } catch (IOException e) {
+            // Expected.
+        }
+
+        assertTrue(directory.delete());
+        store.Record(4, QuestionType.RADIO_GROUP, true, false, 100, 4L);
+
+        try {
+            store.Flush();
+        } catch (IOException e) {
+            // The first failure is still reported.
+        }
+
+        assertEquals(1, store.getAttempts(4));
+        store.close();
+    }
+}
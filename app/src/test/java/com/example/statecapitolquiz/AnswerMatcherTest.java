@@ -0,0 +1,147 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for NameNormalizer and AnswerMatcher.  Matching times are in
+ * AnswerMatcherBenchmark and AnswerMatcherDeckBenchmark.
+ */
+public class AnswerMatcherTest {
+    /**
+     * Number of entries in the generated deck used for the allocation check.
+     */
+    private static final int LARGE_DECK_SIZE = 100000;
+
+    @Test
+    public void normalize_foldsCaseSpacingAndPunctuation() {
+        NameNormalizer normalizer = new NameNormalizer();
+
+        assertEquals("saint paul", normalizer.NormalizeToString("  St. Paul"));
+        assertEquals("saint paul", normalizer.NormalizeToString("Saint Paul "));
+        assertEquals("saint paul", normalizer.NormalizeToString("saint-paul"));
+        assertEquals("salt lake city", normalizer.NormalizeToString("Salt   Lake\tCity"));
+        assertEquals("coeur dalene", normalizer.NormalizeToString("Coeur d'Alene"));
+        assertEquals("", normalizer.NormalizeToString(" .,- "));
+    }
+
+    @Test
+    public void normalize_removesAccentsAndExpandsLigatures() {
+        NameNormalizer normalizer = new NameNormalizer();
+
+        assertEquals("santa fe", normalizer.NormalizeToString("Santa Fé"));
+        assertEquals("honolulu", normalizer.NormalizeToString("Honolúlú"));
+        assertEquals("saeter", normalizer.NormalizeToString("SÆTER"));
+        assertEquals("strasse", normalizer.NormalizeToString("Straße"));
+    }
+
+    @Test
+    public void matches_acceptsExactAndNormalizedAnswers() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        AnswerMatcher matcher = new AnswerMatcher(catalog);
+        int minnesota = catalog.FindByStateName("Minnesota");
+
+        assertTrue(matcher.Matches("Saint Paul", minnesota));
+        assertTrue(matcher.Matches("st paul", minnesota));
+        assertTrue(matcher.Matches("ST. PAUL ", minnesota));
+        assertFalse(matcher.Matches("", minnesota));
+        assertFalse(matcher.Matches("Minneapolis", minnesota));
+    }
+
+    @Test
+    public void matches_forgivesSmallTypos() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        AnswerMatcher matcher = new AnswerMatcher(catalog);
+        int vermont = catalog.FindByStateName("Vermont");
+        int maine = catalog.FindByStateName("Maine");
+
+        assertTrue(matcher.Matches("Montpelior", vermont));
+        assertTrue(matcher.Matches("Montpeleir", vermont));   // transposition
+        assertTrue(matcher.Matches("Montplier", vermont));    // two edits
+        assertFalse(matcher.Matches("Mntplr", vermont));
+        assertTrue(matcher.Matches("Agusta", maine));
+        assertFalse(matcher.Matches("Agsta", maine));
+    }
+
+    @Test
+    public void matches_rejectsADifferentCapitolEvenWhenClose() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        AnswerMatcher matcher = new AnswerMatcher(catalog);
+
+        // Columbus is one edit from Columbia, but it's a real capitol, so it's wrong.
+        assertFalse(matcher.Matches("Columbus", catalog.FindByStateName("South Carolina")));
+        assertTrue(matcher.Matches("Columbai", catalog.FindByStateName("South Carolina")));
+    }
+
+    @Test
+    public void findCapitol_ignoresFormatting() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        AnswerMatcher matcher = new AnswerMatcher(catalog);
+
+        assertEquals(catalog.FindByCapitolName("Saint Paul"), matcher.FindCapitol("st. paul"));
+        assertEquals(catalog.FindByCapitolName("Salt Lake City"), matcher.FindCapitol("SALT LAKE CITY"));
+        assertEquals(-1, matcher.FindCapitol("Springfeld"));
+    }
+
+    @Test
+    public void distance_isBoundedByTheBand() {
+        AnswerMatcher matcher = new AnswerMatcher(QuizCatalog.getDefault());
+        char[] a = "kitten".toCharArray();
+        char[] b = "sitting".toCharArray();
+
+        assertEquals(3, matcher.Distance(a, 0, a.length, b, 0, b.length, 3));
+        assertEquals(3, matcher.Distance(a, 0, a.length, b, 0, b.length, 2));
+        assertEquals(1, matcher.Distance("ab".toCharArray(), 0, 2, "ba".toCharArray(), 0, 2, 2));
+    }
+
+    @Test
+    public void matches_acceptsTyposInALargeDeckWithoutAllocating() {
+        Random random = new Random(3);
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(LARGE_DECK_SIZE);
+        char[] name = new char[12];
+
+        for(int i = 0; i < LARGE_DECK_SIZE; i++) {
+            int length = 6 + random.nextInt(7);
+            for(int c = 0; c < length; c++) {
+                name[c] = (char) ('a' + random.nextInt(26));
+            }
+            builder.Add("Place " + i, new String(name, 0, length));
+        }
+        QuizCatalog catalog = builder.Build();
+        AnswerMatcher matcher = new AnswerMatcher(catalog);
+
+        // Typed answers with one character changed, built up front so only matching
+        // is metered.
+        int answers = 1000;
+        StringBuilder[] typed = new StringBuilder[answers];
+        int[] expected = new int[answers];
+        for(int i = 0; i < answers; i++) {
+            expected[i] = random.nextInt(LARGE_DECK_SIZE);
+            typed[i] = new StringBuilder(catalog.getCapitolName(expected[i]).toUpperCase());
+            char c = typed[i].charAt(2);
+            typed[i].setCharAt(2, c == 'Z' ? 'A' : (char) (c + 1));
+        }
+
+        // The first pass grows the scratch buffers.
+        for(int i = 0; i < answers; i++) {
+            matcher.Matches(typed[i], expected[i]);
+        }
+
+        int accepted = 0;
+        long allocatedBefore = AllocationMeter.bytesAllocated();
+        for(int i = 0; i < answers; i++) {
+            if (matcher.Matches(typed[i], expected[i])) {
+                accepted++;
+            }
+        }
+        long allocated = AllocationMeter.bytesAllocated() - allocatedBefore;
+
+        assertEquals(answers, accepted);
+        if (AllocationMeter.isSupported()) {
+            assertEquals(0, allocated);
+        }
+    }
+}
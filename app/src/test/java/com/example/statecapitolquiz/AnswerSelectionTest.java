@@ -0,0 +1,96 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AnswerSelection, including a question with dozens of answers.  The
+ * cost of a toggle is in AnswerSelectionBenchmark.
+ */
+public class AnswerSelectionTest {
+    @Test
+    public void toggle_tracksTheCountAndScore() {
+        AnswerSelection selection = new AnswerSelection();
+        selection.Reset(new Question(QuestionType.CHECK_BOX, new int[] { 3, 7 }, new int[] { 1, 3, 5, 7, 9 }));
+
+        assertEquals(0, selection.getSelectedCount());
+        assertFalse(selection.isCorrect());
+
+        selection.Toggle(3, true);
+        selection.Toggle(3, true);
+        assertEquals(1, selection.getSelectedCount());
+        assertFalse(selection.isCorrect());
+
+        selection.Toggle(5, true);
+        selection.Toggle(7, true);
+        assertEquals(3, selection.getSelectedCount());
+        assertFalse(selection.isCorrect());
+
+        selection.Toggle(5, false);
+        selection.Toggle(5, false);
+        assertEquals(2, selection.getSelectedCount());
+        assertTrue(selection.isCorrect());
+        assertTrue(selection.isSelected(7));
+        assertTrue(selection.isExpected(3));
+        assertFalse(selection.isExpected(5));
+    }
+
+    @Test
+    public void reset_forgetsThePreviousQuestion() {
+        AnswerSelection selection = new AnswerSelection();
+        selection.Reset(new Question(QuestionType.CHECK_BOX, new int[] { 0, 1 }, new int[] { 0, 1, 2, 3 }));
+        selection.Toggle(0, true);
+        selection.Toggle(2, true);
+
+        selection.Reset(new Question(QuestionType.CHECK_BOX, new int[] { 2 }, new int[] { 2, 3, 4 }));
+
+        assertEquals(0, selection.getSelectedCount());
+        assertFalse(selection.isSelected(2));
+        assertFalse(selection.isExpected(0));
+
+        selection.Toggle(2, true);
+        assertTrue(selection.isCorrect());
+    }
+
+    /**
+     * Toggling answers in a 64 answer question, such as every capital west of the
+     * Mississippi, should allocate nothing.
+     */
+    @Test
+    public void toggle_allocatesNothingWithManyAnswers() {
+        int answerCount = 64;
+        int[] answers = new int[answerCount];
+        int[] targets = new int[answerCount / 2];
+
+        for(int i = 0; i < answerCount; i++) {
+            answers[i] = i * 3;
+        }
+        for(int i = 0; i < targets.length; i++) {
+            targets[i] = answers[i * 2];
+        }
+
+        AnswerSelection selection = new AnswerSelection();
+        selection.Reset(new Question(QuestionType.CHECK_BOX, targets, answers));
+        int toggles = 10000;
+
+        for(int round = 0; round < 2; round++) {
+            long allocatedBefore = AllocationMeter.bytesAllocated();
+
+            for(int i = 0; i < toggles; i++) {
+                int id = answers[i % answerCount];
+                selection.Toggle(id, !selection.isSelected(id));
+            }
+
+            long allocated = AllocationMeter.bytesAllocated() - allocatedBefore;
+
+            // The first round warms up.
+            if (round == 1 && AllocationMeter.isSupported() && allocated > 1024) {
+                fail("Toggling allocated " + allocated + " bytes.");
+            }
+        }
+
+        // Every answer was toggled an even number of times.
+        assertEquals(0, selection.getSelectedCount());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for BankCache.
+ */
+public class BankCacheTest {
+    /**
+     * Builds a new object for every bank, counting the builds.
+     */
+    private static final class CountingCache extends BankCache<Object> {
+        int built = 0;
+
+        @Override
+        protected Object Build(QuestionBank bank) {
+            built++;
+            return new Object();
+        }
+    }
+
+    @Test
+    public void get_buildsOncePerBank() {
+        CountingCache cache = new CountingCache();
+        QuizCatalog catalog = QuizCatalog.getDefault();
+
+        Object first = cache.Get(catalog);
+
+        assertSame(first, cache.Get(catalog));
+        assertEquals(1, cache.built);
+    }
+
+    @Test
+    public void get_keepsTheTwoMostRecentBanks() {
+        CountingCache cache = new CountingCache();
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuestionBank reversed = new ReversedQuestionBank(catalog);
+        QuestionBank other = new ReversedQuestionBank(catalog);
+
+        // Going back and forth between two banks builds each once.
+        Object forward = cache.Get(catalog);
+        Object backward = cache.Get(reversed);
+        for(int i = 0; i < 3; i++) {
+            assertSame(forward, cache.Get(catalog));
+            assertSame(backward, cache.Get(reversed));
+        }
+        assertEquals(2, cache.built);
+
+        // A third bank pushes out the least recently used.
+        cache.Get(other);
+        assertSame(backward, cache.Get(reversed));
+        assertNotSame(forward, cache.Get(catalog));
+        assertEquals(4, cache.built);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DeckCache, and for the deck files shipped in the app's assets.
+ */
+public class DeckCacheTest {
+    /**
+     * The app module's assets, relative to the directory the unit tests run in.
+     */
+    private static final File ASSETS = new File("src/main/assets");
+
+    /**
+     * Hands out a synthetic bank of a given size for every deck, counting the loads.
+     */
+    private static final class CountingSource implements DeckCache.Source {
+        private final int size;
+
+        int opened = 0;
+
+        CountingSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public QuestionBank Open(Deck deck) {
+            opened++;
+            QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+
+            for(int i = 0; i < size; i++) {
+                builder.Add(deck + " " + i, "answer " + i);
+            }
+
+            return builder.Build();
+        }
+    }
+
+    @Test
+    public void get_loadsOnceAndThenServesFromTheCache() throws IOException {
+        CountingSource source = new CountingSource(10);
+        DeckCache cache = new DeckCache(source, 100);
+
+        assertFalse(cache.isCached(Deck.WORLD_CAPITALS));
+        QuestionBank first = cache.Get(Deck.WORLD_CAPITALS);
+        QuestionBank other = cache.Get(Deck.STATE_NICKNAMES);
+
+        // Warm re-entry does no I/O.
+        assertSame(first, cache.Get(Deck.WORLD_CAPITALS));
+        assertSame(other, cache.Get(Deck.STATE_NICKNAMES));
+        assertEquals(2, source.opened);
+        assertEquals(2, cache.getLoadCount());
+        assertEquals(20, cache.getEntryCount());
+    }
+
+    @Test
+    public void get_builtInDeckNeedsNoSource() throws IOException {
+        DeckCache cache = new DeckCache(null, 100);
+
+        assertSame(QuizCatalog.getDefault(), cache.Get(Deck.US_CAPITALS));
+        assertEquals(0, cache.getLoadCount());
+
+        try {
+            cache.Get(Deck.WORLD_CAPITALS);
+            fail("Loaded a deck without a source.");
+        } catch (IOException e) {
+            assertFalse(cache.isCached(Deck.WORLD_CAPITALS));
+        }
+    }
+
+    @Test
+    public void get_dropsTheLeastRecentlyUsedDeckOverCapacity() throws IOException {
+        CountingSource source = new CountingSource(40);
+        DeckCache cache = new DeckCache(source, 100);
+
+        cache.Get(Deck.WORLD_CAPITALS);
+        cache.Get(Deck.STATE_ABBREVIATIONS);
+        cache.Get(Deck.WORLD_CAPITALS);
+        cache.Get(Deck.STATE_NICKNAMES);
+
+        assertTrue(cache.isCached(Deck.WORLD_CAPITALS));
+        assertFalse(cache.isCached(Deck.STATE_ABBREVIATIONS));
+        assertTrue(cache.isCached(Deck.STATE_NICKNAMES));
+        assertEquals(80, cache.getEntryCount());
+    }
+
+    @Test
+    public void get_keepsADeckLargerThanTheCapacity() throws IOException {
+        DeckCache cache = new DeckCache(new CountingSource(500), 100);
+
+        cache.Get(Deck.WORLD_CAPITALS);
+
+        assertTrue(cache.isCached(Deck.WORLD_CAPITALS));
+        assertEquals(500, cache.getEntryCount());
+    }
+
+    @Test
+    public void trimTo_keepsOnlyTheActiveDeck() throws IOException {
+        CountingSource source = new CountingSource(10);
+        DeckCache.Install(source);
+
+        try {
+            DeckCache cache = DeckCache.getShared();
+            QuestionBanks.Activate(Deck.WORLD_CAPITALS);
+            cache.Get(Deck.STATE_ABBREVIATIONS);
+            cache.Get(Deck.STATE_NICKNAMES);
+            cache.TrimTo(0);
+
+            // The deck used most recently goes; the one in play stays.
+            assertTrue(cache.isCached(Deck.WORLD_CAPITALS));
+            assertFalse(cache.isCached(Deck.STATE_ABBREVIATIONS));
+            assertFalse(cache.isCached(Deck.STATE_NICKNAMES));
+            assertEquals(10, cache.getEntryCount());
+
+            // A trimmed deck is loaded again when it's next needed.
+            cache.Get(Deck.STATE_NICKNAMES);
+            assertEquals(4, source.opened);
+        } finally {
+            DeckCache.Install(null);
+            QuestionBanks.setActive(QuizCatalog.getDefault());
+        }
+    }
+
+    @Test
+    public void get_neverDropsTheActiveDeck() throws IOException {
+        DeckCache.Install(new CountingSource(100));
+
+        try {
+            DeckCache cache = DeckCache.getShared();
+            QuestionBanks.Activate(Deck.WORLD_CAPITALS);
+
+            // Warming two other decks goes over the capacity.  The active deck is the
+            // least recently used, but the other warmed deck is dropped instead.
+            cache.Get(Deck.STATE_ABBREVIATIONS);
+            cache.Get(Deck.STATE_NICKNAMES);
+
+            assertTrue(cache.isCached(Deck.WORLD_CAPITALS));
+            assertFalse(cache.isCached(Deck.STATE_ABBREVIATIONS));
+            assertTrue(cache.isCached(Deck.STATE_NICKNAMES));
+            assertEquals(200, cache.getEntryCount());
+        } finally {
+            DeckCache.Install(null);
+            QuestionBanks.setActive(QuizCatalog.getDefault());
+        }
+    }
+
+    @Test
+    public void activate_makesTheDeckActive() throws IOException {
+        DeckCache.Install(new CountingSource(10));
+
+        try {
+            QuestionBank bank = QuestionBanks.Activate(Deck.STATE_NICKNAMES);
+
+            assertSame(bank, QuestionBanks.getActive());
+            assertEquals(Deck.STATE_NICKNAMES, QuestionBanks.getActiveDeck());
+            assertSame(bank, QuestionBanks.Activate(Deck.STATE_NICKNAMES));
+            assertEquals(1, DeckCache.getShared().getLoadCount());
+
+            QuestionBanks.setActive(QuizCatalog.getDefault());
+            assertNull(QuestionBanks.getActiveDeck());
+        } finally {
+            DeckCache.Install(null);
+            QuestionBanks.setActive(QuizCatalog.getDefault());
+        }
+    }
+
+    /**
+     * Every deck in the assets loads, has unique names and answers, and fits in the
+     * shared cache alongside the built in deck.
+     */
+    @Test
+    public void assetDecks_loadWithUniqueEntries() throws IOException {
+        for(Deck deck : Deck.values()) {
+            if (deck.isBuiltIn()) {
+                continue;
+            }
+
+            InputStream in = new FileInputStream(new File(ASSETS, deck.getAssetName()));
+            QuizCatalog catalog;
+
+            try {
+                catalog = QuestionBankLoader.Load(in);
+            } finally {
+                in.close();
+            }
+
+            HashSet<String> answers = new HashSet<>();
+            for(int id = 0; id < catalog.size(); id++) {
+                assertEquals(deck + ": " + catalog.getStateName(id),
+                        id, catalog.FindByStateName(catalog.getStateName(id)));
+                assertTrue(deck + ": " + catalog.getCapitolName(id),
+                        answers.add(QuizCatalog.FoldCase(catalog.getCapitolName(id))));
+            }
+
+            assertTrue(catalog.size() >= 50);
+            assertTrue(catalog.size() + QuizCatalog.getDefault().size() <= DeckCache.DEFAULT_CAPACITY);
+        }
+    }
+}
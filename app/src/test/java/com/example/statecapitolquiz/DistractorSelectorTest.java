@@ -0,0 +1,75 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DistractorSelector, covering both the rejection and the deck paths.
+ */
+public class DistractorSelectorTest {
+    @Test
+    public void select_sparseBankPicksDistinctWrongAnswers() {
+        AssertValidSelections(new DistractorSelector(50), 2, 3);
+        AssertValidSelections(new DistractorSelector(100000), 1, 4);
+    }
+
+    @Test
+    public void select_denseBankPicksDistinctWrongAnswers() {
+        // Every ID but the correct ones ends up being picked.
+        AssertValidSelections(new DistractorSelector(5), 1, 4);
+        AssertValidSelections(new DistractorSelector(7), 2, 4);
+    }
+
+    @Test
+    public void select_doesNotAllocate() {
+        if (!AllocationMeter.isSupported()) {
+            return;
+        }
+
+        DistractorSelector sparse = new DistractorSelector(50);
+        DistractorSelector dense = new DistractorSelector(6);
+        Random random = new Random(3);
+        int[] answers = new int[5];
+        sparse.Select(answers, 1, 4, answers, 1, random);
+        dense.Select(answers, 1, 4, answers, 1, random);
+
+        long before = AllocationMeter.bytesAllocated();
+        for(int i = 0; i < 100000; i++) {
+            answers[0] = i % 6;
+            sparse.Select(answers, 1, 4, answers, 1, random);
+            dense.Select(answers, 1, 4, answers, 1, random);
+        }
+
+        assertTrue(AllocationMeter.bytesAllocated() - before < 1024);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void select_tooManyDistractorsThrows() {
+        int[] answers = new int[5];
+        new DistractorSelector(4).Select(answers, 1, 4, answers, 1, new Random());
+    }
+
+    private static void AssertValidSelections(DistractorSelector selector, int correctCount, int distractorCount) {
+        Random random = new Random(11);
+        int[] answers = new int[correctCount + distractorCount];
+
+        for(int round = 0; round < 1000; round++) {
+            for(int i = 0; i < correctCount; i++) {
+                answers[i] = (round + i) % selector.getBankSize();
+            }
+
+            selector.Select(answers, correctCount, distractorCount, answers, correctCount, random);
+
+            for(int i = 0; i < answers.length; i++) {
+                assertTrue(answers[i] >= 0 && answers[i] < selector.getBankSize());
+
+                for(int j = i + 1; j < answers.length; j++) {
+                    assertTrue("duplicate answer " + answers[i], answers[i] != answers[j]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plain JVM tests for IndexDeck, drawing from decks the size of the state catalog
+ * up to a million entries.  Draw times are measured by DeckBenchmark.
+ */
+public class IndexDeckTest {
+    /**
+     * Deck sizes exercised by the draw tests.
+     */
+    private static final int[] DECK_SIZES = { 50, 1000, 100000, 1000000 };
+
+    @Test
+    public void drawAndRemove_returnsEveryIdExactlyOnce() {
+        Random random = new Random(42);
+
+        for(int deckSize : DECK_SIZES) {
+            IndexDeck deck = new IndexDeck(deckSize);
+            BitSet seen = new BitSet(deckSize);
+
+            for(int i = 0; i < deckSize; i++) {
+                int id = deck.DrawAndRemove(random);
+
+                if (seen.get(id) || deck.contains(id)) {
+                    fail("ID drawn twice: " + id);
+                }
+                seen.set(id);
+            }
+
+            assertTrue(deck.isEmpty());
+            assertEquals(deckSize, seen.cardinality());
+        }
+    }
+
+    @Test
+    public void drawAndRemove_doesNotAllocate() {
+        if (!AllocationMeter.isSupported()) {
+            return;
+        }
+
+        Random random = new Random(7);
+        IndexDeck deck = new IndexDeck(1000000);
+        deck.DrawAndRemove(random);
+
+        long before = AllocationMeter.bytesAllocated();
+        while(!deck.isEmpty()) {
+            deck.DrawAndRemove(random);
+        }
+
+        assertTrue(AllocationMeter.bytesAllocated() - before < 1024);
+    }
+
+    @Test
+    public void removeAndAdd_keepDeckConsistent() {
+        IndexDeck deck = new IndexDeck(10);
+
+        assertTrue(deck.Remove(3));
+        assertFalse(deck.Remove(3));
+        assertEquals(9, deck.size());
+        assertFalse(deck.contains(3));
+
+        assertTrue(deck.Add(3));
+        assertFalse(deck.Add(3));
+        assertEquals(10, deck.size());
+        assertTrue(deck.contains(3));
+
+        deck.Clear();
+        assertTrue(deck.isEmpty());
+        deck.Add(7);
+        assertEquals(7, deck.DrawAndRemove(new Random()));
+
+        deck.Reset();
+        assertEquals(10, deck.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void drawAndRemove_emptyDeckThrows() {
+        IndexDeck deck = new IndexDeck(1);
+        deck.DrawAndRemove(new Random());
+        deck.DrawAndRemove(new Random());
+    }
+}
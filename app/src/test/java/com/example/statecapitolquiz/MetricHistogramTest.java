@@ -0,0 +1,121 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for MetricHistogram and the Metrics report.  The cost of recording is in
+ * MetricHistogramBenchmark.
+ */
+public class MetricHistogramTest {
+    @Test
+    public void buckets_coverEveryValueWithoutGaps() {
+        assertEquals(0, MetricHistogram.LowestValueIn(0));
+
+        for(int bucket = 0; bucket < MetricHistogram.BUCKET_COUNT - 1; bucket++) {
+            long lowest = MetricHistogram.LowestValueIn(bucket);
+            long highest = MetricHistogram.HighestValueIn(bucket);
+
+            assertEquals(bucket, MetricHistogram.BucketOf(lowest));
+            assertEquals(bucket, MetricHistogram.BucketOf(highest));
+            assertEquals(highest + 1, MetricHistogram.LowestValueIn(bucket + 1));
+
+            // Every bucket is within 1/16 of the values it holds.
+            assertTrue(highest - lowest <= Math.max(lowest / 16, 0) + 1);
+        }
+
+        assertEquals(MetricHistogram.BUCKET_COUNT - 1, MetricHistogram.BucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles_areWithinTheBucketPrecision() {
+        MetricHistogram histogram = new MetricHistogram("test", "us");
+
+        for(int value = 1; value <= 10000; value++) {
+            histogram.Record(value);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+        assertEquals(50005000, histogram.getSum());
+        assertNear(5000, histogram.ValueAtPercentile(0.5));
+        assertNear(9900, histogram.ValueAtPercentile(0.99));
+        assertEquals(10000, histogram.ValueAtPercentile(1.0));
+        assertEquals(1, histogram.ValueAtPercentile(0));
+
+        histogram.Reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.ValueAtPercentile(0.5));
+    }
+
+    @Test
+    public void record_isSafeFromManyThreads() throws InterruptedException {
+        final MetricHistogram histogram = new MetricHistogram("test", "us");
+        Thread[] threads = new Thread[4];
+
+        for(int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for(int i = 0; i < 100000; i++) {
+                        histogram.Record(i % 1000 + offset);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400000, histogram.getCount());
+        assertEquals(1002, histogram.getMax());
+    }
+
+    @Test
+    public void report_listsEveryMetric() {
+        Metrics.QUESTIONS_ANSWERED.Increment();
+        Metrics.THINK_TIME.Record(1234);
+        String report = Metrics.Report();
+
+        assertTrue(report.contains("questions.answered"));
+        assertTrue(report.contains("answer.think_time"));
+        for(QuestionType type : QuestionType.values()) {
+            assertTrue(report.contains("question.bind." + type.name().toLowerCase()));
+        }
+
+        Metrics.Reset();
+        assertEquals(0, Metrics.QUESTIONS_ANSWERED.get());
+        assertEquals(0, Metrics.THINK_TIME.getCount());
+    }
+
+    @Test
+    public void recordMicrosSince_allocatesNothing() {
+        MetricHistogram histogram = new MetricHistogram("test", "us");
+        int records = 10000;
+
+        // Warm up so nothing the first calls load is counted.
+        for(int i = 0; i < records; i++) {
+            histogram.RecordMicrosSince(System.nanoTime() - i);
+        }
+
+        long allocatedBefore = AllocationMeter.bytesAllocated();
+        for(int i = 0; i < records; i++) {
+            histogram.RecordMicrosSince(System.nanoTime() - i);
+        }
+        long allocated = AllocationMeter.bytesAllocated() - allocatedBefore;
+
+        assertEquals(2 * records, histogram.getCount());
+        if (AllocationMeter.isSupported() && allocated > 1024) {
+            fail("Recording allocated " + allocated + " bytes.");
+        }
+    }
+
+    private static void assertNear(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected / 16 + 1);
+    }
+}
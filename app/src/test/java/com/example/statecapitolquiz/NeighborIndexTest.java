@@ -0,0 +1,84 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for NeighborIndex and hard mode distractor selection.  Build and lookup
+ * timings are in NeighborIndexBenchmark.
+ */
+public class NeighborIndexTest {
+    @Test
+    public void similarCapitolsAreNeighbors() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        NeighborIndex index = NeighborIndex.ForBank(catalog);
+
+        assertTrue(HasNeighbor(index, catalog.FindByCapitolName("Columbia"), catalog.FindByCapitolName("Columbus")));
+        assertTrue(HasNeighbor(index, catalog.FindByCapitolName("Columbus"), catalog.FindByCapitolName("Columbia")));
+        assertTrue(HasNeighbor(index, catalog.FindByCapitolName("Carson City"), catalog.FindByCapitolName("Salt Lake City")));
+    }
+
+    @Test
+    public void sameDivisionCapitolsAreNeighbors() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        NeighborIndex index = NeighborIndex.ForBank(catalog);
+        int vermont = catalog.FindByStateName("Vermont");
+
+        // Montpelier shares no uncommon bigrams with Concord, but both are in New England.
+        assertTrue(HasNeighbor(index, vermont, catalog.FindByStateName("New Hampshire")));
+    }
+
+    @Test
+    public void neighborsNeverIncludeTheEntryItself() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        NeighborIndex index = NeighborIndex.ForBank(catalog);
+
+        for(int id = 0; id < catalog.size(); id++) {
+            assertFalse(HasNeighbor(index, id, id));
+            assertTrue(index.getNeighbor(id, 0) >= 0);
+        }
+    }
+
+    @Test
+    public void selectHard_prefersNeighborsAndStaysDistinct() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        NeighborIndex index = NeighborIndex.ForBank(catalog);
+        DistractorSelector selector = new DistractorSelector(catalog.size());
+        Random random = new Random(5);
+        int[] answers = new int[5];
+
+        for(int id = 0; id < catalog.size(); id++) {
+            answers[0] = id;
+            selector.SelectHard(answers, 1, 4, answers, 1, random, index);
+
+            // Neighbors come first; only once they run out are random capitols used.
+            int neighborsAvailable = 0;
+            while(neighborsAvailable < index.getNeighborCount() && index.getNeighbor(id, neighborsAvailable) >= 0) {
+                neighborsAvailable++;
+            }
+
+            for(int i = 1; i < answers.length; i++) {
+                if (i <= neighborsAvailable) {
+                    assertTrue(HasNeighbor(index, id, answers[i]));
+                }
+
+                for(int j = 0; j < i; j++) {
+                    assertTrue(answers[i] != answers[j]);
+                }
+            }
+        }
+    }
+
+    private static boolean HasNeighbor(NeighborIndex index, int id, int neighbor) {
+        for(int rank = 0; rank < index.getNeighborCount(); rank++) {
+            if (index.getNeighbor(id, rank) == neighbor) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
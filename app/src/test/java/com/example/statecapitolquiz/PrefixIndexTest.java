@@ -0,0 +1,130 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PrefixIndex.  Build and completion times for a world-scale list of
+ * place names are in PrefixIndexBenchmark.
+ */
+public class PrefixIndexTest {
+    /**
+     * Syllables the generated place names are made of, so that they share prefixes
+     * the way real names do.
+     */
+    private static final String[] SYLLABLES = {
+        "san", "ta", "mar", "ia", "new", "port", "ville", "ber", "lin", "ham", "ton", "ches",
+        "ter", "al", "ex", "an", "dria", "spring", "field", "lake", "st ", "mont", "ro", "sa"
+    };
+
+    @Test
+    public void complete_returnsMatchingCapitolsInOrder() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        PrefixIndex index = PrefixIndex.ForCapitols(catalog);
+
+        assertArrayEquals(new String[] { "Columbia", "Columbus" }, Complete(index, catalog, "colum", 8));
+        assertArrayEquals(new String[] { "Carson City", "Charleston", "Cheyenne" }, Complete(index, catalog, "c", 3));
+        assertArrayEquals(new String[] { "Saint Paul" }, Complete(index, catalog, "St. P", 8));
+        assertArrayEquals(new String[] { "Salt Lake City" }, Complete(index, catalog, "SALT LAKE CITY", 8));
+        assertEquals(0, Complete(index, catalog, "xyz", 8).length);
+        assertEquals(0, Complete(index, catalog, "salt lake city x", 8).length);
+        assertEquals(catalog.size(), index.CountCompletions(new char[0], 0));
+    }
+
+    @Test
+    public void complete_agreesWithAScanOfEveryName() {
+        QuizCatalog catalog = GenerateDeck(5000, new Random(11));
+        PrefixIndex index = PrefixIndex.ForCapitols(catalog);
+        NameNormalizer normalizer = new NameNormalizer();
+        String[] normalized = new String[catalog.size()];
+
+        for(int id = 0; id < catalog.size(); id++) {
+            normalized[id] = normalizer.NormalizeToString(catalog.getCapitolName(id));
+        }
+
+        Random random = new Random(12);
+        int[] out = new int[catalog.size()];
+
+        for(int trial = 0; trial < 500; trial++) {
+            String name = normalized[random.nextInt(normalized.length)];
+            String prefix = name.substring(0, random.nextInt(name.length() + 1));
+            int count = index.Complete(prefix.toCharArray(), prefix.length(), out, out.length);
+
+            ArrayList<String> expected = new ArrayList<>();
+            for(String candidate : normalized) {
+                if (candidate.startsWith(prefix)) {
+                    expected.add(candidate);
+                }
+            }
+            Collections.sort(expected);
+
+            assertEquals(expected.size(), count);
+            for(int i = 0; i < count; i++) {
+                assertEquals(expected.get(i), normalized[out[i]]);
+            }
+        }
+
+        assertTrue(index.getNodeCount() <= 2 * catalog.size() + 1);
+    }
+
+    @Test
+    public void complete_allocatesNothingWhileTyping() {
+        Random random = new Random(13);
+        QuizCatalog catalog = GenerateDeck(5000, random);
+        PrefixIndex index = PrefixIndex.ForCapitols(catalog);
+        NameNormalizer normalizer = new NameNormalizer();
+        char[][] typed = new char[200][];
+
+        for(int i = 0; i < typed.length; i++) {
+            typed[i] = normalizer.NormalizeToString(catalog.getCapitolName(random.nextInt(catalog.size()))).toCharArray();
+        }
+
+        int[] out = new int[8];
+        long allocatedBefore = AllocationMeter.bytesAllocated();
+        for(char[] name : typed) {
+            for(int length = 1; length <= name.length; length++) {
+                assertTrue(index.Complete(name, length, out, out.length) > 0);
+            }
+        }
+        long allocated = AllocationMeter.bytesAllocated() - allocatedBefore;
+
+        if (AllocationMeter.isSupported()) {
+            assertEquals(0, allocated);
+        }
+    }
+
+    private static String[] Complete(PrefixIndex index, QuestionBank bank, String prefix, int max) {
+        NameNormalizer normalizer = new NameNormalizer();
+        int length = normalizer.Normalize(prefix);
+        int[] ids = new int[max];
+        int count = index.Complete(normalizer.getBuffer(), length, ids, max);
+        String[] names = new String[count];
+
+        for(int i = 0; i < count; i++) {
+            names[i] = bank.getCapitolName(ids[i]);
+        }
+
+        return names;
+    }
+
+    private static QuizCatalog GenerateDeck(int size, Random random) {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+        StringBuilder name = new StringBuilder();
+
+        for(int i = 0; i < size; i++) {
+            name.setLength(0);
+            int syllables = 2 + random.nextInt(4);
+            for(int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            builder.Add("Place " + i, name.toString());
+        }
+
+        return builder.Build();
+    }
+}
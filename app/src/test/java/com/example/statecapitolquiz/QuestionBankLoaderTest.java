@@ -0,0 +1,126 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuestionBankLoader, including a 100,000 row generated fixture.  Load
+ * times are measured by DeckStartupBenchmark.
+ */
+public class QuestionBankLoaderTest {
+    /**
+     * Number of rows in the large generated fixture.
+     */
+    private static final int LARGE_ROW_COUNT = 100000;
+
+    @Test
+    public void load_readsTabAndCommaSeparatedLines() throws IOException {
+        String text = "# US capitols\n"
+                + "Alabama\tMontgomery\n"
+                + "\n"
+                + "Alaska, Juneau\n"
+                + "\"District of Columbia\",\"Washington, D.C.\"\n"
+                + "  \t  \n"
+                + "Quoted, \"Say \"\"Hi\"\"\"\n";
+
+        QuizCatalog catalog = QuestionBankLoader.Load(new ByteArrayInputStream(text.getBytes("UTF-8")));
+
+        assertEquals(4, catalog.size());
+        assertEquals("Montgomery", catalog.getCapitolName(0));
+        assertEquals("Alaska", catalog.getStateName(1));
+        assertEquals("Juneau", catalog.getCapitolName(1));
+        assertEquals("Washington, D.C.", catalog.getCapitolName(2));
+        assertEquals("Say \"Hi\"", catalog.getCapitolName(3));
+        assertEquals(2, catalog.FindByStateName("district of columbia"));
+    }
+
+    @Test(expected = IOException.class)
+    public void load_rejectsLineWithoutAnswer() throws IOException {
+        QuestionBankLoader.Load(new StringReader("Alabama\tMontgomery\nAlaska\n"), 2);
+    }
+
+    @Test
+    public void load_internsRepeatedNames() throws IOException {
+        QuizCatalog catalog = QuestionBankLoader.Load(
+                new StringReader("Springfield, Illinois\nShelbyville, Illinois\n"), 2);
+
+        assertSame(catalog.getCapitolName(0), catalog.getCapitolName(1));
+        assertEquals(0, catalog.FindByCapitolName("ILLINOIS"));
+    }
+
+    /**
+     * Loads a generated 100,000 row deck through a reader that produces the text on the
+     * fly, and checks that what's retained afterwards is in line with the size of the
+     * catalog rather than the size of the file plus the catalog.
+     */
+    @Test
+    public void load_largeFixtureInBoundedMemory() throws IOException {
+        long heapBefore = UsedHeap();
+        QuizCatalog catalog = QuestionBankLoader.Load(new GeneratedDeckReader(LARGE_ROW_COUNT), LARGE_ROW_COUNT);
+        long retained = UsedHeap() - heapBefore;
+
+        assertEquals(LARGE_ROW_COUNT, catalog.size());
+        assertEquals("City 99999", catalog.getStateName(99999));
+        assertEquals(99999, catalog.FindByStateName("city 99999"));
+
+        // Only 1,000 distinct answers exist, so interning keeps them shared.
+        assertSame(catalog.getCapitolName(5), catalog.getCapitolName(1005));
+
+        // Two arrays, two indexes and the names themselves.  Generously bounded at
+        // 300 bytes per row; a loader that kept the text around would need more.
+        assertTrue(retained < LARGE_ROW_COUNT * 300L);
+    }
+
+    private static long UsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+
+        for(int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Reader producing "City N,Region N % 1000" lines without ever holding the full text.
+     */
+    private static final class GeneratedDeckReader extends Reader {
+        private final int rowCount;
+        private int row = 0;
+        private String pending = "";
+        private int pendingOffset = 0;
+
+        GeneratedDeckReader(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (pendingOffset == pending.length()) {
+                if (row == rowCount) {
+                    return -1;
+                }
+
+                pending = "City " + row + ",Region " + (row % 1000) + "\n";
+                pendingOffset = 0;
+                row++;
+            }
+
+            int count = Math.min(length, pending.length() - pendingOffset);
+            pending.getChars(pendingOffset, pendingOffset + count, buffer, offset);
+            pendingOffset += count;
+
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuestionGenerator, with N-option, M-correct questions up to the size
+ * of the bank.  The cost of generating them is in QuestionGeneratorBenchmark.
+ */
+public class QuestionGeneratorTest {
+    @Test
+    public void generate_offersDistinctAnswersIncludingTheCorrectOnes() {
+        QuestionGenerator small = new QuestionGenerator(QuizCatalog.getDefault());
+        QuestionGenerator large = new QuestionGenerator(SyntheticBank(1000));
+        int[][] shapes = { { 1, 5 }, { 2, 5 }, { 3, 10 }, { 1, 50 }, { 7, 49 }, { 50, 50 } };
+        QuizRandom random = new QuizRandom(4);
+
+        for(int[] shape : shapes) {
+            for(int round = 0; round < 200; round++) {
+                AssertValid(small.Generate(QuestionType.CHECK_BOX, shape[0], shape[1], round % 2 == 0, random),
+                        shape[0], shape[1]);
+                AssertValid(large.Generate(QuestionType.CHECK_BOX, shape[0], shape[1], round % 2 == 0, random),
+                        shape[0], shape[1]);
+            }
+        }
+    }
+
+    @Test
+    public void generate_typedAnswerOffersNoChoices() {
+        QuestionGenerator generator = new QuestionGenerator(QuizCatalog.getDefault());
+        Question question = generator.Generate(QuestionType.TEXT_ENTRY, 1, 0, false, new QuizRandom(1));
+
+        assertEquals(1, question.getTargetCount());
+        assertEquals(0, question.getAnswerCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generate_moreAnswersThanTheBankThrows() {
+        new QuestionGenerator(QuizCatalog.getDefault()).Generate(QuestionType.CHECK_BOX, 2, 51, false, new QuizRandom(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generate_fewerAnswersThanTargetsThrows() {
+        new QuestionGenerator(QuizCatalog.getDefault()).Generate(QuestionType.CHECK_BOX, 3, 2, false, new QuizRandom(1));
+    }
+
+    /**
+     * With 45 of the 50 states offered and 3 of them correct, every state is as likely
+     * as any other to be asked about and to be offered as a wrong answer, and the
+     * correct answers are as likely to be in any position.
+     */
+    @Test
+    public void generate_staysUniformNearTheSizeOfTheBank() {
+        QuestionBank bank = QuizCatalog.getDefault();
+        QuestionGenerator generator = new QuestionGenerator(bank);
+        QuizRandom random = new QuizRandom(6);
+        int targetCount = 3;
+        int answerCount = 45;
+        int questions = 40000;
+        long[] targetCounts = new long[bank.size()];
+        long[] distractorCounts = new long[bank.size()];
+        long[] positionCounts = new long[answerCount];
+
+        for(int q = 0; q < questions; q++) {
+            Question question = generator.Generate(QuestionType.CHECK_BOX, targetCount, answerCount, false, random);
+
+            for(int i = 0; i < answerCount; i++) {
+                int id = question.getAnswerId(i);
+
+                if (question.isTarget(id)) {
+                    targetCounts[id]++;
+                    positionCounts[i]++;
+                } else {
+                    distractorCounts[id]++;
+                }
+            }
+        }
+
+        AssertUniform("targets", targetCounts);
+        AssertUniform("distractors", distractorCounts);
+        AssertUniform("positions", positionCounts);
+    }
+
+    private static QuestionBank SyntheticBank(int size) {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+
+        for(int i = 0; i < size; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+
+        return builder.Build();
+    }
+
+    private static void AssertValid(Question question, int targetCount, int answerCount) {
+        assertEquals(targetCount, question.getTargetCount());
+        assertEquals(answerCount, question.getAnswerCount());
+
+        int[] answers = new int[answerCount];
+        for(int i = 0; i < answerCount; i++) {
+            answers[i] = question.getAnswerId(i);
+        }
+
+        Arrays.sort(answers);
+        for(int i = 1; i < answerCount; i++) {
+            assertTrue(answers[i - 1] < answers[i]);
+        }
+
+        for(int i = 0; i < targetCount; i++) {
+            assertTrue(Arrays.binarySearch(answers, question.getTargetId(i)) >= 0);
+        }
+    }
+
+    /**
+     * Chi-squared against the uniform distribution; its mean is the number of buckets
+     * less one and its standard deviation about the square root of twice that.
+     */
+    private static void AssertUniform(String what, long[] counts) {
+        long total = 0;
+        for(long count : counts) {
+            total += count;
+        }
+
+        double expected = total / (double) counts.length;
+        double chiSquared = 0;
+        for(long count : counts) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+
+        assertTrue(what + ": " + chiSquared,
+                chiSquared < counts.length - 1 + 5 * Math.sqrt(2.0 * counts.length));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuizCatalog.  Its cost is measured by CatalogBenchmark.
+ */
+public class QuizCatalogTest {
+    @Test
+    public void defaultCatalog_hasFiftyStates() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+
+        assertEquals(50, catalog.size());
+        assertEquals("Alabama", catalog.getStateName(0));
+        assertEquals("Montgomery", catalog.getCapitolName(0));
+        assertEquals("Wyoming", catalog.getStateName(49));
+        assertEquals("Cheyenne", catalog.getCapitolName(49));
+    }
+
+    @Test
+    public void defaultCatalog_isBuiltOnce() {
+        assertSame(QuizCatalog.getDefault(), QuizCatalog.getDefault());
+    }
+
+    @Test
+    public void lookups_ignoreCase() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        int id = catalog.FindByStateName("minnesota");
+
+        assertEquals("Minnesota", catalog.getStateName(id));
+        assertEquals(id, catalog.FindByStateName("MINNESOTA"));
+        assertEquals(id, catalog.FindByCapitolName("saint PAUL"));
+        assertEquals(-1, catalog.FindByStateName("Puerto Rico"));
+        assertEquals(-1, catalog.FindByCapitolName(null));
+    }
+
+    @Test
+    public void lookups_roundTripEveryId() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+
+        for(int id = 0; id < catalog.size(); id++) {
+            assertEquals(id, catalog.FindByStateName(catalog.getStateName(id)));
+            assertEquals(id, catalog.FindByCapitolName(catalog.getCapitolName(id)));
+        }
+    }
+}
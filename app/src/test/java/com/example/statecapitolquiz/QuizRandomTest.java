@@ -0,0 +1,93 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuizRandom.  Its throughput across threads is compared with a shared
+ * java.util.Random in QuizRandomBenchmark.
+ */
+public class QuizRandomTest {
+    @Test
+    public void sameSeed_givesTheSameNumbers() {
+        QuizRandom a = new QuizRandom(123);
+        QuizRandom b = new QuizRandom(123);
+
+        for(int i = 0; i < 1000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+            assertEquals(a.nextInt(50), b.nextInt(50));
+        }
+    }
+
+    @Test
+    public void setSeed_withTheStateCarriesOn() {
+        QuizRandom original = new QuizRandom(7);
+        original.nextInt(10);
+        QuizRandom copy = new QuizRandom(original.getState());
+
+        for(int i = 0; i < 100; i++) {
+            assertEquals(original.nextInt(1000), copy.nextInt(1000));
+        }
+
+        copy.setSeed(original.getState());
+        assertEquals(original.nextLong(), copy.nextLong());
+    }
+
+    @Test
+    public void split_givesADifferentStream() {
+        QuizRandom parent = new QuizRandom(8);
+        QuizRandom child = parent.Split();
+        int same = 0;
+
+        for(int i = 0; i < 1000; i++) {
+            if (parent.nextInt(1000) == child.nextInt(1000)) {
+                same++;
+            }
+        }
+
+        assertTrue(same < 10);
+    }
+
+    @Test
+    public void nextInt_isUniform() {
+        QuizRandom random = new QuizRandom(9);
+
+        for(int bound : new int[] { 2, 3, 5, 50, 1000 }) {
+            int draws = bound * 2000;
+            int[] counts = new int[bound];
+
+            for(int i = 0; i < draws; i++) {
+                counts[random.nextInt(bound)]++;
+            }
+
+            // Chi-squared against the uniform distribution; its mean is bound - 1 and
+            // its standard deviation about sqrt(2 * bound).
+            double expected = draws / (double) bound;
+            double chiSquared = 0;
+            for(int count : counts) {
+                chiSquared += (count - expected) * (count - expected) / expected;
+            }
+
+            assertTrue("bound " + bound + ": " + chiSquared,
+                    chiSquared < bound - 1 + 5 * Math.sqrt(2.0 * bound));
+        }
+    }
+
+    @Test
+    public void nextDoubleAndFloat_stayInRange() {
+        QuizRandom random = new QuizRandom(10);
+
+        for(int i = 0; i < 10000; i++) {
+            double d = random.nextDouble();
+            float f = random.nextFloat();
+            assertTrue(d >= 0 && d < 1);
+            assertTrue(f >= 0 && f < 1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextInt_rejectsABoundOfZero() {
+        new QuizRandom(11).nextInt(0);
+    }
+}
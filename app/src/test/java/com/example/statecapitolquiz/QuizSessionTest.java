@@ -0,0 +1,510 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QuizSession and its snapshots, including their size and what moving
+ * on to the next question allocates.  Timings are in QuizSessionBenchmark and
+ * SnapshotBenchmark.
+ */
+public class QuizSessionTest {
+    @Test
+    public void nextQuestion_offersTheTargetsAndDistinctAnswers() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession session = new QuizSession(catalog, 10, QuizMode.RANDOM, false, false, new QuizRandom(1));
+        BitSet typesAsked = new BitSet();
+
+        while(!session.isFinished()) {
+            Question question = session.NextQuestion();
+            QuestionType type = question.getType();
+            typesAsked.set(type.ordinal());
+
+            assertSame(question, session.getCurrentQuestion());
+            assertEquals(AnswerCounts.DEFAULT.getTargetCount(type), question.getTargetCount());
+            assertEquals(AnswerCounts.DEFAULT.getAnswerCount(type), question.getAnswerCount());
+
+            BitSet offered = new BitSet();
+            int targetsOffered = 0;
+            for(int i = 0; i < question.getAnswerCount(); i++) {
+                int id = question.getAnswerId(i);
+                assertFalse(offered.get(id));
+                offered.set(id);
+
+                if (question.isTarget(id)) {
+                    targetsOffered++;
+                }
+            }
+
+            if (question.getAnswerCount() > 0) {
+                assertEquals(question.getTargetCount(), targetsOffered);
+            }
+
+            session.RecordAnswer(true, false);
+        }
+
+        assertEquals(QuestionType.values().length, typesAsked.cardinality());
+    }
+
+    /**
+     * A session asked for N answers with M correct draws every multiple choice
+     * question in that shape, and keeps it across a snapshot.
+     */
+    @Test
+    public void answerCounts_shapeEveryQuestionAndSurviveASnapshot() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        AnswerCounts counts = new AnswerCounts(8, 4);
+        QuizSession session = new QuizSession(catalog, 10, QuizMode.RANDOM, QuizDirection.FORWARD, counts, false,
+                false, new QuizRandom(4), null);
+        boolean askedCheckBox = false;
+
+        while(!session.isFinished()) {
+            Question question = session.NextQuestion();
+            QuestionType type = question.getType();
+            askedCheckBox |= type == QuestionType.CHECK_BOX;
+
+            assertEquals(type == QuestionType.CHECK_BOX ? 4 : 1, question.getTargetCount());
+            assertEquals(type == QuestionType.TEXT_ENTRY ? 0 : 8, question.getAnswerCount());
+
+            QuizSession restored = QuizSession.Restore(session.Snapshot(), catalog);
+            assertEquals(8, restored.getAnswerCounts().getChoiceCount());
+            assertEquals(4, restored.getAnswerCounts().getCheckBoxTargetCount());
+            assertEquals(question.getAnswerCount(), restored.getCurrentQuestion().getAnswerCount());
+
+            session.RecordAnswer(true, false);
+        }
+
+        assertTrue(askedCheckBox);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void answerCounts_needAWrongAnswerToOffer() {
+        new AnswerCounts(3, 3);
+    }
+
+    @Test
+    public void nextQuestion_neverRepeatsAState() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession session = new QuizSession(catalog, catalog.size(), QuizMode.RANDOM, true, false,
+                new QuizRandom(2));
+        BitSet asked = new BitSet();
+        int targets = 0;
+
+        // As many questions as states: the plan has to stop check box questions from
+        // using up the bank early.
+        while(!session.isFinished()) {
+            Question question = session.NextQuestion();
+
+            for(int t = 0; t < question.getTargetCount(); t++) {
+                assertFalse(asked.get(question.getTargetId(t)));
+                asked.set(question.getTargetId(t));
+                targets++;
+            }
+
+            session.RecordAnswer(false, false);
+        }
+
+        assertEquals(catalog.size(), session.getQuestionsAsked());
+        assertEquals(targets, asked.cardinality());
+    }
+
+    @Test
+    public void recordAnswer_keepsScoreUntilFinished() {
+        QuizSession session = new QuizSession(QuizCatalog.getDefault(), 3, QuizMode.RANDOM, false, true, new QuizRandom(3));
+
+        session.NextQuestion();
+        session.RecordAnswer(true, false);
+        session.NextQuestion();
+        session.RecordAnswer(false, true);
+        assertFalse(session.isFinished());
+
+        session.NextQuestion();
+        session.RecordAnswer(true, true);
+        assertTrue(session.isFinished());
+        assertEquals(3, session.getQuestionsAsked());
+        assertEquals(2, session.getQuestionsCorrect());
+        assertEquals(2, session.getHintsUsed());
+        assertTrue(session.isHintPenalty());
+    }
+
+    @Test
+    public void snapshot_restoresProgressAndCurrentQuestion() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession session = new QuizSession(catalog, 10, QuizMode.RANDOM, true, true, new QuizRandom(5));
+
+        for(int i = 0; i < 6; i++) {
+            session.NextQuestion();
+            session.RecordAnswer(i % 2 == 0, i % 3 == 0);
+        }
+        Question question = session.NextQuestion();
+
+        byte[] snapshot = session.Snapshot();
+        QuizSession restored = QuizSession.Restore(snapshot, catalog);
+
+        assertEquals(session.getQuestionCount(), restored.getQuestionCount());
+        assertEquals(session.getQuestionsAsked(), restored.getQuestionsAsked());
+        assertEquals(session.getQuestionsCorrect(), restored.getQuestionsCorrect());
+        assertEquals(session.getHintsUsed(), restored.getHintsUsed());
+        assertTrue(restored.isHardMode());
+        assertTrue(restored.isHintPenalty());
+
+        for(int i = 0; i < session.getQuestionsAsked(); i++) {
+            assertEquals(session.wasCorrect(i), restored.wasCorrect(i));
+            assertEquals(session.wasHintUsed(i), restored.wasHintUsed(i));
+        }
+
+        for(int id = 0; id < catalog.size(); id++) {
+            assertEquals(session.isUsed(id), restored.isUsed(id));
+        }
+
+        Question restoredQuestion = restored.getCurrentQuestion();
+        assertEquals(question.getType(), restoredQuestion.getType());
+        for(int i = 0; i < question.getTargetCount(); i++) {
+            assertEquals(question.getTargetId(i), restoredQuestion.getTargetId(i));
+        }
+        for(int i = 0; i < question.getAnswerCount(); i++) {
+            assertEquals(question.getAnswerId(i), restoredQuestion.getAnswerId(i));
+        }
+
+        // The restored session carries on without repeating a state.
+        restored.RecordAnswer(true, false);
+        Question next = restored.NextQuestion();
+        assertFalse(session.isUsed(next.getTargetId(0)));
+    }
+
+    @Test
+    public void snapshot_isCompactForSmallAndLargeBanks() {
+        QuizSession small = new QuizSession(QuizCatalog.getDefault(), 10, QuizMode.RANDOM, false, false, new QuizRandom(7));
+        for(int i = 0; i < 9; i++) {
+            small.NextQuestion();
+            small.RecordAnswer(true, false);
+        }
+        small.NextQuestion();
+
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(100000);
+        for(int i = 0; i < 100000; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+        QuizCatalog large = builder.Build();
+        QuizSession sparse = new QuizSession(large, 50, QuizMode.RANDOM, false, false, new QuizRandom(8));
+        for(int i = 0; i < 49; i++) {
+            sparse.NextQuestion();
+            sparse.RecordAnswer(i % 2 == 0, false);
+        }
+        sparse.NextQuestion();
+
+        int smallLength = small.Snapshot().length;
+        int sparseLength = sparse.Snapshot().length;
+        assertTrue(smallLength <= 48);
+        assertTrue(sparseLength <= 256);
+        assertEquals(sparse.getQuestionsCorrect(), QuizSession.Restore(sparse.Snapshot(), large).getQuestionsCorrect());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_rejectsASnapshotForAnotherBank() {
+        QuizSession session = new QuizSession(QuizCatalog.getDefault(), 4, QuizMode.RANDOM, false, false, new QuizRandom(9));
+        session.NextQuestion();
+
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(10);
+        for(int i = 0; i < 10; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+
+        QuizSession.Restore(session.Snapshot(), builder.Build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_rejectsATruncatedSnapshot() {
+        QuizSession session = new QuizSession(QuizCatalog.getDefault(), 4, QuizMode.RANDOM, false, false, new QuizRandom(10));
+        session.NextQuestion();
+        byte[] snapshot = session.Snapshot();
+
+        QuizSession.Restore(java.util.Arrays.copyOf(snapshot, snapshot.length - 1), QuizCatalog.getDefault());
+    }
+
+    @Test
+    public void sameSeed_replaysTheSameSession() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession first = new QuizSession(catalog, 15, QuizMode.RANDOM, true, false, new QuizRandom(42));
+        QuizSession second = new QuizSession(catalog, 15, QuizMode.RANDOM, true, false, new QuizRandom(42));
+
+        while(!first.isFinished()) {
+            Question a = first.NextQuestion();
+            Question b = second.NextQuestion();
+
+            assertEquals(a.getType(), b.getType());
+            for(int i = 0; i < a.getTargetCount(); i++) {
+                assertEquals(a.getTargetId(i), b.getTargetId(i));
+            }
+            for(int i = 0; i < a.getAnswerCount(); i++) {
+                assertEquals(a.getAnswerId(i), b.getAnswerId(i));
+            }
+
+            boolean correct = a.getTargetId(0) % 2 == 0;
+            first.RecordAnswer(correct, false);
+            second.RecordAnswer(correct, false);
+        }
+    }
+
+    @Test
+    public void snapshot_savesTheRandomNumberGenerator() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+
+        for(int seed = 0; seed < 20; seed++) {
+            QuizSession session = new QuizSession(catalog, 10, QuizMode.RANDOM, false, false, new QuizRandom(seed));
+            session.NextQuestion();
+            session.RecordAnswer(true, false);
+            session.NextQuestion();
+
+            QuizSession restored = QuizSession.Restore(session.Snapshot(), catalog);
+
+            // The type of question is the next number drawn, so both pick the same one.
+            session.RecordAnswer(true, false);
+            restored.RecordAnswer(true, false);
+            assertEquals(session.NextQuestion().getType(), restored.NextQuestion().getType());
+        }
+    }
+
+    @Test
+    public void reverseSession_asksTheSameQuestionsTheOtherWayRound() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession forward = new QuizSession(catalog, 10, QuizMode.RANDOM, false, false, new QuizRandom(21));
+        QuizSession reverse = new QuizSession(catalog, 10, QuizMode.RANDOM, QuizDirection.REVERSE, false, false,
+                new QuizRandom(21));
+
+        while(!forward.isFinished()) {
+            Question a = forward.NextQuestion();
+            Question b = reverse.NextQuestion();
+
+            assertFalse(a.isReversed());
+            assertTrue(b.isReversed());
+            assertEquals(a.getType(), b.getType());
+            assertEquals(a.getTargetId(0), b.getTargetId(0));
+            assertTrue(b.getDisplayBank(catalog) instanceof ReversedQuestionBank);
+            assertEquals(catalog.getCapitolName(b.getTargetId(0)),
+                    b.getDisplayBank(catalog).getStateName(b.getTargetId(0)));
+
+            forward.RecordAnswer(true, false);
+            reverse.RecordAnswer(true, false);
+        }
+    }
+
+    @Test
+    public void mixedSession_asksBothWays() {
+        QuizSession session = new QuizSession(QuizCatalog.getDefault(), 40, QuizMode.RANDOM, QuizDirection.MIXED,
+                false, false, new QuizRandom(22));
+        int reversed = 0;
+
+        while(!session.isFinished()) {
+            if (session.NextQuestion().isReversed()) {
+                reversed++;
+            }
+
+            session.RecordAnswer(true, false);
+        }
+
+        assertTrue(reversed > 5);
+        assertTrue(reversed < 35);
+    }
+
+    @Test
+    public void snapshot_savesTheDirection() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+
+        for(int seed = 0; seed < 10; seed++) {
+            QuizSession session = new QuizSession(catalog, 10, QuizMode.RANDOM, QuizDirection.MIXED, false, false,
+                    new QuizRandom(seed));
+            Question question = session.NextQuestion();
+
+            QuizSession restored = QuizSession.Restore(session.Snapshot(), catalog);
+
+            assertEquals(QuizDirection.MIXED, restored.getDirection());
+            assertEquals(question.isReversed(), restored.getCurrentQuestion().isReversed());
+
+            session.RecordAnswer(true, false);
+            restored.RecordAnswer(true, false);
+            assertEquals(session.NextQuestion().isReversed(), restored.NextQuestion().isReversed());
+        }
+    }
+
+    /**
+     * Snapshots in any other format, such as those from before sessions were planned,
+     * are refused rather than restored without a plan.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_rejectsAnEarlierVersion() {
+        QuizSession session = new QuizSession(QuizCatalog.getDefault(), 4, QuizMode.RANDOM, false, false, new QuizRandom(23));
+        session.NextQuestion();
+        byte[] snapshot = session.Snapshot();
+        snapshot[0]--;
+
+        QuizSession.Restore(snapshot, QuizCatalog.getDefault());
+    }
+
+    /**
+     * A bank with fewer states than questions asked for shortens the session rather
+     * than running out part way through.
+     */
+    @Test
+    public void smallBank_shortensTheSessionToFit() {
+        for(int size = 1; size <= 12; size++) {
+            QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+            for(int i = 0; i < size; i++) {
+                builder.Add("State " + i, "Capitol " + i);
+            }
+            QuizCatalog bank = builder.Build();
+
+            for(int seed = 0; seed < 20; seed++) {
+                QuizSession session = new QuizSession(bank, 10, QuizMode.RANDOM, false, false, new QuizRandom(seed));
+                assertEquals(Math.min(10, size), session.getQuestionCount());
+
+                while(!session.isFinished()) {
+                    session.NextQuestion();
+                    session.RecordAnswer(true, false);
+                    session.PrepareNextQuestion();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void prepareNextQuestion_isHandedOverByNextQuestion() {
+        QuizSession session = new QuizSession(QuizCatalog.getDefault(), 3, QuizMode.RANDOM, false, false, new QuizRandom(12));
+        Question first = session.NextQuestion();
+
+        // Nothing is prepared until the current question has been answered.
+        assertNull(session.PrepareNextQuestion());
+
+        session.RecordAnswer(true, false);
+        assertTrue(session.isCurrentAnswered());
+        Question prepared = session.PrepareNextQuestion();
+        assertNotNull(prepared);
+        assertSame(prepared, session.PrepareNextQuestion());
+        assertSame(first, session.getCurrentQuestion());
+
+        for(int i = 0; i < prepared.getTargetCount(); i++) {
+            assertTrue(session.isUsed(prepared.getTargetId(i)));
+        }
+
+        assertSame(prepared, session.NextQuestion());
+        assertFalse(session.isCurrentAnswered());
+        session.RecordAnswer(false, false);
+        session.NextQuestion();
+        session.RecordAnswer(true, false);
+
+        // The quiz is over, so there's nothing more to prepare.
+        assertTrue(session.isFinished());
+        assertNull(session.PrepareNextQuestion());
+    }
+
+    @Test
+    public void snapshot_savesThePreparedQuestionOnceTheCurrentOneIsAnswered() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession session = new QuizSession(catalog, 5, QuizMode.RANDOM, false, false, new QuizRandom(13));
+        session.NextQuestion();
+        session.RecordAnswer(true, false);
+
+        // Answered with nothing prepared: there's no question to come back to.
+        assertNull(QuizSession.Restore(session.Snapshot(), catalog).getCurrentQuestion());
+
+        Question prepared = session.PrepareNextQuestion();
+        QuizSession restored = QuizSession.Restore(session.Snapshot(), catalog);
+        Question question = restored.getCurrentQuestion();
+
+        assertEquals(1, restored.getQuestionsAsked());
+        assertEquals(prepared.getType(), question.getType());
+        for(int i = 0; i < prepared.getTargetCount(); i++) {
+            assertEquals(prepared.getTargetId(i), question.getTargetId(i));
+        }
+        for(int i = 0; i < prepared.getAnswerCount(); i++) {
+            assertEquals(prepared.getAnswerId(i), question.getAnswerId(i));
+        }
+    }
+
+    @Test
+    public void prepareNextQuestion_onAnotherThreadNeverRepeatsAState() throws Exception {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        final QuizSession session = new QuizSession(catalog, 20, QuizMode.RANDOM, true, false, new QuizRandom(14));
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newSingleThreadExecutor();
+        BitSet seen = new BitSet();
+
+        try {
+            Question question = session.NextQuestion();
+            while(true) {
+                for(int i = 0; i < question.getTargetCount(); i++) {
+                    assertFalse(seen.get(question.getTargetId(i)));
+                    seen.set(question.getTargetId(i));
+                }
+
+                session.RecordAnswer(true, false);
+                if (session.isFinished()) {
+                    break;
+                }
+
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        session.PrepareNextQuestion();
+                    }
+                });
+
+                // Sometimes move on before the prefetch has had a chance to run.
+                question = session.NextQuestion();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(20, session.getQuestionsAsked());
+        assertEquals(seen.cardinality(), catalog.size() - CountAvailable(session, catalog.size()));
+    }
+
+    /**
+     * The number of states a session hasn't used.
+     */
+    private static int CountAvailable(QuizSession session, int bankSize) {
+        int available = 0;
+        for(int id = 0; id < bankSize; id++) {
+            if (!session.isUsed(id)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Moving on to the next question across a 50 question session should allocate
+     * only the small Question object itself.
+     */
+    @Test
+    public void nextQuestion_allocatesOnlyTheQuestion() {
+        QuizRandom random = new QuizRandom(4);
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(1000);
+        for(int i = 0; i < 1000; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+        QuizCatalog catalog = builder.Build();
+
+        // Warm up, including building the hard mode neighbors.
+        QuizSession warmUp = new QuizSession(catalog, 50, QuizMode.RANDOM, true, false, random.Split());
+        for(int i = 0; i < 50; i++) {
+            warmUp.NextQuestion();
+            warmUp.RecordAnswer(true, false);
+        }
+
+        QuizSession session = new QuizSession(catalog, 50, QuizMode.RANDOM, true, false, random.Split());
+        long allocatedBefore = AllocationMeter.bytesAllocated();
+        while(!session.isFinished()) {
+            session.NextQuestion();
+            session.RecordAnswer(random.nextBoolean(), false);
+        }
+        long allocated = AllocationMeter.bytesAllocated() - allocatedBefore;
+
+        if (AllocationMeter.isSupported() && allocated / 50 > 256) {
+            fail("Moving on to the next question allocated " + allocated / 50 + " bytes.");
+        }
+    }
+}
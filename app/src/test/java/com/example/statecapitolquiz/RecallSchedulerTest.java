@@ -0,0 +1,183 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for RecallScheduler and the IndexedMinHeap under it.  Pick and review
+ * timings are in RecallSchedulerBenchmark.
+ */
+public class RecallSchedulerTest {
+    @Test
+    public void heap_matchesALinearScan() {
+        Random random = new Random(1);
+        int capacity = 500;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        long[] keys = new long[capacity];
+        boolean[] present = new boolean[capacity];
+        int[] smallest = new int[3];
+
+        for(int step = 0; step < 20000; step++) {
+            int id = random.nextInt(capacity);
+
+            if (random.nextInt(4) == 0) {
+                assertEquals(present[id], heap.Remove(id));
+                present[id] = false;
+            } else {
+                keys[id] = random.nextInt(1000);
+                present[id] = true;
+                heap.Put(id, keys[id]);
+            }
+
+            // The smallest three keys must come back in order.
+            int found = heap.PeekSmallest(3, smallest);
+            long previous = Long.MIN_VALUE;
+            for(int i = 0; i < found; i++) {
+                assertTrue(present[smallest[i]]);
+                assertTrue(keys[smallest[i]] >= previous);
+                previous = keys[smallest[i]];
+            }
+
+            long minimum = Long.MAX_VALUE;
+            int count = 0;
+            for(int i = 0; i < capacity; i++) {
+                if (present[i]) {
+                    minimum = Math.min(minimum, keys[i]);
+                    count++;
+                }
+            }
+
+            assertEquals(count, heap.size());
+            assertEquals(Math.min(3, count), found);
+            if (count > 0) {
+                assertEquals(minimum, keys[heap.Peek()]);
+            }
+        }
+    }
+
+    @Test
+    public void review_spacesOutCorrectAnswersAndBringsBackMistakes() {
+        RecallScheduler scheduler = new RecallScheduler(50, new Random(2));
+
+        scheduler.Review(7, RecallScheduler.QualityOf(true, false));
+        assertEquals(RecallScheduler.FIRST_INTERVAL, scheduler.getDue(7));
+        scheduler.Review(7, RecallScheduler.QualityOf(true, false));
+        assertEquals(RecallScheduler.SECOND_INTERVAL, scheduler.getInterval(7));
+        scheduler.Review(7, RecallScheduler.QualityOf(true, false));
+        assertTrue(scheduler.getInterval(7) > RecallScheduler.SECOND_INTERVAL);
+
+        scheduler.Review(7, RecallScheduler.QualityOf(false, false));
+        assertEquals(RecallScheduler.LAPSE_INTERVAL, scheduler.getInterval(7));
+        assertTrue(scheduler.getEase(7) < RecallScheduler.DEFAULT_EASE);
+
+        for(int i = 0; i < 20; i++) {
+            scheduler.Review(8, RecallScheduler.QualityOf(false, false));
+        }
+        assertEquals(RecallScheduler.MIN_EASE, scheduler.getEase(8), 0.0001f);
+    }
+
+    @Test
+    public void snapshot_restoresTheSchedule() {
+        RecallScheduler scheduler = new RecallScheduler(50, new Random(5));
+        int[] picked = new int[2];
+
+        for(int question = 0; question < 60; question++) {
+            scheduler.PickNext(2, picked);
+            scheduler.Review(picked[0], RecallScheduler.QualityOf(question % 3 != 0, false));
+            scheduler.Review(picked[1], RecallScheduler.QualityOf(true, question % 4 == 0));
+            scheduler.EndQuestion();
+        }
+
+        RecallScheduler restored = RecallScheduler.Restore(scheduler.Snapshot(), 50);
+
+        assertEquals(scheduler.getNow(), restored.getNow());
+        for(int id = 0; id < 50; id++) {
+            assertEquals(scheduler.getEase(id), restored.getEase(id), 0f);
+            assertEquals(scheduler.getInterval(id), restored.getInterval(id));
+            assertEquals(scheduler.getDue(id), restored.getDue(id));
+        }
+
+        // Both carry on the same way.
+        int[] restoredPicked = new int[2];
+        for(int question = 0; question < 60; question++) {
+            scheduler.PickNext(2, picked);
+            restored.PickNext(2, restoredPicked);
+            assertArrayEquals(picked, restoredPicked);
+
+            boolean correct = question % 5 != 0;
+            scheduler.Review(picked[0], RecallScheduler.QualityOf(correct, false));
+            restored.Review(restoredPicked[0], RecallScheduler.QualityOf(correct, false));
+            scheduler.EndQuestion();
+            restored.EndQuestion();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_rejectsAScheduleForAnotherSize() {
+        RecallScheduler.Restore(new RecallScheduler(50, new Random(6)).Snapshot(), 51);
+    }
+
+    @Test
+    public void spacedSession_bringsBackMissedStatesAndSpacesKnownOnes() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        RecallScheduler scheduler = new RecallScheduler(catalog.size(), new Random(3));
+        int[] timesAsked = new int[catalog.size()];
+        int missed = catalog.FindByStateName("Vermont");
+        int[] picked = new int[1];
+
+        // Always miss Vermont and get everything else right.
+        for(int question = 0; question < 200; question++) {
+            scheduler.PickNext(1, picked);
+            timesAsked[picked[0]]++;
+            scheduler.Review(picked[0], RecallScheduler.QualityOf(picked[0] != missed, false));
+            scheduler.EndQuestion();
+        }
+
+        int mostAskedOther = 0;
+        for(int id = 0; id < catalog.size(); id++) {
+            assertTrue(timesAsked[id] > 0);
+
+            if (id != missed) {
+                mostAskedOther = Math.max(mostAskedOther, timesAsked[id]);
+            }
+        }
+
+        assertTrue(timesAsked[missed] > 2 * mostAskedOther);
+    }
+
+    @Test
+    public void spacedSession_picksDistinctTargetsAndMayRepeatStates() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuizSession session = new QuizSession(catalog, 100, QuizMode.SPACED_REPETITION, false, false, new QuizRandom(4));
+        int[] timesAsked = new int[catalog.size()];
+
+        while(!session.isFinished()) {
+            Question question = session.NextQuestion();
+            BitSet targets = new BitSet();
+
+            for(int i = 0; i < question.getTargetCount(); i++) {
+                assertFalse(targets.get(question.getTargetId(i)));
+                targets.set(question.getTargetId(i));
+                timesAsked[question.getTargetId(i)]++;
+            }
+
+            session.RecordAnswer(false, false);
+        }
+
+        // At least 100 targets from 50 states, with every answer wrong, means states come back.
+        int repeated = 0;
+        for(int count : timesAsked) {
+            if (count > 1) {
+                repeated++;
+            }
+        }
+        assertTrue(repeated > 0);
+
+        QuizSession restored = QuizSession.Restore(session.Snapshot(), catalog);
+        assertEquals(QuizMode.SPACED_REPETITION, restored.getMode());
+    }
+}
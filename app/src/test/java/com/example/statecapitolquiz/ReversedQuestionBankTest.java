@@ -0,0 +1,54 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ReversedQuestionBank.  ReversedQuestionBankBenchmark compares the
+ * cost of looking a state up by its capitol with looking a capitol up by its state.
+ */
+public class ReversedQuestionBankTest {
+    @Test
+    public void names_areSwapped() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuestionBank reversed = new ReversedQuestionBank(catalog);
+
+        assertEquals(catalog.size(), reversed.size());
+        for(int id = 0; id < catalog.size(); id++) {
+            assertEquals(catalog.getCapitolName(id), reversed.getStateName(id));
+            assertEquals(catalog.getStateName(id), reversed.getCapitolName(id));
+        }
+    }
+
+    @Test
+    public void find_usesTheOppositeIndexIgnoringCase() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        QuestionBank reversed = new ReversedQuestionBank(catalog);
+        int california = catalog.FindByStateName("California");
+
+        assertEquals(california, reversed.FindByStateName("SACRAMENTO"));
+        assertEquals(california, reversed.FindByCapitolName("california"));
+        assertEquals(-1, reversed.FindByStateName("California"));
+        assertEquals(-1, reversed.FindByCapitolName("Sacramento"));
+    }
+
+    @Test
+    public void forBank_keepsTheViewAndItsMatcher() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        ReversedQuestionBank reversed = ReversedQuestionBank.ForBank(catalog);
+
+        assertSame(reversed, ReversedQuestionBank.ForBank(catalog));
+        assertSame(catalog, reversed.getForward());
+
+        // Going back and forth between the directions finds the same matchers again.
+        AnswerMatcher forwardMatcher = AnswerMatcher.ForBank(catalog);
+        AnswerMatcher reverseMatcher = AnswerMatcher.ForBank(reversed);
+        assertSame(forwardMatcher, AnswerMatcher.ForBank(catalog));
+        assertSame(reverseMatcher, AnswerMatcher.ForBank(reversed));
+
+        int california = catalog.FindByStateName("California");
+        assertTrue(reverseMatcher.Matches("california", california));
+        assertFalse(reverseMatcher.Matches("Sacramento", california));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SessionPlan, over every bank size up to a little past the largest
+ * number of questions.  The cost of planning is in SessionPlanBenchmark.
+ */
+public class SessionPlanTest {
+    @Test
+    public void build_neverAsksAboutMoreStatesThanTheBankHolds() {
+        QuizRandom random = new QuizRandom(1);
+
+        for(int bankSize = 0; bankSize <= 30; bankSize++) {
+            for(int questionCount = 0; questionCount <= 25; questionCount++) {
+                for(int round = 0; round < 50; round++) {
+                    SessionPlan plan = SessionPlan.Build(questionCount, bankSize, false, random);
+                    int items = 0;
+
+                    for(int i = 0; i < plan.size(); i++) {
+                        QuestionType type = plan.getType(i);
+                        assertTrue(AnswerCounts.DEFAULT.getAnswerCount(type) <= bankSize);
+                        items += AnswerCounts.DEFAULT.getTargetCount(type);
+                    }
+
+                    assertEquals(items, plan.getItemCount());
+                    assertTrue(items <= bankSize);
+                    assertEquals(Math.min(questionCount, bankSize), plan.size());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void build_fallsBackToSingleStateTypesWhenTheDeckRunsLow() {
+        // Ten questions from ten states leaves no room for a two state question.
+        SessionPlan tight = SessionPlan.Build(10, 10, false, new QuizRandom(2));
+        for(int i = 0; i < tight.size(); i++) {
+            assertEquals(1, AnswerCounts.DEFAULT.getTargetCount(tight.getType(i)));
+        }
+
+        // With eleven states, exactly one two state question fits at most.
+        int checkBoxes = 0;
+        QuizRandom random = new QuizRandom(3);
+        for(int round = 0; round < 1000; round++) {
+            SessionPlan plan = SessionPlan.Build(10, 11, false, random);
+            int count = 0;
+
+            for(int i = 0; i < plan.size(); i++) {
+                count += plan.getType(i) == QuestionType.CHECK_BOX ? 1 : 0;
+            }
+
+            assertTrue(count <= 1);
+            checkBoxes += count;
+        }
+
+        assertTrue(checkBoxes > 0);
+    }
+
+    @Test
+    public void build_leavesRoomForLargerCheckBoxQuestions() {
+        AnswerCounts counts = new AnswerCounts(10, 4);
+        QuizRandom random = new QuizRandom(7);
+
+        for(int bankSize = 10; bankSize <= 30; bankSize++) {
+            for(int round = 0; round < 50; round++) {
+                SessionPlan plan = SessionPlan.Build(10, bankSize, false, counts, random);
+
+                assertEquals(10, plan.size());
+                assertTrue(plan.getItemCount() <= bankSize);
+            }
+        }
+    }
+
+    @Test
+    public void build_offersOnlyTypedAnswersFromATinyBank() {
+        SessionPlan plan = SessionPlan.Build(10, 4, false, new QuizRandom(4));
+
+        assertEquals(4, plan.size());
+        for(int i = 0; i < plan.size(); i++) {
+            assertEquals(QuestionType.TEXT_ENTRY, plan.getType(i));
+        }
+
+        assertEquals(0, SessionPlan.Build(10, 0, false, new QuizRandom(4)).size());
+    }
+
+    @Test
+    public void build_withReuseKeepsTheQuestionCount() {
+        SessionPlan plan = SessionPlan.Build(100, 6, true, new QuizRandom(5));
+
+        assertEquals(100, plan.size());
+        assertTrue(plan.getItemCount() > 100);
+    }
+
+    /**
+     * With states to spare, every type is as likely as any other.
+     */
+    @Test
+    public void build_picksTypesUniformlyWhenTheDeckIsLarge() {
+        QuestionType[] types = QuestionType.values();
+        long[] counts = new long[types.length];
+        SessionPlan plan = SessionPlan.Build(30000, 100000, false, new QuizRandom(6));
+
+        for(int i = 0; i < plan.size(); i++) {
+            counts[plan.getType(i).ordinal()]++;
+        }
+
+        for(long count : counts) {
+            assertEquals(10000, count, 500);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of AnswerHistoryStore.Record() on the caller's thread, and of opening a
+ * store whose log holds a million records, before and after compaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerHistoryStoreBenchmark {
+    /**
+     * Number of records in the log that is replayed.
+     */
+    private static final int LOG_RECORDS = 1000000;
+
+    /**
+     * Number of distinct items the records are spread over.
+     */
+    private static final int ITEM_COUNT = 50000;
+
+    private File recording;
+
+    private File replayed;
+
+    private File compacted;
+
+    private AnswerHistoryStore store;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        recording = CreateDirectory();
+        store = AnswerHistoryStore.Open(recording, Integer.MAX_VALUE);
+        store.AwaitLoaded();
+
+        replayed = CreateDirectory();
+        WriteLog(replayed);
+
+        compacted = CreateDirectory();
+        WriteLog(compacted);
+        AnswerHistoryStore log = AnswerHistoryStore.Open(compacted, Integer.MAX_VALUE);
+        try {
+            log.AwaitLoaded();
+            log.Compact();
+        } finally {
+            log.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Delete(recording);
+        Delete(replayed);
+        Delete(compacted);
+    }
+
+    @Benchmark
+    public int record() {
+        int i = next++;
+        store.Record(i % ITEM_COUNT, QuestionType.RADIO_GROUP, i % 3 != 0, false, 1000 + i % 500, i);
+        return i;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long openLog() throws IOException {
+        return Open(replayed);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long openCompacted() throws IOException {
+        return Open(compacted);
+    }
+
+    private static long Open(File directory) throws IOException {
+        AnswerHistoryStore opened = AnswerHistoryStore.Open(directory, Integer.MAX_VALUE);
+
+        try {
+            opened.AwaitLoaded();
+            return opened.getAttempts(123);
+        } finally {
+            opened.close();
+        }
+    }
+
+    private static void WriteLog(File directory) throws IOException {
+        AnswerHistoryStore log = AnswerHistoryStore.Open(directory, Integer.MAX_VALUE);
+
+        try {
+            log.AwaitLoaded();
+            for(int i = 0; i < LOG_RECORDS; i++) {
+                log.Record(i % ITEM_COUNT, QuestionType.RADIO_GROUP, i % 3 != 0, false, 1000 + i % 500, i);
+            }
+        } finally {
+            log.close();
+        }
+    }
+
+    private static File CreateDirectory() throws IOException {
+        File directory = File.createTempFile("history", "");
+        if (!directory.delete() || !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        return directory;
+    }
+
+    private static void Delete(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for(File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking typed answers against the 50 state capitols: an exact answer, one with a
+ * typo, a wrong answer, and looking up which capitol an answer names.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerMatcherBenchmark {
+    private AnswerMatcher matcher;
+
+    private int sacramento;
+
+    @Setup
+    public void setUp() {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        matcher = new AnswerMatcher(catalog);
+        sacramento = catalog.FindByCapitolName("Sacramento");
+    }
+
+    @Benchmark
+    public boolean exact() {
+        return matcher.Matches("Sacramento", sacramento);
+    }
+
+    @Benchmark
+    public boolean typo() {
+        return matcher.Matches("  sacremento ", sacramento);
+    }
+
+    @Benchmark
+    public boolean wrong() {
+        return matcher.Matches("Salt Lake City", sacramento);
+    }
+
+    @Benchmark
+    public int findCapitol() {
+        return matcher.FindCapitol("St. Paul");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an AnswerMatcher for a generated deck, timed once per run, and checking
+ * typed answers with one character changed against it.  Run with -prof gc to see
+ * that matching allocates nothing once the scratch buffers have grown.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerMatcherDeckBenchmark {
+    /**
+     * Number of typed answers prepared up front, so the benchmark only measures
+     * matching.
+     */
+    private static final int ANSWER_COUNT = 1024;
+
+    @Param({ "1000", "100000" })
+    public int bankSize;
+
+    private QuizCatalog catalog;
+
+    private AnswerMatcher matcher;
+
+    private final StringBuilder[] typed = new StringBuilder[ANSWER_COUNT];
+
+    private final int[] expected = new int[ANSWER_COUNT];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        char[] name = new char[12];
+
+        for(int i = 0; i < bankSize; i++) {
+            int length = 6 + random.nextInt(7);
+            for(int c = 0; c < length; c++) {
+                name[c] = (char) ('a' + random.nextInt(26));
+            }
+            builder.Add("Place " + i, new String(name, 0, length));
+        }
+        catalog = builder.Build();
+        matcher = new AnswerMatcher(catalog);
+
+        for(int i = 0; i < ANSWER_COUNT; i++) {
+            expected[i] = random.nextInt(bankSize);
+            typed[i] = new StringBuilder(catalog.getCapitolName(expected[i]).toUpperCase());
+            char c = typed[i].charAt(2);
+            typed[i].setCharAt(2, c == 'Z' ? 'A' : (char) (c + 1));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AnswerMatcher build() {
+        return new AnswerMatcher(catalog);
+    }
+
+    @Benchmark
+    public boolean typo() {
+        int i = next;
+        next = (i + 1) % ANSWER_COUNT;
+        return matcher.Matches(typed[i], expected[i]);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toggling a check box answer and checking the selection, which should cost the same
+ * with 64 answers, such as every capital west of the Mississippi, as with five.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerSelectionBenchmark {
+    @Param({ "5", "64" })
+    public int answerCount;
+
+    private AnswerSelection selection;
+
+    private int[] answers;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        answers = new int[answerCount];
+        int[] targets = new int[answerCount / 2];
+
+        for(int i = 0; i < answerCount; i++) {
+            answers[i] = i * 3;
+        }
+        for(int i = 0; i < targets.length; i++) {
+            targets[i] = answers[i * 2];
+        }
+
+        selection = new AnswerSelection();
+        selection.Reset(new Question(QuestionType.CHECK_BOX, targets, answers));
+    }
+
+    @Benchmark
+    public boolean toggle() {
+        int id = answers[next];
+        next = (next + 1) % answerCount;
+        selection.Toggle(id, !selection.isSelected(id));
+        return selection.getSelectedCount() > 0 && selection.isCorrect();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a QuizCatalog, which is what QuizState.GetQuizStates() used to do on
+ * every question, looking states up in it by name, and reading every name out of it,
+ * which should allocate nothing (run with -prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogBenchmark {
+    @Param({ "50", "1000", "100000" })
+    public int size;
+
+    private String[] stateNames;
+
+    private String[] capitolNames;
+
+    private QuizCatalog catalog;
+
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        stateNames = new String[size];
+        capitolNames = new String[size];
+
+        for(int i = 0; i < size; i++) {
+            stateNames[i] = "State " + i;
+            capitolNames[i] = "Capitol " + i;
+        }
+
+        catalog = BuildCatalog();
+    }
+
+    @Benchmark
+    public QuizCatalog buildCatalog() {
+        return BuildCatalog();
+    }
+
+    @Benchmark
+    public int findByCapitolName() {
+        next = next + 1 == size ? 0 : next + 1;
+        return catalog.FindByCapitolName(capitolNames[next]);
+    }
+
+    @Benchmark
+    public int scanNames() {
+        int checksum = 0;
+
+        for(int id = 0; id < catalog.size(); id++) {
+            checksum += catalog.getStateName(id).length() + catalog.getCapitolName(id).length();
+        }
+
+        return checksum;
+    }
+
+    private QuizCatalog BuildCatalog() {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+
+        for(int i = 0; i < size; i++) {
+            builder.Add(stateNames[i], capitolNames[i]);
+        }
+
+        return builder.Build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing states from and removing them from an IndexDeck, which replaced
+ * SelectRandomAndRemove() and RemoveFromArrayList(), at a range of deck sizes.  Each
+ * operation puts the ID back afterwards so that the deck stays the same size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    @Param({ "50", "1000", "10000", "100000" })
+    public int size;
+
+    private IndexDeck deck;
+
+    private QuizRandom random;
+
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        deck = new IndexDeck(size);
+        random = new QuizRandom(1);
+    }
+
+    @Benchmark
+    public int drawAndRemove() {
+        int id = deck.DrawAndRemove(random);
+        deck.Add(id);
+        return id;
+    }
+
+    @Benchmark
+    public boolean removeById() {
+        next = next + 1 == size ? 0 : next + 1;
+        boolean removed = deck.Remove(next);
+        deck.Add(next);
+        return removed;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting to the first question of a large deck: parsing it as text with
+ * QuestionBankLoader, against opening the binary file written by QuestionBankWriter
+ * with MappedQuestionBank.  Each run is timed once from a cold start.  Run with
+ * -prof gc to compare what each allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class DeckStartupBenchmark {
+    @Param({ "1000", "200000" })
+    public int size;
+
+    private File text;
+
+    private File binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+        for(int i = 0; i < size; i++) {
+            builder.Add("Place " + i, "Capital " + i);
+        }
+        QuizCatalog catalog = builder.Build();
+
+        text = File.createTempFile("deck", ".tsv");
+        OutputStream out = new FileOutputStream(text);
+        try {
+            for(int i = 0; i < catalog.size(); i++) {
+                out.write((catalog.getStateName(i) + "\t" + catalog.getCapitolName(i) + "\n").getBytes("UTF-8"));
+            }
+        } finally {
+            out.close();
+        }
+
+        binary = File.createTempFile("deck", ".bin");
+        out = new FileOutputStream(binary);
+        try {
+            QuestionBankWriter.Write(catalog, out);
+        } finally {
+            out.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        text.delete();
+        binary.delete();
+    }
+
+    @Benchmark
+    public String loadText() throws IOException {
+        InputStream in = new FileInputStream(text);
+
+        try {
+            return QuestionBankLoader.Load(in).getCapitolName(size / 2);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Benchmark
+    public String openMapped() throws IOException {
+        MappedQuestionBank bank = MappedQuestionBank.Open(binary);
+
+        try {
+            return bank.getCapitolName(size / 2);
+        } finally {
+            bank.close();
+        }
+    }
+}
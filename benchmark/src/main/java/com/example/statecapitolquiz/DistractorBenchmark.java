@@ -0,0 +1,93 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picking the incorrect answers for a question, as SetupRadioButtons() and
+ * SetupCheckBoxes() used to: four for a radio group question, three for a check box
+ * question with two correct answers, and the hard mode version of each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistractorBenchmark {
+    @Param({ "50", "1000", "100000" })
+    public int bankSize;
+
+    private QuestionBank bank;
+
+    private DistractorSelector selector;
+
+    private NeighborIndex neighbors;
+
+    private QuizRandom random;
+
+    private final int[] targets = new int[2];
+
+    private final int[] answers = new int[5];
+
+    @Setup
+    public void setUp() {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        for(int i = 0; i < bankSize; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+
+        bank = builder.Build();
+        selector = new DistractorSelector(bankSize);
+        neighbors = NeighborIndex.ForBank(bank);
+        random = new QuizRandom(2);
+    }
+
+    @Benchmark
+    public int[] radioGroup() {
+        targets[0] = random.nextInt(bankSize);
+        answers[0] = targets[0];
+        selector.Select(targets, 1, 4, answers, 1, random);
+        return answers;
+    }
+
+    @Benchmark
+    public int[] checkBox() {
+        PickTwoTargets();
+        selector.Select(targets, 2, 3, answers, 2, random);
+        return answers;
+    }
+
+    @Benchmark
+    public int[] radioGroupHard() {
+        targets[0] = random.nextInt(bankSize);
+        answers[0] = targets[0];
+        selector.SelectHard(targets, 1, 4, answers, 1, random, neighbors);
+        return answers;
+    }
+
+    @Benchmark
+    public int[] checkBoxHard() {
+        PickTwoTargets();
+        selector.SelectHard(targets, 2, 3, answers, 2, random, neighbors);
+        return answers;
+    }
+
+    private void PickTwoTargets() {
+        targets[0] = random.nextInt(bankSize);
+        targets[1] = (targets[0] + 1 + random.nextInt(bankSize - 1)) % bankSize;
+        answers[0] = targets[0];
+        answers[1] = targets[1];
+    }
+}
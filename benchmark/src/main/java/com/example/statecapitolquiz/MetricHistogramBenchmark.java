@@ -0,0 +1,42 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing and recording one phase in a MetricHistogram, which has to be cheap enough
+ * to leave on in release builds.  Run with -prof gc to see that it allocates nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricHistogramBenchmark {
+    private MetricHistogram histogram;
+
+    private long started;
+
+    @Setup
+    public void setUp() {
+        histogram = new MetricHistogram("benchmark", "us");
+        started = System.nanoTime();
+    }
+
+    @Benchmark
+    public MetricHistogram recordMicrosSince() {
+        histogram.RecordMicrosSince(started);
+        return histogram;
+    }
+}
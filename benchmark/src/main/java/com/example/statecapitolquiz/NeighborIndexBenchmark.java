@@ -0,0 +1,76 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the NeighborIndex that hard mode draws its distractors from, timed once
+ * per run as it is when a deck is first used, and looking up a state's neighbors
+ * once it is built.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighborIndexBenchmark {
+    @Param({ "50", "1000", "100000" })
+    public int bankSize;
+
+    private QuestionBank bank;
+
+    private NeighborIndex neighbors;
+
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        Random names = new Random(5);
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        for(int i = 0; i < bankSize; i++) {
+            builder.Add("State " + i, RandomName(names));
+        }
+
+        bank = builder.Build();
+        neighbors = NeighborIndex.Build(bank, NeighborIndex.DEFAULT_NEIGHBOR_COUNT, null);
+        random = new Random(7);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NeighborIndex build() {
+        return NeighborIndex.Build(bank, NeighborIndex.DEFAULT_NEIGHBOR_COUNT, null);
+    }
+
+    @Benchmark
+    public int lookup() {
+        return neighbors.getNeighbor(random.nextInt(bankSize), random.nextInt(neighbors.getNeighborCount()));
+    }
+
+    /**
+     * Capitol names are random letters so that they share trigrams the way real names
+     * do, rather than differing only in a trailing number.
+     */
+    private static String RandomName(Random random) {
+        char[] name = new char[6 + random.nextInt(8)];
+        for(int i = 0; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        name[0] = Character.toUpperCase(name[0]);
+        return new String(name);
+    }
+}
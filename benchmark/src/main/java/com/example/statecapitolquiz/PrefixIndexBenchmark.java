@@ -0,0 +1,101 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the PrefixIndex behind the typing suggestions, timed once per run, and
+ * asking it for eight completions of each prefix of a name as it is typed.  The
+ * largest size is roughly the number of populated places in a world gazetteer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefixIndexBenchmark {
+    /**
+     * Syllables the generated place names are made of, so that they share prefixes
+     * the way real names do.
+     */
+    private static final String[] SYLLABLES = {
+        "san", "ta", "mar", "ia", "new", "port", "ville", "ber", "lin", "ham", "ton", "ches",
+        "ter", "al", "ex", "an", "dria", "spring", "field", "lake", "st ", "mont", "ro", "sa"
+    };
+
+    /**
+     * Number of names typed, prepared up front so the benchmark only measures
+     * completion.
+     */
+    private static final int SAMPLE_COUNT = 1024;
+
+    @Param({ "1000", "250000" })
+    public int bankSize;
+
+    private QuizCatalog catalog;
+
+    private PrefixIndex index;
+
+    private final char[][] typed = new char[SAMPLE_COUNT][];
+
+    private final int[] out = new int[8];
+
+    private int sample;
+
+    private int length;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(13);
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        StringBuilder name = new StringBuilder();
+
+        for(int i = 0; i < bankSize; i++) {
+            name.setLength(0);
+            int syllables = 2 + random.nextInt(4);
+            for(int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            builder.Add("Place " + i, name.toString());
+        }
+        catalog = builder.Build();
+        index = PrefixIndex.ForCapitols(catalog);
+
+        NameNormalizer normalizer = new NameNormalizer();
+        for(int i = 0; i < SAMPLE_COUNT; i++) {
+            typed[i] = normalizer.NormalizeToString(catalog.getCapitolName(random.nextInt(bankSize))).toCharArray();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PrefixIndex build() {
+        return PrefixIndex.ForCapitols(catalog);
+    }
+
+    @Benchmark
+    public int keystroke() {
+        char[] name = typed[sample];
+        if (++length > name.length) {
+            length = 1;
+            sample = (sample + 1) % SAMPLE_COUNT;
+            name = typed[sample];
+        }
+
+        return index.Complete(name, length, out, out.length);
+    }
+}
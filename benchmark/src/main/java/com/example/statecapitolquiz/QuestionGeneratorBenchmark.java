@@ -0,0 +1,58 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating a question with N answers, two of them correct, for N up to 50: from the
+ * fifty states, where 50 is every state, and from a large bank.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionGeneratorBenchmark {
+    @Param({ "50", "100000" })
+    public int bankSize;
+
+    @Param({ "5", "10", "25", "50" })
+    public int answerCount;
+
+    private QuestionGenerator generator;
+
+    private QuizRandom random;
+
+    @Setup
+    public void setUp() {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        for(int i = 0; i < bankSize; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+
+        generator = new QuestionGenerator(builder.Build());
+        random = new QuizRandom(5);
+    }
+
+    @Benchmark
+    public Question generate() {
+        return generator.Generate(QuestionType.CHECK_BOX, 2, answerCount, false, random);
+    }
+
+    @Benchmark
+    public Question generateHard() {
+        return generator.Generate(QuestionType.CHECK_BOX, 2, answerCount, true, random);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four threads drawing from one shared java.util.Random, which they contend for,
+ * against each drawing from its own QuizRandom split from a common seed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class QuizRandomBenchmark {
+    /**
+     * The Random every thread shares.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final Random random = new Random(12);
+
+        final QuizRandom seeds = new QuizRandom(13);
+    }
+
+    /**
+     * The QuizRandom each thread owns.
+     */
+    @State(Scope.Thread)
+    public static class Own {
+        QuizRandom random;
+
+        @Setup
+        public void setUp(Shared shared) {
+            synchronized(shared.seeds) {
+                random = shared.seeds.Split();
+            }
+        }
+    }
+
+    @Benchmark
+    public int sharedRandom(Shared shared) {
+        return shared.random.nextInt(50);
+    }
+
+    @Benchmark
+    public int ownQuizRandom(Own own) {
+        return own.random.nextInt(50);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Playing a whole 50 question hard mode session, as QuestionCoordinatorActivity does
+ * one page at a time.  Run with -prof gc to see what moving on to each question
+ * allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizSessionBenchmark {
+    @Param({ "50", "1000" })
+    public int bankSize;
+
+    private QuizCatalog catalog;
+
+    private QuizRandom random;
+
+    @Setup
+    public void setUp() {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        for(int i = 0; i < bankSize; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+
+        catalog = builder.Build();
+        random = new QuizRandom(4);
+    }
+
+    @Benchmark
+    public int fiftyQuestions() {
+        QuizSession session = new QuizSession(catalog, 50, QuizMode.RANDOM, true, false, random.Split());
+        while(!session.isFinished()) {
+            session.NextQuestion();
+            session.RecordAnswer(random.nextBoolean(), false);
+        }
+
+        return session.getQuestionsCorrect();
+    }
+}
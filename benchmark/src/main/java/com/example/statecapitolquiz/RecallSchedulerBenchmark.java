@@ -0,0 +1,61 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a RecallScheduler for a deck, timed once per run, and picking two items
+ * for a check box question and reviewing both, as a spaced repetition session does
+ * for each question.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecallSchedulerBenchmark {
+    @Param({ "50", "1000", "100000" })
+    public int bankSize;
+
+    private RecallScheduler scheduler;
+
+    private Random random;
+
+    private final int[] picked = new int[2];
+
+    @Setup
+    public void setUp() {
+        random = new Random(5);
+        scheduler = new RecallScheduler(bankSize, random);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RecallScheduler build() {
+        return new RecallScheduler(bankSize, random);
+    }
+
+    @Benchmark
+    public int pickAndReview() {
+        scheduler.PickNext(2, picked);
+        int quality = RecallScheduler.QualityOf(random.nextInt(10) != 0, false);
+        scheduler.Review(picked[0], quality);
+        scheduler.Review(picked[1], quality);
+        scheduler.EndQuestion();
+        return picked[0];
+    }
+}
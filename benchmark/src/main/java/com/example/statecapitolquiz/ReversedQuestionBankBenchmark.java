@@ -0,0 +1,71 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking an answer up by name, forward and through a ReversedQuestionBank, where the
+ * answer is a state name and is found in the state index.  A reverse lookup should
+ * cost no more than a small constant over a forward one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReversedQuestionBankBenchmark {
+    @Param({ "50", "100000" })
+    public int bankSize;
+
+    private QuizCatalog catalog;
+
+    private QuestionBank reversed;
+
+    private String[] states;
+
+    private String[] capitols;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(bankSize);
+        states = new String[bankSize];
+        capitols = new String[bankSize];
+
+        for(int i = 0; i < bankSize; i++) {
+            states[i] = "State " + i;
+            capitols[i] = "CAPITOL " + i;
+            builder.Add(states[i], "Capitol " + i);
+        }
+
+        catalog = builder.Build();
+        reversed = new ReversedQuestionBank(catalog);
+    }
+
+    @Benchmark
+    public int forward() {
+        int i = next;
+        next = (i + 1) % bankSize;
+        return catalog.FindByCapitolName(capitols[i]);
+    }
+
+    @Benchmark
+    public int reverse() {
+        int i = next;
+        next = (i + 1) % bankSize;
+        return reversed.FindByCapitolName(states[i]);
+    }
+}
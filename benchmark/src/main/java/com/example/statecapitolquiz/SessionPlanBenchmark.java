@@ -0,0 +1,43 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning the question types of a session from a bank half as large again as the
+ * number of questions.  The time per question should be the same for ten questions
+ * as for a million.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionPlanBenchmark {
+    @Param({ "10", "1000", "1000000" })
+    public int questionCount;
+
+    private QuizRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new QuizRandom(questionCount);
+    }
+
+    @Benchmark
+    public SessionPlan build() {
+        return SessionPlan.Build(questionCount, questionCount + questionCount / 2, false, random);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.statecapitolquiz;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring a session half way through a ten question quiz.  This is the
+ * state that crosses process death now, in place of the QuizState Parcelables the
+ * question activities used to be handed, whose round trip needed android.os.Parcel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    private QuizSession session;
+
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        session = new QuizSession(QuizCatalog.getDefault(), 10, QuizMode.RANDOM, false, false, new QuizRandom(3));
+
+        for(int i = 0; i < 5; i++) {
+            session.NextQuestion();
+            session.RecordAnswer(i % 2 == 0, false);
+        }
+
+        session.NextQuestion();
+        snapshot = session.Snapshot();
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return session.Snapshot();
+    }
+
+    @Benchmark
+    public QuizSession restore() {
+        return QuizSession.Restore(snapshot, QuizCatalog.getDefault());
+    }
+
+    @Benchmark
+    public QuizSession roundTrip() {
+        return QuizSession.Restore(session.Snapshot(), QuizCatalog.getDefault());
+    }
+}
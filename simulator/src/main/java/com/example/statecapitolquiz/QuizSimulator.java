@@ -0,0 +1,452 @@
+package com.example.statecapitolquiz;
+
+import java.lang.management.ManagementFactory;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * QuizSimulator plays large numbers of quiz sessions against the real QuizSession
+ * engine on the JVM, with a SimulatedUser standing in for the person tapping the
+ * screen.  Sessions are spread over every core with a ForkJoinPool.  At the end it
+ * reports throughput and allocation, and checks what every session should guarantee:
+ * no answer offered twice in a question, every correct answer offered, no state asked
+ * twice in a random session, scores that match the answers given, every session as
+ * long as the user asked for unless the bank is too small, and, across all the
+ * sessions, every state asked about equally often.  A small --bank-size shows the
+ * sessions' plans (see SessionPlan) falling back as the deck runs out.
+ *
+ * Session i is seeded from the run's seed and i alone, so any session, or the whole
+ * run, can be played again exactly, however the work happens to be split between
+ * threads.
+ *
+ * Usage: QuizSimulator [--sessions=N] [--threads=N] [--seed=N] [--questions=4,5,...]
+ * [--accuracy=P] [--hint-rate=P] [--think-median-ms=N] [--think-sigma=S]
+ * [--bank-size=N] [--mode=random|spaced] [--answers=N] [--correct=M] [--hard-mode]
+ * [--hint-penalty]
+ */
+final class QuizSimulator {
+    /**
+     * Batches of this many sessions or fewer are run on one thread rather than split.
+     */
+    private static final int BATCH_SESSIONS = 2000;
+
+    /**
+     * Uniformity scores beyond this many standard deviations fail the check.
+     */
+    static final double MAX_UNIFORMITY_SCORE = 5.0;
+
+    /**
+     * The HotSpot thread bean for allocation counts, or null if there isn't one.
+     */
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = GetThreadBean();
+
+    private final QuestionBank bank;
+
+    private final SimulatedUser user;
+
+    private final QuizMode mode;
+
+    private final AnswerCounts answerCounts;
+
+    private final boolean hardMode;
+
+    private final boolean hintPenalty;
+
+    private final long seed;
+
+    /**
+     * Parameterized constructor for sessions with the default AnswerCounts.
+     *
+     * @param bank The bank to quiz on.
+     * @param user How the simulated users play.
+     * @param mode How each session chooses the states to ask about.
+     * @param hardMode Whether sessions offer similar capitols as incorrect answers.
+     * @param hintPenalty Whether picking a suggested answer counts as wrong.
+     * @param seed The seed every session's random numbers are derived from.
+     */
+    QuizSimulator(QuestionBank bank, SimulatedUser user, QuizMode mode, boolean hardMode, boolean hintPenalty,
+                  long seed) {
+        this(bank, user, mode, AnswerCounts.DEFAULT, hardMode, hintPenalty, seed);
+    }
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param bank The bank to quiz on.
+     * @param user How the simulated users play.
+     * @param mode How each session chooses the states to ask about.
+     * @param answerCounts The number of answers each multiple choice question offers
+     *                     and of states each check box question asks about.
+     * @param hardMode Whether sessions offer similar capitols as incorrect answers.
+     * @param hintPenalty Whether picking a suggested answer counts as wrong.
+     * @param seed The seed every session's random numbers are derived from.
+     */
+    QuizSimulator(QuestionBank bank, SimulatedUser user, QuizMode mode, AnswerCounts answerCounts,
+                  boolean hardMode, boolean hintPenalty, long seed) {
+        this.bank = bank;
+        this.user = user;
+        this.mode = mode;
+        this.answerCounts = answerCounts;
+        this.hardMode = hardMode;
+        this.hintPenalty = hintPenalty;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs a number of sessions on a pool of threads.
+     *
+     * @param sessions The number of sessions to play.
+     * @param pool The pool to run them on.
+     * @return The combined tallies.
+     */
+    SimulationStats Run(long sessions, ForkJoinPool pool) {
+        if (hardMode) {
+            // Build the neighbor index once up front rather than in whichever batch
+            // happens to need it first.
+            NeighborIndex.ForBank(bank);
+        }
+
+        return pool.invoke(new Batch(0, sessions));
+    }
+
+    /**
+     * Whether a run's tallies pass every check.
+     *
+     * @param stats The tallies.
+     * @return True if nothing went wrong.
+     */
+    boolean Passed(SimulationStats stats) {
+        return stats.failedSessions == 0
+                && stats.duplicateAnswers == 0
+                && stats.malformedQuestions == 0
+                && stats.repeatedTargets == 0
+                && stats.scoreMismatches == 0
+                && stats.shortSessions == 0
+                && (mode != QuizMode.RANDOM || Math.abs(stats.UniformityScore()) <= MAX_UNIFORMITY_SCORE);
+    }
+
+    /**
+     * Plays sessions first up to but not including last on the calling thread.
+     *
+     * @param first The number of the first session.
+     * @param last One past the number of the last session.
+     * @return The tallies for those sessions.
+     */
+    SimulationStats RunSessions(long first, long last) {
+        SimulationStats stats = new SimulationStats(bank.size());
+        long allocatedBefore = AllocatedBytes();
+
+        // One learner per batch; sessions in a batch follow on from each other.
+        RecallScheduler scheduler = mode == QuizMode.SPACED_REPETITION
+                ? new RecallScheduler(bank.size(), QuizRandom.ForStream(~seed, first))
+                : null;
+        BitSet asked = new BitSet(bank.size());
+        BitSet offered = new BitSet(bank.size());
+
+        for(long i = first; i < last; i++) {
+            QuizRandom random = QuizRandom.ForStream(seed, i);
+            int questionCount = user.PickQuestionCount(random);
+            QuizSession session = new QuizSession(bank, questionCount, mode, QuizDirection.FORWARD, answerCounts,
+                    hardMode, hintPenalty, random.Split(), scheduler);
+
+            stats.sessions++;
+            asked.clear();
+
+            try {
+                PlaySession(session, random, stats, asked, offered);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                stats.failedSessions++;
+                continue;
+            }
+
+            // A random session can only be cut short by running out of states.
+            int expected = mode == QuizMode.RANDOM ? Math.min(questionCount, bank.size()) : questionCount;
+            if (session.getQuestionsAsked() < expected) {
+                stats.shortSessions++;
+            }
+        }
+
+        stats.allocatedBytes = AllocatedBytes() - allocatedBefore;
+        return stats;
+    }
+
+    /**
+     * Plays one session the way the QuestionCoordinatorActivity does, checking every
+     * question as it's drawn.
+     */
+    private void PlaySession(QuizSession session, QuizRandom random, SimulationStats stats, BitSet asked,
+                             BitSet offered) {
+        int correctGiven = 0;
+
+        while(!session.isFinished()) {
+            Question question = session.NextQuestion();
+            CheckQuestion(question, stats, asked, offered);
+
+            boolean hintUsed = user.UsesHint(question.getType(), random);
+            boolean correct = user.AnswersCorrectly(random) && !(hintUsed && hintPenalty);
+            stats.RecordThinkTime(user.ThinkMillis(random));
+
+            session.RecordAnswer(correct, hintUsed);
+            stats.questions++;
+            stats.typeCounts[question.getType().ordinal()]++;
+
+            if (correct) {
+                correctGiven++;
+                stats.correct++;
+            }
+
+            if (hintUsed) {
+                stats.hintsUsed++;
+            }
+
+            // The coordinator draws the next question while the feedback is showing.
+            session.PrepareNextQuestion();
+        }
+
+        if (session.getQuestionsCorrect() != correctGiven) {
+            stats.scoreMismatches++;
+        }
+    }
+
+    /**
+     * Checks one question for repeated or missing answers, and in random mode for
+     * states that have been asked about before in the session.
+     */
+    private void CheckQuestion(Question question, SimulationStats stats, BitSet asked, BitSet offered) {
+        for(int i = 0; i < question.getTargetCount(); i++) {
+            int target = question.getTargetId(i);
+            stats.targetCounts[target]++;
+
+            if (mode == QuizMode.RANDOM && asked.get(target)) {
+                stats.repeatedTargets++;
+            }
+            asked.set(target);
+        }
+
+        int answerCount = question.getAnswerCount();
+        if (answerCount == 0) {
+            return;
+        }
+
+        if (answerCount != answerCounts.getAnswerCount(question.getType())) {
+            stats.malformedQuestions++;
+        }
+
+        offered.clear();
+        boolean duplicate = false;
+
+        for(int i = 0; i < answerCount; i++) {
+            int id = question.getAnswerId(i);
+            duplicate |= offered.get(id);
+            offered.set(id);
+        }
+
+        if (duplicate) {
+            stats.duplicateAnswers++;
+        }
+
+        for(int i = 0; i < question.getTargetCount(); i++) {
+            if (!offered.get(question.getTargetId(i))) {
+                stats.malformedQuestions++;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Splits a range of sessions in half until it's small enough to run directly.
+     */
+    private final class Batch extends RecursiveTask<SimulationStats> {
+        private final long first;
+
+        private final long last;
+
+        Batch(long first, long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (last - first <= BATCH_SESSIONS) {
+                return RunSessions(first, last);
+            }
+
+            long middle = first + (last - first) / 2;
+            Batch left = new Batch(first, middle);
+            left.fork();
+            SimulationStats stats = new Batch(middle, last).compute();
+            stats.Merge(left.join());
+            return stats;
+        }
+    }
+
+    /**
+     * Runs the simulator from the command line and prints a report.  Exits with
+     * status 1 if any check fails.
+     *
+     * @param args The options described in the class comment.
+     */
+    public static void main(String[] args) {
+        long sessions = 1000000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        int[] questionCounts = SimulatedUser.SPINNER_QUESTION_COUNTS;
+        double accuracy = 0.7;
+        double hintRate = 0.2;
+        double thinkMedianMillis = 4000;
+        double thinkSigma = 0.6;
+        int bankSize = 0;
+        QuizMode mode = QuizMode.RANDOM;
+        int choiceCount = AnswerCounts.DEFAULT.getChoiceCount();
+        int checkBoxTargetCount = AnswerCounts.DEFAULT.getCheckBoxTargetCount();
+        boolean hardMode = false;
+        boolean hintPenalty = false;
+
+        for(String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? "" : arg.substring(equals + 1);
+
+            switch(name) {
+                case "--sessions": sessions = Long.parseLong(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--questions": questionCounts = ParseInts(value); break;
+                case "--accuracy": accuracy = Double.parseDouble(value); break;
+                case "--hint-rate": hintRate = Double.parseDouble(value); break;
+                case "--think-median-ms": thinkMedianMillis = Double.parseDouble(value); break;
+                case "--think-sigma": thinkSigma = Double.parseDouble(value); break;
+                case "--bank-size": bankSize = Integer.parseInt(value); break;
+                case "--mode": mode = "spaced".equals(value) ? QuizMode.SPACED_REPETITION : QuizMode.RANDOM; break;
+                case "--answers": choiceCount = Integer.parseInt(value); break;
+                case "--correct": checkBoxTargetCount = Integer.parseInt(value); break;
+                case "--hard-mode": hardMode = true; break;
+                case "--hint-penalty": hintPenalty = true; break;
+                default:
+                    System.err.println("Unknown option " + arg);
+                    System.exit(2);
+            }
+        }
+
+        QuestionBank bank = bankSize > 0 ? SyntheticBank(bankSize) : QuizCatalog.getDefault();
+        SimulatedUser user = new SimulatedUser(questionCounts, accuracy, hintRate, thinkMedianMillis, thinkSigma);
+        AnswerCounts answerCounts = new AnswerCounts(choiceCount, checkBoxTargetCount);
+        QuizSimulator simulator = new QuizSimulator(bank, user, mode, answerCounts, hardMode, hintPenalty, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.Run(sessions, pool);
+        long nanos = System.nanoTime() - start;
+        pool.shutdown();
+
+        simulator.PrintReport(stats, nanos, threads);
+        System.exit(simulator.Passed(stats) ? 0 : 1);
+    }
+
+    /**
+     * Prints a run's throughput, allocation, distributions and checks.
+     */
+    private void PrintReport(SimulationStats stats, long nanos, int threads) {
+        double seconds = nanos / 1e9;
+        QuestionType[] types = QuestionType.values();
+
+        System.out.println(String.format(Locale.US, "Simulated %d sessions (%d questions) of %d states on %d threads in %.2f s",
+                stats.sessions, stats.questions, bank.size(), threads, seconds));
+        System.out.println(String.format(Locale.US, "Throughput: %.0f sessions/s, %.0f questions/s",
+                stats.sessions / seconds, stats.questions / seconds));
+
+        if (THREAD_BEAN != null) {
+            System.out.println(String.format(Locale.US, "Allocation: %.1f MB/s, %d bytes per question",
+                    stats.allocatedBytes / seconds / 1e6, stats.questions == 0 ? 0 : stats.allocatedBytes / stats.questions));
+        }
+
+        StringBuilder typeLine = new StringBuilder("Question types:");
+        for(QuestionType type : types) {
+            typeLine.append(String.format(Locale.US, " %s %.1f%%", type,
+                    100.0 * stats.typeCounts[type.ordinal()] / Math.max(stats.questions, 1)));
+        }
+        System.out.println(typeLine);
+
+        System.out.println(String.format(Locale.US, "Correct: %.1f%%, hints: %.1f%%",
+                100.0 * stats.correct / Math.max(stats.questions, 1), 100.0 * stats.hintsUsed / Math.max(stats.questions, 1)));
+        System.out.println(String.format(Locale.US, "Think time: mean %d ms, p50 %d ms, p95 %d ms, p99 %d ms",
+                stats.totalThinkMillis / Math.max(stats.questions, 1), stats.ThinkPercentileMillis(0.5),
+                stats.ThinkPercentileMillis(0.95), stats.ThinkPercentileMillis(0.99)));
+
+        long minimum = Long.MAX_VALUE;
+        long maximum = 0;
+        for(long count : stats.targetCounts) {
+            minimum = Math.min(minimum, count);
+            maximum = Math.max(maximum, count);
+        }
+        System.out.println(String.format(Locale.US, "State picks: min %d, max %d, uniformity z = %.2f%s",
+                minimum, maximum, stats.UniformityScore(), mode == QuizMode.RANDOM ? "" : " (not checked in spaced mode)"));
+
+        PrintCheck("Sessions completed", stats.failedSessions);
+        PrintCheck("No duplicate answers", stats.duplicateAnswers);
+        PrintCheck("Correct answers offered", stats.malformedQuestions);
+        PrintCheck("No repeated states", stats.repeatedTargets);
+        PrintCheck("Scores match answers", stats.scoreMismatches);
+        PrintCheck("Sessions ran to length", stats.shortSessions);
+        System.out.println(Passed(stats) ? "PASSED" : "FAILED");
+    }
+
+    /**
+     * Prints one check's result.
+     */
+    private static void PrintCheck(String name, long failures) {
+        System.out.println(name + ": " + (failures == 0 ? "ok" : failures + " failures"));
+    }
+
+    /**
+     * Builds a bank of made up states for stressing the engine with a large deck.
+     */
+    static QuestionBank SyntheticBank(int size) {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(size);
+
+        for(int i = 0; i < size; i++) {
+            builder.Add("State " + i, "Capitol " + i);
+        }
+
+        return builder.Build();
+    }
+
+    /**
+     * Parses a comma separated list of ints.
+     */
+    private static int[] ParseInts(String list) {
+        String[] parts = list.split(",");
+        int[] values = new int[parts.length];
+
+        for(int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+
+        return values;
+    }
+
+    /**
+     * The number of bytes the calling thread has allocated, or 0 if the JVM can't say.
+     */
+    private static long AllocatedBytes() {
+        return THREAD_BEAN == null ? 0 : THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean GetThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotSpotBean = (com.sun.management.ThreadMXBean) bean;
+
+            if (hotSpotBean.isThreadAllocatedMemorySupported()) {
+                hotSpotBean.setThreadAllocatedMemoryEnabled(true);
+                return hotSpotBean;
+            }
+        }
+
+        return null;
+    }
+}
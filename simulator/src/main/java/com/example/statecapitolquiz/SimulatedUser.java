@@ -0,0 +1,109 @@
+package com.example.statecapitolquiz;
+
+import java.util.Random;
+
+/**
+ * A model of how a user plays the quiz: how many questions they ask for, how often
+ * they're right, how often they pick a suggested answer when typing, and how long
+ * they think before checking each answer.  Think times follow a log-normal
+ * distribution, which is the usual shape of human response times.
+ *
+ * The model is immutable; all of its randomness comes from the Random it's given, so
+ * the same stream of numbers plays the same way.
+ */
+final class SimulatedUser {
+    /**
+     * The choices offered by the number of questions spinner in the MainActivity.
+     */
+    static final int[] SPINNER_QUESTION_COUNTS = { 4, 5, 6, 7, 8, 9, 10 };
+
+    /**
+     * The question counts the user picks from, each equally likely.
+     */
+    private final int[] questionCounts;
+
+    /**
+     * The chance of answering a question correctly.
+     */
+    private final double accuracy;
+
+    /**
+     * The chance of picking a suggestion when typing an answer.
+     */
+    private final double hintRate;
+
+    /**
+     * The median think time.
+     */
+    private final double medianThinkMillis;
+
+    /**
+     * The standard deviation of the log of the think time.
+     */
+    private final double thinkSigma;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param questionCounts The question counts to pick from.
+     * @param accuracy The chance of answering a question correctly, from 0 to 1.
+     * @param hintRate The chance of picking a suggestion when typing, from 0 to 1.
+     * @param medianThinkMillis The median time taken to check an answer.
+     * @param thinkSigma How widely think times spread around the median; 0 makes them
+     *                   all the same.
+     */
+    SimulatedUser(int[] questionCounts, double accuracy, double hintRate, double medianThinkMillis,
+                  double thinkSigma) {
+        if (questionCounts.length == 0) {
+            throw new IllegalArgumentException("At least one question count is needed.");
+        }
+
+        this.questionCounts = questionCounts.clone();
+        this.accuracy = accuracy;
+        this.hintRate = hintRate;
+        this.medianThinkMillis = medianThinkMillis;
+        this.thinkSigma = thinkSigma;
+    }
+
+    /**
+     * Picks the number of questions for a session.
+     *
+     * @param random The random number generator to use.
+     * @return The number of questions.
+     */
+    int PickQuestionCount(Random random) {
+        return questionCounts[random.nextInt(questionCounts.length)];
+    }
+
+    /**
+     * Decides whether the user knows the answer to a question.
+     *
+     * @param random The random number generator to use.
+     * @return True if they answer correctly.
+     */
+    boolean AnswersCorrectly(Random random) {
+        return random.nextDouble() < accuracy;
+    }
+
+    /**
+     * Decides whether the user picks a suggested answer for a question.
+     *
+     * @param type The kind of question.
+     * @param random The random number generator to use.
+     * @return True if they pick a suggestion, which only typed answers offer.
+     */
+    boolean UsesHint(QuestionType type, Random random) {
+        return type == QuestionType.TEXT_ENTRY && random.nextDouble() < hintRate;
+    }
+
+    /**
+     * Draws how long the user thinks before checking an answer.
+     *
+     * @param random The random number generator to use.
+     * @return The think time in milliseconds.
+     */
+    int ThinkMillis(Random random) {
+        double millis = medianThinkMillis * Math.exp(thinkSigma * random.nextGaussian());
+        return (int) Math.min(millis, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.statecapitolquiz;
+
+/**
+ * The tallies from a batch of simulated sessions.  Each worker fills in its own
+ * SimulationStats without any locking, and the results are then combined with
+ * Merge(), so the counters are plain fields.
+ *
+ * Besides throughput figures, the tallies are what the distribution checks run on:
+ * how often each state was asked about, and how many questions broke one of the
+ * engine's promises, such as offering the same answer twice.
+ */
+final class SimulationStats {
+    /**
+     * Think times are counted in buckets of this many milliseconds.
+     */
+    static final int THINK_BUCKET_MILLIS = 100;
+
+    /**
+     * The number of think time buckets.  The last also counts everything longer.
+     */
+    static final int THINK_BUCKETS = 600;
+
+    long sessions = 0;
+
+    long questions = 0;
+
+    long correct = 0;
+
+    long hintsUsed = 0;
+
+    /**
+     * Sessions abandoned because the engine threw, such as running out of states.
+     */
+    long failedSessions = 0;
+
+    /**
+     * Questions that offered the same answer more than once.
+     */
+    long duplicateAnswers = 0;
+
+    /**
+     * Questions that didn't offer all of their correct answers, or offered the wrong
+     * number of answers.
+     */
+    long malformedQuestions = 0;
+
+    /**
+     * Questions that asked about a state already asked about in the same session.
+     */
+    long repeatedTargets = 0;
+
+    /**
+     * Sessions whose final score didn't match the answers given.
+     */
+    long scoreMismatches = 0;
+
+    /**
+     * Sessions that asked fewer questions than the user picked although the bank had
+     * the states for them.
+     */
+    long shortSessions = 0;
+
+    /**
+     * Bytes allocated by the threads that ran the sessions, where the JVM reports it.
+     */
+    long allocatedBytes = 0;
+
+    long totalThinkMillis = 0;
+
+    /**
+     * How many times each state was asked about, by QuestionBank ID.
+     */
+    final long[] targetCounts;
+
+    /**
+     * How many questions of each QuestionType were asked, by ordinal.
+     */
+    final long[] typeCounts = new long[QuestionType.values().length];
+
+    /**
+     * How many answers took each THINK_BUCKET_MILLIS wide range of think time.
+     */
+    final long[] thinkHistogram = new long[THINK_BUCKETS];
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param bankSize The number of states in the bank being simulated.
+     */
+    SimulationStats(int bankSize) {
+        targetCounts = new long[bankSize];
+    }
+
+    /**
+     * Counts one answer's think time.
+     *
+     * @param millis The think time.
+     */
+    void RecordThinkTime(int millis) {
+        totalThinkMillis += millis;
+        thinkHistogram[Math.min(millis / THINK_BUCKET_MILLIS, THINK_BUCKETS - 1)]++;
+    }
+
+    /**
+     * Adds another batch's tallies to this one.
+     *
+     * @param other The tallies to add.
+     */
+    void Merge(SimulationStats other) {
+        sessions += other.sessions;
+        questions += other.questions;
+        correct += other.correct;
+        hintsUsed += other.hintsUsed;
+        failedSessions += other.failedSessions;
+        duplicateAnswers += other.duplicateAnswers;
+        malformedQuestions += other.malformedQuestions;
+        repeatedTargets += other.repeatedTargets;
+        scoreMismatches += other.scoreMismatches;
+        shortSessions += other.shortSessions;
+        allocatedBytes += other.allocatedBytes;
+        totalThinkMillis += other.totalThinkMillis;
+        Add(targetCounts, other.targetCounts);
+        Add(typeCounts, other.typeCounts);
+        Add(thinkHistogram, other.thinkHistogram);
+    }
+
+    /**
+     * The number of times states were asked about.
+     *
+     * @return The sum of the target counts.
+     */
+    long getTargetTotal() {
+        long total = 0;
+        for(long count : targetCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * How far the target counts are from every state being asked about equally often,
+     * as a z-score: the chi-squared statistic less its degrees of freedom, over its
+     * standard deviation.  Values within a few units of zero are consistent with a
+     * uniform pick.
+     *
+     * @return The z-score, or 0 if nothing was asked.
+     */
+    double UniformityScore() {
+        long total = getTargetTotal();
+        int cells = targetCounts.length;
+
+        if (total == 0 || cells < 2) {
+            return 0;
+        }
+
+        double expected = total / (double) cells;
+        double chiSquared = 0;
+
+        for(long count : targetCounts) {
+            double difference = count - expected;
+            chiSquared += difference * difference / expected;
+        }
+
+        int freedom = cells - 1;
+        return (chiSquared - freedom) / Math.sqrt(2.0 * freedom);
+    }
+
+    /**
+     * The think time that a given fraction of answers came in under, to the nearest
+     * bucket.
+     *
+     * @param fraction From 0 to 1, such as 0.95 for the 95th percentile.
+     * @return The upper edge of the bucket holding that percentile, in milliseconds.
+     */
+    int ThinkPercentileMillis(double fraction) {
+        long total = 0;
+        for(long count : thinkHistogram) {
+            total += count;
+        }
+
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+
+        for(int i = 0; i < THINK_BUCKETS; i++) {
+            seen += thinkHistogram[i];
+
+            if (seen >= rank && seen > 0) {
+                return (i + 1) * THINK_BUCKET_MILLIS;
+            }
+        }
+
+        return THINK_BUCKETS * THINK_BUCKET_MILLIS;
+    }
+
+    /**
+     * Adds one array of counts to another, element by element.
+     */
+    private static void Add(long[] into, long[] from) {
+        for(int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for QuizSimulator: that the engine passes its checks, and that a run depends
+ * only on its seed.
+ */
+public class QuizSimulatorTest {
+    private static final SimulatedUser USER =
+            new SimulatedUser(SimulatedUser.SPINNER_QUESTION_COUNTS, 0.7, 0.2, 4000, 0.6);
+
+    @Test
+    public void run_passesEveryCheck() {
+        QuizSimulator simulator = new QuizSimulator(QuizCatalog.getDefault(), USER, QuizMode.RANDOM, true, true, 1);
+        SimulationStats stats = Run(simulator, 20000, 2);
+
+        assertEquals(20000, stats.sessions);
+        assertTrue(stats.questions >= 20000 * 4);
+        assertTrue(simulator.Passed(stats));
+    }
+
+    @Test
+    public void run_passesEveryCheckWithOtherAnswerCounts() {
+        QuizSimulator simulator = new QuizSimulator(QuizCatalog.getDefault(), USER, QuizMode.RANDOM,
+                new AnswerCounts(8, 4), true, false, 2);
+        SimulationStats stats = Run(simulator, 5000, 2);
+
+        assertEquals(0, stats.failedSessions);
+        assertTrue(simulator.Passed(stats));
+    }
+
+    @Test
+    public void run_dependsOnlyOnTheSeed() {
+        QuizSimulator simulator = new QuizSimulator(QuizCatalog.getDefault(), USER, QuizMode.RANDOM, false, false, 7);
+        SimulationStats one = Run(simulator, 10000, 1);
+        SimulationStats four = Run(simulator, 10000, 4);
+
+        assertEquals(one.questions, four.questions);
+        assertEquals(one.correct, four.correct);
+        assertArrayEquals(one.targetCounts, four.targetCounts);
+        assertArrayEquals(one.thinkHistogram, four.thinkHistogram);
+    }
+
+    @Test
+    public void run_spacedRepetitionOnALargeBank() {
+        QuestionBank bank = QuizSimulator.SyntheticBank(5000);
+        QuizSimulator simulator = new QuizSimulator(bank, USER, QuizMode.SPACED_REPETITION, false, false, 3);
+        SimulationStats stats = Run(simulator, 5000, 2);
+
+        assertEquals(0, stats.failedSessions);
+        assertTrue(simulator.Passed(stats));
+    }
+
+    /**
+     * Every question count the spinner offers, on banks from a single state to a few
+     * more than the largest count, in both modes: no session runs out of states, and
+     * a random session is only shortened when the bank is smaller than the count.
+     */
+    @Test
+    public void run_smallBanksNeverRunOutAtAnySpinnerValue() {
+        for(int questionCount : SimulatedUser.SPINNER_QUESTION_COUNTS) {
+            SimulatedUser user = new SimulatedUser(new int[] { questionCount }, 0.7, 0.2, 4000, 0.6);
+
+            for(int bankSize = 1; bankSize <= 14; bankSize++) {
+                QuestionBank bank = QuizSimulator.SyntheticBank(bankSize);
+
+                for(QuizMode mode : QuizMode.values()) {
+                    QuizSimulator simulator = new QuizSimulator(bank, user, mode, bankSize % 2 == 0, false, bankSize);
+                    SimulationStats stats = Run(simulator, 500, 1);
+                    int expected = mode == QuizMode.RANDOM ? Math.min(questionCount, bankSize) : questionCount;
+
+                    assertEquals(mode + " " + questionCount + " of " + bankSize, 0, stats.failedSessions);
+                    assertEquals(500L * expected, stats.questions);
+                    assertTrue(simulator.Passed(stats));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void thinkPercentiles_followTheUserModel() {
+        SimulatedUser steady = new SimulatedUser(new int[] { 10 }, 1.0, 0.0, 2050, 0.0);
+        QuizSimulator simulator = new QuizSimulator(QuizCatalog.getDefault(), steady, QuizMode.RANDOM, false, false, 5);
+        SimulationStats stats = Run(simulator, 100, 1);
+
+        assertEquals(1000, stats.correct);
+        assertEquals(2100, stats.ThinkPercentileMillis(0.5));
+        assertEquals(2100, stats.ThinkPercentileMillis(0.99));
+    }
+
+    private static SimulationStats Run(QuizSimulator simulator, long sessions, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            return simulator.Run(sessions, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.statecapitolquiz;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+
+/**
+ * A QuestionBank backed by a memory-mapped file written by QuestionBankWriter.
+ * Opening the bank only checks the header; the names stay in the mapped file and are
+ * decoded one at a time, only when something actually asks for them.  That keeps
+ * startup cost and heap use flat no matter how large the deck is.
+ *
+ * The name lookup indexes need every name, so they are built on the first call to
+ * FindByStateName() or FindByCapitolName() rather than when the bank is opened.
+ */
+final class MappedQuestionBank implements QuestionBank, Closeable {
+    /**
+     * Names are always encoded as UTF-8.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The channel the file was mapped through.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The whole file, mapped read only.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * View of the offsets table within the mapped file.
+     */
+    private final IntBuffer offsets;
+
+    /**
+     * Where the string heap starts within the mapped file.
+     */
+    private final int heapStart;
+
+    /**
+     * The number of entries in the bank.
+     */
+    private final int count;
+
+    /**
+     * Case-folded state name to ID.  Built on first use.
+     */
+    private volatile HashMap<String, Integer> stateIndex = null;
+
+    /**
+     * Case-folded capitol name to ID.  Built on first use.
+     */
+    private volatile HashMap<String, Integer> capitolIndex = null;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param channel The channel the file was mapped through.
+     * @param buffer The mapped file.
+     * @throws IOException If the file isn't a question bank this class understands.
+     */
+    private MappedQuestionBank(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < QuestionBankWriter.HEADER_SIZE
+                || buffer.getInt(0) != QuestionBankWriter.MAGIC) {
+            throw new IOException("Not a question bank file.");
+        }
+
+        if (buffer.getInt(4) != QuestionBankWriter.VERSION) {
+            throw new IOException("Unsupported question bank version " + buffer.getInt(4) + ".");
+        }
+
+        count = buffer.getInt(8);
+        long tableSize = (2L * count + 1) * 4;
+        if (count < 0 || QuestionBankWriter.HEADER_SIZE + tableSize > buffer.capacity()) {
+            throw new IOException("Question bank file is truncated.");
+        }
+
+        heapStart = (int) (QuestionBankWriter.HEADER_SIZE + tableSize);
+
+        ByteBuffer table = buffer.duplicate();
+        table.position(QuestionBankWriter.HEADER_SIZE);
+        table.limit(heapStart);
+        offsets = table.slice().asIntBuffer();
+
+        if ((long) heapStart + offsets.get(2 * count) > buffer.capacity()) {
+            throw new IOException("Question bank file is truncated.");
+        }
+    }
+
+    /**
+     * Maps a question bank file into memory.
+     *
+     * @param file The file written by QuestionBankWriter.
+     * @return The opened bank.
+     * @throws IOException If the file can't be mapped or isn't a question bank.
+     */
+    static MappedQuestionBank Open(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        FileChannel channel = raf.getChannel();
+
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedQuestionBank(channel, buffer);
+        } catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public String getStateName(int id) {
+        return Decode(2 * id);
+    }
+
+    @Override
+    public String getCapitolName(int id) {
+        return Decode(2 * id + 1);
+    }
+
+    @Override
+    public int FindByStateName(String stateName) {
+        if (stateName == null) {
+            return -1;
+        }
+
+        BuildIndexes();
+        Integer id = stateIndex.get(QuizCatalog.FoldCase(stateName));
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public int FindByCapitolName(String capitolName) {
+        if (capitolName == null) {
+            return -1;
+        }
+
+        BuildIndexes();
+        Integer id = capitolIndex.get(QuizCatalog.FoldCase(capitolName));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Closes the underlying file.  The mapping itself is released by the garbage
+     * collector once nothing references the bank.
+     *
+     * @throws IOException If closing the channel fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Decodes a single name straight out of the mapped string heap.
+     *
+     * @param slot The index into the offsets table of the name's starting offset.
+     * @return The decoded name.
+     */
+    private String Decode(int slot) {
+        if (slot < 0 || slot >= 2 * count) {
+            throw new IndexOutOfBoundsException("No entry for slot " + slot);
+        }
+
+        int start = heapStart + offsets.get(slot);
+        int end = heapStart + offsets.get(slot + 1);
+
+        ByteBuffer name = buffer.duplicate();
+        name.position(start);
+        name.limit(end);
+
+        return UTF_8.decode(name).toString();
+    }
+
+    /**
+     * Builds both lookup indexes the first time a lookup is made.
+     */
+    private synchronized void BuildIndexes() {
+        if (stateIndex != null) {
+            return;
+        }
+
+        HashMap<String, Integer> states = new HashMap<>(count * 4 / 3 + 1);
+        HashMap<String, Integer> capitols = new HashMap<>(count * 4 / 3 + 1);
+
+        // Walk backwards so that the first entry with a given name wins, matching QuizCatalog.
+        for(int i = count - 1; i >= 0; i--) {
+            states.put(QuizCatalog.FoldCase(getStateName(i)), i);
+            capitols.put(QuizCatalog.FoldCase(getCapitolName(i)), i);
+        }
+
+        capitolIndex = capitols;
+        stateIndex = states;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.statecapitolquiz;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Compiles a QuestionBank into the binary format read by MappedQuestionBank.  Run
+ * offline from the tools module, when a deck is built, so that a large deck never
+ * has to be parsed as text at startup.  Neither class ships in the app, whose decks
+ * are small enough to load from text (see DeckCache).
+ *
+ * The file is laid out as follows, with every integer stored big-endian:
+ *
+ *   int    MAGIC ("SCQB")
+ *   int    VERSION
+ *   int    count, the number of entries
+ *   int[]  2 * count + 1 offsets into the string heap.  Entry i's state name runs
+ *          from offsets[2i] to offsets[2i + 1], its capitol from offsets[2i + 1] to
+ *          offsets[2i + 2].
+ *   byte[] the string heap, every name encoded as UTF-8 back to back.
+ */
+final class QuestionBankWriter {
+    /**
+     * The first four bytes of every question bank file.
+     */
+    static final int MAGIC = 0x53435142;
+
+    /**
+     * The version of the format written by this class.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The size in bytes of the fixed part of the header: magic, version and count.
+     */
+    static final int HEADER_SIZE = 12;
+
+    /**
+     * Names are always encoded as UTF-8.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private QuestionBankWriter() {
+    }
+
+    /**
+     * Writes a QuestionBank to a stream in the binary format.  The stream is flushed
+     * but not closed.
+     *
+     * @param bank The bank to write.
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    static void Write(QuestionBank bank, OutputStream out) throws IOException {
+        int count = bank.size();
+        byte[][] encoded = new byte[count * 2][];
+        int heapSize = 0;
+
+        for(int i = 0; i < count; i++) {
+            encoded[i * 2] = bank.getStateName(i).getBytes(UTF_8);
+            encoded[i * 2 + 1] = bank.getCapitolName(i).getBytes(UTF_8);
+            heapSize += encoded[i * 2].length + encoded[i * 2 + 1].length;
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(count);
+
+        int offset = 0;
+        for(byte[] name : encoded) {
+            data.writeInt(offset);
+            offset += name.length;
+        }
+        data.writeInt(heapSize);
+
+        for(byte[] name : encoded) {
+            data.write(name);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Command line entry point.  Converts a text deck (see QuestionBankLoader) into
+     * the binary format, or writes the built in fifty states if no input is given.
+     *
+     * Usage: QuestionBankWriter output.bin [input.tsv]
+     *
+     * @param args The output file, optionally followed by the input file.
+     * @throws IOException If reading or writing fails.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: QuestionBankWriter output.bin [input.tsv]");
+            System.exit(1);
+            return;
+        }
+
+        QuestionBank bank;
+        if (args.length == 2) {
+            InputStream in = new FileInputStream(args[1]);
+            try {
+                bank = QuestionBankLoader.Load(in);
+            } finally {
+                in.close();
+            }
+        } else {
+            bank = QuizCatalog.getDefault();
+        }
+
+        OutputStream out = new FileOutputStream(args[0]);
+        try {
+            Write(bank, out);
+        } finally {
+            out.close();
+        }
+
+        System.out.println("Wrote " + bank.size() + " entries to " + args[0]);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.statecapitolquiz;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trip tests for QuestionBankWriter and MappedQuestionBank.  Startup is compared
+ * with the text loader in the benchmark module's DeckStartupBenchmark.
+ */
+public class MappedQuestionBankTest {
+    @Test
+    public void roundTrip_defaultCatalog() throws IOException {
+        QuizCatalog catalog = QuizCatalog.getDefault();
+        File file = WriteTemp(catalog);
+        MappedQuestionBank bank = MappedQuestionBank.Open(file);
+
+        try {
+            assertEquals(catalog.size(), bank.size());
+
+            for(int id = 0; id < catalog.size(); id++) {
+                assertEquals(catalog.getStateName(id), bank.getStateName(id));
+                assertEquals(catalog.getCapitolName(id), bank.getCapitolName(id));
+            }
+
+            assertEquals(catalog.FindByCapitolName("Saint Paul"), bank.FindByCapitolName("SAINT PAUL"));
+            assertEquals(-1, bank.FindByStateName("Atlantis"));
+        } finally {
+            bank.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void roundTrip_nonAsciiNames() throws IOException {
+        QuizCatalog.Builder builder = new QuizCatalog.Builder(2);
+        builder.Add("C\u00f4te d'Ivoire", "Yamoussoukro");
+        builder.Add("Mexico", "Ciudad de M\u00e9xico");
+        File file = WriteTemp(builder.Build());
+        MappedQuestionBank bank = MappedQuestionBank.Open(file);
+
+        try {
+            assertEquals("C\u00f4te d'Ivoire", bank.getStateName(0));
+            assertEquals("Ciudad de M\u00e9xico", bank.getCapitolName(1));
+            assertEquals(1, bank.FindByCapitolName("CIUDAD DE M\u00c9XICO"));
+        } finally {
+            bank.close();
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void open_rejectsOtherFiles() throws IOException {
+        File file = File.createTempFile("not-a-bank", ".bin");
+        file.deleteOnExit();
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.writeInt(0x12345678);
+        raf.writeInt(1);
+        raf.writeInt(0);
+        raf.writeInt(0);
+        raf.close();
+
+        MappedQuestionBank.Open(file);
+    }
+
+    private static File WriteTemp(QuestionBank bank) throws IOException {
+        File file = File.createTempFile("deck", ".bin");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+
+        try {
+            QuestionBankWriter.Write(bank, out);
+        } finally {
+            out.close();
+        }
+
+        return file;
+    }
+}